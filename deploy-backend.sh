@@ -21,6 +21,7 @@ cat > Dockerfile << 'EOF'
 FROM eclipse-temurin:21-jre
 COPY app.jar /tn.jar
 VOLUME /app/uploads
+VOLUME /app/data
 EXPOSE 8080
 CMD ["java", "-jar", "/tn.jar"]
 EOF
@@ -39,13 +40,17 @@ echo ""
 
 # 4. 새 컨테이너 실행
 echo "🚀 새 컨테이너 실행 중..."
+mkdir -p /home/ubuntu/data
 docker run -d \
     -p 8080:8080 \
     -v /home/ubuntu/uploads:/app/uploads \
+    -v /home/ubuntu/data:/app/data \
     --name tn_container \
     --add-host=host.docker.internal:host-gateway \
     -e "UPLOAD_PATH=/app/uploads" \
-    -e "SPRING_DATASOURCE_URL=jdbc:mysql://host.docker.internal:3306/tn?useSSL=false&allowPublicKeyRetrieval=true&characterEncoding=UTF-8&serverTimezone=UTC" \
+    -e "FRUIT_VECTOR_INDEX_PATH=/app/data/fruit-vectors.bin" \
+    -e "CHAT_LOG_DIR=/app/data/chat-log" \
+    -e "SPRING_DATASOURCE_URL=jdbc:mysql://host.docker.internal:3306/tn?useSSL=false&allowPublicKeyRetrieval=true&characterEncoding=UTF-8&serverTimezone=UTC&rewriteBatchedStatements=true" \
     -e "SPRING_DATASOURCE_USERNAME=tn" \
     -e "SPRING_DATASOURCE_PASSWORD=tn" \
     -e "SPRING_SECURITY_OAUTH2_CLIENT_REGISTRATION_NAVER_REDIRECT_URI=https://tnhub.kr/login/oauth2/code/naver" \
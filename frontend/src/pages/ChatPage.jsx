@@ -119,6 +119,27 @@ const ChatPage = () => {
             }
         });
         subscriptionRef.current = subscription;
+        fetchHistory(roomId);
+    };
+
+    // 메시지 식별 키 (실시간 메시지에는 로그 offset이 없으므로 서버가 붙인 전송 시간과 내용으로 비교)
+    const messageKey = (m) => `${m.type}|${m.sender}|${m.timestamp}|${m.content}`;
+
+    // 이전 메시지 조회 (구독 직후 최근 메시지를 목록 앞에 추가)
+    // 구독 후 조회 응답 전에 받은 실시간 메시지는 조회 결과에도 포함될 수 있으므로 겹치는 메시지는 한 번만 표시
+    const fetchHistory = async (roomId) => {
+        try {
+            const token = localStorage.getItem('accessToken');
+            const res = await fetch(`${BACKEND_URL}/api/chat/rooms/${roomId}/messages?size=50`, {
+                headers: { 'Authorization': `Bearer ${token}` }
+            });
+            if (!res.ok) return;
+            const history = await res.json();
+            const historyKeys = new Set(history.messages.map(messageKey));
+            setMessages(prev => [...history.messages, ...prev.filter(m => !historyKeys.has(messageKey(m)))]);
+        } catch (error) {
+            console.error('이전 메시지 조회 실패:', error);
+        }
     };
 
 
@@ -36,6 +36,8 @@ const FruitAIPage = () => {
   const [answer, setAnswer] = useState(null);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
+  // 후속 질문("그 중에 겨울 과일은?")을 이어가기 위한 대화 세션 id (서버가 done 이벤트로 발급)
+  const [sessionId, setSessionId] = useState(null);
 
   const exampleQuestions = [
     '비타민C가 많은 과일은?',
@@ -45,19 +47,57 @@ const FruitAIPage = () => {
     '면역력 강화에 도움되는 과일은?',
   ];
 
+  /* SSE 응답 블록 하나("event:..\ndata:..")를 { event, data } 로 변환 */
+  const parseSseBlock = (block) => {
+    let event = 'message';
+    const dataLines = [];
+    block.split('\n').forEach((line) => {
+      if (line.startsWith('event:')) event = line.slice(6).trim();
+      else if (line.startsWith('data:')) dataLines.push(line.slice(5));
+    });
+    return { event, data: dataLines.length ? JSON.parse(dataLines.join('\n')) : null };
+  };
+
   const handleAsk = async () => {
     if (!question.trim()) { setError('질문을 입력해주세요.'); return; }
     setLoading(true);
     setError('');
     setAnswer(null);
     try {
-      const res = await fetch(`${BACKEND_API_BASE_URL}/api/fruits/ask`, {
+      const res = await fetch(`${BACKEND_API_BASE_URL}/api/fruits/ask/stream`, {
         method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
-        body: JSON.stringify({ question }),
+        headers: { 'Content-Type': 'application/json', Accept: 'text/event-stream' },
+        // 첫 질문부터 대화 세션을 요청해 후속 질문을 이어갈 수 있게 함
+        body: JSON.stringify({ question, sessionId, conversation: true }),
       });
-      if (!res.ok) throw new Error('AI 답변 생성 실패');
-      setAnswer(await res.json());
+      if (!res.ok || !res.body) throw new Error('AI 답변 생성 실패');
+
+      // 관련 과일 목록이 먼저 도착하고, 답변은 생성되는 대로 이어 붙임
+      setAnswer({ question, answer: '', relatedFruits: [] });
+      const reader = res.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = '';
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true }).replace(/\r\n/g, '\n');
+
+        let boundary;
+        while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+          const { event, data } = parseSseBlock(buffer.slice(0, boundary));
+          buffer = buffer.slice(boundary + 2);
+
+          if (event === 'fruits') {
+            setAnswer((prev) => ({ ...prev, relatedFruits: data }));
+          } else if (event === 'answer') {
+            setAnswer((prev) => ({ ...prev, answer: prev.answer + data.text }));
+          } else if (event === 'done') {
+            setSessionId(data.sessionId);
+          } else if (event === 'error') {
+            setAnswer((prev) => ({ ...prev, answer: data.message }));
+          }
+        }
+      }
     } catch {
       setError('AI 답변을 가져오는 중 오류가 발생했습니다.');
     } finally {
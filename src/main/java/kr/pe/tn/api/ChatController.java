@@ -1,8 +1,10 @@
 package kr.pe.tn.api;
 
+import kr.pe.tn.domain.chat.dto.ChatHistoryDTO;
 import kr.pe.tn.domain.chat.dto.ChatMessage;
 import kr.pe.tn.domain.chat.dto.ChatRoom;
 import kr.pe.tn.domain.chat.service.ChatService;
+import kr.pe.tn.handler.ChatOutboundQueues;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
@@ -13,6 +15,8 @@ import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.time.LocalDateTime;
@@ -32,6 +36,8 @@ import java.util.Set;
  * - /topic/anonymous : 익명 채팅
  * - /topic/private/{roomId} : 1:1 채팅
  * - /user/queue/whisper : 귓속말 수신
+ *
+ * 이전 메시지 조회: GET /api/chat/rooms/{roomId}/messages?before={nextBefore}&size={size} (before 는 전송 시간 커서, 어느 서버에서나 이어서 조회 가능)
  */
 @Slf4j
 @Controller
@@ -41,6 +47,9 @@ public class ChatController {
     private final ChatService chatService;
     private final SimpMessagingTemplate messagingTemplate;
 
+    // 이전 메시지 조회 최대 개수
+    private static final int MAX_HISTORY_SIZE = 100;
+
     /**
      * 메시지 전송
      * 클라이언트 -> /app/chat.sendMessage/{roomId}
@@ -56,17 +65,19 @@ public class ChatController {
 
         log.info("[{}] {} : {}", roomId, chatMessage.getSender(), chatMessage.getContent());
 
+        // 채팅방 로그 기록 (대기열에 넣기만 하므로 브로드캐스트를 지연시키지 않음)
+        chatService.recordMessage(roomId, chatMessage);
+
         return chatMessage;
     }
 
     /**
      * 사용자 입장
      * 클라이언트 -> /app/chat.addUser/{roomId}
-     * 서버 -> /topic/{roomId}
+     * 서버 -> /topic/{roomId} (느린 클라이언트에게는 건너뛸 수 있는 알림으로 표시)
      */
     @MessageMapping("/chat.addUser/{roomId}")
-    @SendTo("/topic/{roomId}")
-    public ChatMessage addUser(@DestinationVariable String roomId,
+    public void addUser(@DestinationVariable String roomId,
             @Payload ChatMessage chatMessage,
             SimpMessageHeaderAccessor headerAccessor) {
 
@@ -84,8 +95,8 @@ public class ChatController {
         ChatMessage joinMessage = ChatMessage.createJoin(username, roomId);
 
         log.info("[{}] 사용자 입장: {}", roomId, username);
-
-        return joinMessage;
+        messagingTemplate.convertAndSend("/topic/" + roomId, joinMessage, ChatOutboundQueues.skippableHeaders());
+        chatService.recordMessage(roomId, joinMessage);
     }
 
     /**
@@ -143,7 +154,19 @@ public class ChatController {
     }
 
     /**
-     * 온라인 사용자 목록 조회 (REST API)
+     * 채팅방 이전 메시지 조회 (REST API)
+     * before 없이 호출하면 최근 메시지, 응답의 nextBefore 로 다시 호출하면 그 이전 메시지
+     */
+    @GetMapping("/api/chat/rooms/{roomId}/messages")
+    @ResponseBody
+    public ChatHistoryDTO getHistory(@PathVariable String roomId,
+            @RequestParam(value = "before", required = false) Long before,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        return chatService.getHistory(roomId, before, Math.clamp(size, 1, MAX_HISTORY_SIZE));
+    }
+
+    /**
+     * 온라인 사용자 목록 조회 (REST API, 전체 서버)
      */
     @GetMapping("/api/chat/users")
     @ResponseBody
@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.nio.file.AccessDeniedException;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class CustomControllerAdvice {
@@ -43,6 +44,14 @@ public class CustomControllerAdvice {
                 .body(Map.of("message", ex.getMessage()));
     }
 
+    /** 처리 대기열 초과 (503) - 과일 AI 질문 Executor 포화 등 */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleRejectedExecutionException(RejectedExecutionException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("message", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."));
+    }
+
     /** 그 외 서버 오류 (500) */
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException ex) {
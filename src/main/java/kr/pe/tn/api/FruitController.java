@@ -1,22 +1,41 @@
 package kr.pe.tn.api;
 
+import kr.pe.tn.domain.common.dto.PageRequestDTO;
+import kr.pe.tn.domain.common.dto.PageResponseDTO;
 import kr.pe.tn.domain.fruit.dto.FruitDTO;
 import kr.pe.tn.domain.fruit.entity.Fruit;
+import kr.pe.tn.domain.fruit.ingest.FruitBulkLoader;
+import kr.pe.tn.domain.fruit.ingest.FruitCatalogFormat;
+import kr.pe.tn.domain.fruit.service.FruitCatalogVersion;
 import kr.pe.tn.domain.fruit.service.FruitRAGService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 과일 효능 RAG API 컨트롤러
  * 
  * 엔드포인트:
- * - POST /api/fruits/ask : RAG 기반 질문 답변
- * - GET /api/fruits : 모든 과일 목록 조회
+ * - POST /api/fruits/ask : RAG 기반 질문 답변 (비동기 응답)
+ * - POST /api/fruits/ask/stream : RAG 기반 질문 답변 (SSE 스트리밍)
+ * - GET /api/fruits : 전체 과일 목록 조회 (ETag)
+ * - GET /api/fruits/page : 과일 목록 페이지 조회 (설명 제외, ETag)
+ * - GET /api/fruits/{id} : 과일 상세 조회 (ETag)
  * - POST /api/fruits : 과일 정보 추가 (관리자용)
+ * - POST /api/fruits/bulk : 과일 카탈로그 파일 일괄 등록 (JSONL / CSV / Markdown, 관리자용)
+ * - GET /api/fruits/stats : RAG 운영 통계 (답변 캐시 적중률 등)
  */
 @Slf4j
 @RestController
@@ -24,7 +43,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FruitController {
 
+    // 스트리밍 응답 최대 유지 시간 (2분)
+    private static final long STREAM_TIMEOUT_MILLIS = 120_000L;
+
+    // 목록 조회 최대 페이지 크기
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final FruitRAGService fruitRAGService;
+    private final FruitBulkLoader fruitBulkLoader;
+    private final FruitCatalogVersion catalogVersion;
 
     /**
      * RAG 기반 질문 답변 API
@@ -32,34 +59,125 @@ public class FruitController {
      * 예시 요청:
      * POST /api/fruits/ask
      * {
-     * "question": "비타민C가 많은 과일은 무엇인가요?"
+     * "question": "비타민C가 많은 과일은 무엇인가요?",
+     * "conversation": true
      * }
      * 
      * 예시 응답:
      * {
      * "question": "비타민C가 많은 과일은 무엇인가요?",
      * "answer": "비타민C가 풍부한 과일로는 오렌지, 키위, 딸기 등이 있습니다...",
-     * "relatedFruits": [...]
+     * "relatedFruits": [...],
+     * "sessionId": "3f2a...",
+     * "degraded": false
      * }
+     *
+     * 대화를 이어가려면 첫 질문에 "conversation": true 를 보내 sessionId를 발급받고 (생략하면 sessionId 없는 일회용 질문),
+     * 후속 질문은 응답의 sessionId를 함께 보내면 이전 대화를 이어서 답변 (발급받은 사용자만 사용 가능)
+     * { "question": "그럼 그 중에 겨울 과일은?", "sessionId": "3f2a..." }
      */
     @PostMapping("/ask")
-    public ResponseEntity<FruitDTO.AnswerResponse> askQuestion(
+    public CompletableFuture<ResponseEntity<FruitDTO.AnswerResponse>> askQuestion(
             @RequestBody FruitDTO.QuestionRequest request) {
 
-        log.info("과일 효능 질문 수신: {}", request.getQuestion());
+        // 답변이 준비되면 비동기로 응답 (요청 스레드는 바로 반환)
+        return fruitRAGService.answerQuestion(request).thenApply(ResponseEntity::ok);
+    }
 
-        FruitDTO.AnswerResponse response = fruitRAGService.answerQuestion(request);
+    /**
+     * RAG 기반 질문 답변 API (Server-Sent Events 스트리밍)
+     *
+     * 관련 과일 목록(fruits 이벤트)을 먼저 보내고,
+     * Gemini가 생성하는 답변을 조각(answer 이벤트) 단위로 바로 전달합니다.
+     *
+     * 예시 응답:
+     * event:fruits
+     * data:[{"id":1,"name":"오렌지",...}]
+     *
+     * event:answer
+     * data:{"text":"비타민C가 풍부한 과일로는"}
+     *
+     * event:done
+     * data:{"cached":false}
+     *
+     * X-Accel-Buffering: no 헤더로 nginx 프록시가 응답을 모아 두지 않고 이벤트마다 바로 전달하게 합니다.
+     */
+    @PostMapping(value = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> askQuestionStream(@RequestBody FruitDTO.QuestionRequest request) {
 
-        return ResponseEntity.ok(response);
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        fruitRAGService.streamAnswer(request, emitter);
+
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
     }
 
     /**
-     * 모든 과일 목록 조회
+     * 전체 과일 목록 조회 (기존 응답 형태 유지: 설명 포함 과일 배열)
+     * 카탈로그 버전 기반 ETag로 변경이 없으면 과일 목록을 조회하지 않고 304 응답 (모든 서버에서 같은 ETag)
      */
     @GetMapping
-    public ResponseEntity<List<FruitDTO.Response>> getAllFruits() {
-        List<FruitDTO.Response> fruits = fruitRAGService.getAllFruits();
-        return ResponseEntity.ok(fruits);
+    public ResponseEntity<List<FruitDTO.Response>> getAllFruits(WebRequest webRequest) {
+        String etag = catalogVersion.etag("all");
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(fruitRAGService.getAllFruits());
+    }
+
+    /**
+     * 과일 목록 페이지 조회 (설명 제외)
+     * 카탈로그 버전 기반 ETag로 변경이 없으면 과일 목록을 조회하지 않고 304 응답 (모든 서버에서 같은 ETag)
+     *
+     * 예시 요청:
+     * GET /api/fruits/page?page=1&size=20
+     * If-None-Match: "fruits-18c2f0a1b2c-3-list-1-20"
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PageResponseDTO<FruitDTO.Summary>> getFruits(PageRequestDTO pageRequestDTO,
+            WebRequest webRequest) {
+        pageRequestDTO.setPage(Math.max(1, pageRequestDTO.getPage()));
+        pageRequestDTO.setSize(Math.min(Math.max(1, pageRequestDTO.getSize()), MAX_PAGE_SIZE));
+
+        String etag = catalogVersion.etag("list-" + pageRequestDTO.getPage() + "-" + pageRequestDTO.getSize());
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(fruitRAGService.getFruitPage(pageRequestDTO));
+    }
+
+    /**
+     * 과일 상세 조회 (설명 포함)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<FruitDTO.Response> getFruit(@PathVariable("id") Long id, WebRequest webRequest) {
+        String etag = catalogVersion.etag("id-" + id);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(fruitRAGService.getFruit(id));
+    }
+
+    /**
+     * RAG 운영 통계 조회
+     * 답변 캐시 적중/미적중 횟수로 절약된 Gemini 호출량 확인
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(fruitRAGService.getStats());
     }
 
     /**
@@ -85,4 +203,31 @@ public class FruitController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 과일 카탈로그 파일 일괄 등록 (관리자용)
+     * 형식은 format 파라미터(jsonl, csv, markdown) 또는 파일 확장자로 판단
+     *
+     * 예시 요청:
+     * POST /api/fruits/bulk (multipart/form-data)
+     * file=fruits.jsonl
+     *
+     * 예시 응답:
+     * {
+     * "format": "JSONL", "read": 1000, "inserted": 998, "skipped": 2,
+     * "errors": ["15: name, englishName은 필수입니다.", ...], "elapsedMillis": 420
+     * }
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<FruitDTO.BulkImportResponse> bulkImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", required = false) String format) throws IOException {
+
+        FruitCatalogFormat catalogFormat = FruitCatalogFormat.resolve(format, file.getOriginalFilename());
+        log.info("과일 카탈로그 일괄 등록 요청: {} ({}, {} bytes)", file.getOriginalFilename(), catalogFormat, file.getSize());
+
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(fruitBulkLoader.load(in, catalogFormat));
+        }
+    }
 }
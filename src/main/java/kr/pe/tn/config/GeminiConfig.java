@@ -0,0 +1,69 @@
+package kr.pe.tn.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class GeminiConfig {
+
+    /**
+     * Gemini 호출 전용 가상 스레드 Executor
+     * HTTP 응답 대기 중에도 플랫폼 스레드를 점유하지 않음
+     */
+    @Bean
+    public ExecutorService geminiExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * 과일 RAG 질문 처리 전용 Executor (검색, 컨텍스트 구성, 호출 한도 대기)
+     * 스레드 수와 대기열 크기를 제한하여 AI 응답 지연이 Tomcat 요청 스레드(게시판, 로그인 등)로 번지지 않도록 격리
+     * 대기열이 가득 차면 RejectedExecutionException으로 즉시 거절 (503 응답)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor fruitRagExecutor(
+            @Value("${fruit.rag.async.threads:8}") int threads,
+            @Value("${fruit.rag.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("fruit-rag-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 하이브리드 검색에서 키워드/벡터 검색을 병렬 실행하기 위한 가상 스레드 Executor
+     * fruitRagExecutor 안에서 다시 같은 풀에 작업을 넣지 않도록 분리
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService fruitSearchExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fruit-search-", 0).factory());
+    }
+
+    /**
+     * Gemini API 호출에 공유하는 HttpClient Bean
+     * 요청마다 새로 만들지 않고 커넥션 풀, TLS 세션을 재사용
+     */
+    @Bean
+    public HttpClient geminiHttpClient(
+            @Qualifier("geminiExecutor") ExecutorService geminiExecutor,
+            @Value("${gemini.api.connect-timeout:5s}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .executor(geminiExecutor)
+                .build();
+    }
+}
@@ -144,11 +144,13 @@ public class SecurityConfig {
                                                                 "/api/freeboard/**", // 게시판 API 추가
                                                                 "/ws-chat/**") // WebSocket 엔드포인트
                                                 .permitAll()
+                                                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // 모니터링 (관리 포트, localhost 전용)
                                                 .requestMatchers(HttpMethod.POST, "/api/user").permitAll()
                                                 .requestMatchers(HttpMethod.GET, "/api/donation/public").permitAll() // 후원
                                                                                                                      // 현황
                                                                                                                      // 공개
                                                 .requestMatchers("/api/donation/**").authenticated() // 후원 API (로그인 필수)
+                                                .requestMatchers(HttpMethod.POST, "/api/fruits/bulk").hasRole("ADMIN") // 과일 카탈로그 일괄 등록 (관리자)
                                                 .requestMatchers("/api/fruits/**").authenticated() // 과일 AI API (로그인 필수)
                                                 .requestMatchers("/api/chat/**").authenticated() // 채팅 API (로그인 필수)
                                                 .requestMatchers("/admin/**").hasRole("ADMIN") // 관리자 경로 설정
@@ -1,19 +1,82 @@
 package kr.pe.tn.config;
 
+import kr.pe.tn.domain.chat.cluster.ChatClusterBroker;
+import kr.pe.tn.domain.chat.presence.ChatPresenceRegistry;
+import kr.pe.tn.handler.ChatDestinationGuard;
+import kr.pe.tn.handler.ChatOutboundQueues;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
 
 /**
  * WebSocket 설정
  * STOMP 프로토콜을 사용한 실시간 채팅 시스템
+ *
+ * 브로커 방식 (chat.broker.mode)
+ * - simple : 메모리 브로커 (서버 1대)
+ * - relay : 외부 STOMP 브로커(RabbitMQ STOMP 플러그인 등)로 relay, 여러 서버가 같은 브로커를 공유
+ * - cluster : 서버마다 메모리 브로커 + 서버 간 TCP 버스로 메시지 복제 (외부 브로커 없이 여러 서버 실행)
+ *
+ * 메모리 브로커는 STOMP heartbeat 를 주고받아 ChatPresenceRegistry가 끊어진 세션을 찾을 수 있도록 합니다.
+ * 클라이언트로 보내는 메시지는 세션별 전송 대기열(ChatOutboundQueues)을 거치므로 느린 클라이언트가 다른 사용자를 지연시키지 않습니다.
  */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final ObjectProvider<ChatClusterBroker> clusterBroker;
+    private final ChatPresenceRegistry presenceRegistry;
+    private final ChatDestinationGuard destinationGuard;
+    private final ChatOutboundQueues outboundQueues;
+    private final TaskScheduler messageBrokerTaskScheduler;
+
+    @Value("${chat.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${chat.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${chat.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${chat.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    // STOMP heartbeat 주기 (메모리 브로커: 서버 전송, 클라이언트 수신 기대)
+    @Value("${chat.broker.heartbeat:10s}")
+    private Duration heartbeat;
+
+    public WebSocketConfig(ObjectProvider<ChatClusterBroker> clusterBroker,
+            ChatPresenceRegistry presenceRegistry,
+            ChatDestinationGuard destinationGuard,
+            ChatOutboundQueues outboundQueues,
+            @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+        this.clusterBroker = clusterBroker;
+        this.presenceRegistry = presenceRegistry;
+        this.destinationGuard = destinationGuard;
+        this.outboundQueues = outboundQueues;
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     /**
      * 메시지 브로커 설정
      * - /topic: 전체 채팅 (1:N 브로드캐스트)
@@ -21,8 +84,30 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // 메시지 브로커 활성화: /topic (전체), /queue (개인)
-        config.enableSimpleBroker("/topic", "/queue");
+        switch (brokerMode) {
+            case "relay" -> {
+                // 외부 브로커 relay: 구독/전달은 브로커가 담당, 다른 서버에 접속한 사용자의 귓속말도 브로커를 거쳐 전달
+                StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                        .setRelayHost(relayHost)
+                        .setRelayPort(relayPort)
+                        .setClientLogin(relayLogin)
+                        .setClientPasscode(relayPasscode)
+                        .setSystemLogin(relayLogin)
+                        .setSystemPasscode(relayPasscode);
+                if (StringUtils.hasText(relayVirtualHost)) {
+                    relay.setVirtualHost(relayVirtualHost);
+                }
+                relay.setUserDestinationBroadcast(ChatDestinationGuard.RELAY_UNRESOLVED_USER_DESTINATION);
+                relay.setUserRegistryBroadcast(ChatDestinationGuard.RELAY_USER_REGISTRY_DESTINATION);
+            }
+            case "cluster" -> {
+                // 서버마다 메모리 브로커, /topic 메시지는 brokerChannel 인터셉터가 다른 서버로 복제
+                enableSimpleBroker(config);
+                config.configureBrokerChannel().interceptors(clusterBroker.getObject());
+            }
+            case "simple" -> enableSimpleBroker(config);
+            default -> throw new IllegalArgumentException("알 수 없는 채팅 브로커 방식입니다: " + brokerMode);
+        }
 
         // 클라이언트가 메시지를 보낼 때 사용할 prefix
         config.setApplicationDestinationPrefixes("/app");
@@ -31,6 +116,29 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         config.setUserDestinationPrefix("/user");
     }
 
+    private void enableSimpleBroker(MessageBrokerRegistry config) {
+        long heartbeatMillis = heartbeat.toMillis();
+        config.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(new long[]{heartbeatMillis, heartbeatMillis})
+                .setTaskScheduler(messageBrokerTaskScheduler);
+    }
+
+    /**
+     * 클라이언트 -> 서버 채널: 서버 내부용 목적지 구독/전송 거절, 수신한 프레임(heartbeat 포함)으로 접속자 세션 갱신
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(destinationGuard, presenceRegistry);
+    }
+
+    /**
+     * 세션별 전송 대기열 적용 (대기열 크기/시간 제한은 chat.outbound.*)
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.addDecoratorFactory(outboundQueues);
+    }
+
     /**
      * WebSocket 엔드포인트 등록
      * 클라이언트가 WebSocket에 연결할 때 사용하는 URL
@@ -0,0 +1,181 @@
+package kr.pe.tn.domain.chat.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.pe.tn.domain.chat.dto.ChatMessage;
+import kr.pe.tn.domain.chat.service.ChatService;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.user.UserDestinationMessageHandler;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 클러스터 브로커 (simple broker + 노드 간 버스)
+ *
+ * 각 노드는 자기 simple broker로 자기 구독자에게 전달하고,
+ * brokerChannel 인터셉터가 /topic 메시지를 ChatClusterBus로 다른 노드에 복제합니다.
+ * 다른 노드에서 받은 메시지는 로컬 brokerChannel에 다시 넣어 그 노드의 구독자에게 전달합니다. (다시 복제하지 않음)
+ *
+ * 귓속말(/user/{name}/queue/whisper)은 수신자가 이 노드에 없으면 UserDestinationMessageHandler가 UNRESOLVED_USER_DESTINATION 으로
+ * 다시 보내고, 이 메시지도 /topic 이므로 다른 노드로 복제되어 수신자가 접속한 노드에서 전달됩니다.
+ *
+ * 다른 노드의 채팅방 메시지는 이 노드의 채팅 로그에도 기록하여 어느 노드에서 조회해도 같은 기록을 볼 수 있습니다.
+ * 로그 오프셋은 노드마다 다르지만 이전 메시지 조회 커서는 보낸 노드가 붙인 전송 시간이므로 노드를 바꿔 가며 이어서 조회할 수 있습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "cluster")
+public class ChatClusterBroker implements ChannelInterceptor, SmartInitializingSingleton {
+
+    /**
+     * 수신자를 찾지 못한 사용자 메시지를 다른 노드로 보내는 목적지
+     * (simple broker 설정에는 broadcast 설정이 없으므로 UserDestinationMessageHandler에 직접 지정)
+     */
+    public static final String UNRESOLVED_USER_DESTINATION = "/topic/cluster.unresolved-user";
+
+    static final String FRAME_TYPE = "stomp.message";
+
+    // 다른 노드에서 받은 메시지 표시 (다시 복제하지 않도록)
+    private static final String ORIGIN_HEADER = "chatClusterOrigin";
+
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    private final ChatClusterBus bus;
+    private final MessageChannel brokerChannel;
+    private final UserDestinationMessageHandler userDestinationMessageHandler;
+    private final ChatService chatService;
+    private final ObjectMapper objectMapper;
+
+    public ChatClusterBroker(ChatClusterBus bus,
+            @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+            @Lazy UserDestinationMessageHandler userDestinationMessageHandler,
+            ChatService chatService,
+            ObjectMapper objectMapper) {
+        this.bus = bus;
+        this.brokerChannel = brokerChannel;
+        this.userDestinationMessageHandler = userDestinationMessageHandler;
+        this.chatService = chatService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 모든 Bean 생성 후 (메시지 처리 시작 전) 버스 수신 등록과 사용자 메시지 broadcast 목적지 지정
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        userDestinationMessageHandler.setBroadcastDestination(UNRESOLVED_USER_DESTINATION);
+        bus.subscribe(FRAME_TYPE, this::deliver);
+    }
+
+    /**
+     * brokerChannel 로 들어오는 이 노드의 /topic 메시지를 다른 노드로 복제
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (SimpMessageHeaderAccessor.getMessageType(headers) == SimpMessageType.MESSAGE
+                && destination != null && destination.startsWith(TOPIC_PREFIX)
+                && headers.get(ORIGIN_HEADER) == null
+                && message.getPayload() instanceof byte[] payload) {
+            bus.publish(FRAME_TYPE, encode(destination, headers, payload));
+        }
+        return message;
+    }
+
+    /**
+     * 다른 노드에서 받은 메시지를 로컬 구독자에게 전달
+     * sessionId 는 Spring의 사용자 메시지 재전송 처리(BroadcastHandler)가 다른 노드에서 온 메시지로 인식하는 데 필요
+     */
+    private void deliver(ChatClusterBus.Frame frame) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame.body()));
+        try {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            String destination = in.readUTF();
+            accessor.setDestination(destination);
+            String contentType = in.readUTF();
+            if (!contentType.isEmpty()) {
+                accessor.setContentType(MimeTypeUtils.parseMimeType(contentType));
+            }
+            int headerCount = in.readUnsignedShort();
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readUnsignedShort();
+                for (int j = 0; j < valueCount; j++) {
+                    accessor.addNativeHeader(name, in.readUTF());
+                }
+            }
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+
+            accessor.setSessionId("cluster-" + frame.origin());
+            accessor.setHeader(ORIGIN_HEADER, frame.origin());
+            brokerChannel.send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+
+            recordRoomMessage(destination, payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("클러스터 메시지를 읽을 수 없습니다", e);
+        }
+    }
+
+    /**
+     * /topic/{roomId} 메시지를 로컬 채팅 로그에 기록 (기록 대상 채팅방만)
+     */
+    private void recordRoomMessage(String destination, byte[] payload) throws IOException {
+        String roomId = destination.substring(TOPIC_PREFIX.length());
+        if (!chatService.isLoggedRoom(roomId)) {
+            return;
+        }
+        chatService.recordMessage(roomId, objectMapper.readValue(payload, ChatMessage.class));
+    }
+
+    private static byte[] encode(String destination, MessageHeaders headers, byte[] payload) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length + 128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(destination);
+            Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+            out.writeUTF(contentType != null ? contentType.toString() : "");
+
+            @SuppressWarnings("unchecked")
+            Map<String, List<String>> nativeHeaders =
+                    (Map<String, List<String>>) headers.get(NativeMessageHeaderAccessor.NATIVE_HEADERS);
+            if (nativeHeaders == null) {
+                out.writeShort(0);
+            } else {
+                out.writeShort(nativeHeaders.size());
+                for (Map.Entry<String, List<String>> header : nativeHeaders.entrySet()) {
+                    out.writeUTF(header.getKey());
+                    out.writeShort(header.getValue().size());
+                    for (String value : header.getValue()) {
+                        out.writeUTF(value);
+                    }
+                }
+            }
+
+            out.writeInt(payload.length);
+            out.write(payload);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package kr.pe.tn.domain.chat.cluster;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 채팅 서버 노드 간 메시지 버스 (TCP, 외부 브로커 없이 동작)
+ *
+ * 각 노드는 chat.cluster.port 로 접속을 받고, chat.cluster.peers 에 적힌 다른 노드마다 연결 하나를 유지합니다.
+ * publish()는 프레임을 피어별 전송 대기열에 넣기만 하고 바로 반환하며,
+ * 피어 연결이 끊어지면 reconnect-interval 마다 다시 연결합니다. (연결이 없는 동안 대기열이 가득 차면 프레임 누락)
+ *
+ * 접속 인증: 접속을 받은 노드가 임의의 nonce(16 bytes)를 보내면 접속한 노드는 [노드 id(UTF)][HMAC-SHA256(secret, nonce + 노드 id)]로
+ * 응답합니다. chat.cluster.secret 을 모르는 연결은 프레임을 보내기 전에 끊고, 인증된 연결에서는 인증한 노드 id 와
+ * 보낸 노드 id 가 다른 프레임을 받지 않습니다. (버스 포트는 STOMP 메시지를 그대로 브로드캐스트할 수 있으므로 공유 비밀 없이 열지 않음)
+ *
+ * 프레임: [전체 길이(int)][type(UTF)][보낸 노드 id(UTF)][본문 길이(int)][본문]
+ * type 별로 subscribe()한 수신자에게 전달하므로 STOMP 메시지 외 다른 용도(접속자 현황 등)도 같은 버스를 사용합니다.
+ * 순서가 보장되고 누락을 감지할 수 있도록 UDP 대신 TCP를 사용합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "cluster")
+public class ChatClusterBus implements MeterBinder, InitializingBean, DisposableBean {
+
+    // 프레임 최대 크기 (잘못된 길이 값으로 큰 배열을 할당하지 않도록)
+    private static final int MAX_FRAME_BYTES = 4 * 1024 * 1024;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int NONCE_BYTES = 16;
+    private static final int MAC_BYTES = 32;
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 5_000;
+
+    @Getter
+    private final String nodeId;
+    private final String bindAddress;
+    private final int port;
+    private final List<Peer> peers;
+    private final Duration reconnectInterval;
+    private final SecretKeySpec secretKey;
+    private final SecureRandom random = new SecureRandom();
+
+    private final ConcurrentHashMap<String, Consumer<Frame>> listeners = new ConcurrentHashMap<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile boolean running = true;
+    private ServerSocket serverSocket;
+
+    public ChatClusterBus(
+            @Value("${chat.cluster.node-id:}") String nodeId,
+            @Value("${chat.cluster.bind-address:127.0.0.1}") String bindAddress,
+            @Value("${chat.cluster.port:7701}") int port,
+            @Value("${chat.cluster.peers:}") List<String> peers,
+            @Value("${chat.cluster.secret:}") String secret,
+            @Value("${chat.cluster.queue-capacity:10000}") int queueCapacity,
+            @Value("${chat.cluster.reconnect-interval:2s}") Duration reconnectInterval) {
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString();
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.reconnectInterval = reconnectInterval;
+        if (!StringUtils.hasText(secret)) {
+            throw new IllegalStateException("cluster 모드에는 노드 간 접속 인증용 chat.cluster.secret 설정이 필요합니다.");
+        }
+        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.peers = peers.stream()
+                .filter(StringUtils::hasText)
+                .map(address -> new Peer(address.trim(), queueCapacity))
+                .toList();
+    }
+
+    /**
+     * 수신 대기 시작 후 피어마다 전송 스레드 시작
+     */
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(InetAddress.getByName(bindAddress), port));
+        Thread.ofPlatform().name("chat-cluster-accept").daemon(true).start(this::acceptLoop);
+
+        for (Peer peer : peers) {
+            Thread.ofVirtual().name("chat-cluster-peer-" + peer.address).start(peer::sendLoop);
+        }
+        log.info("채팅 클러스터 버스 시작: 노드 {} ({}:{}), 피어 {}", nodeId, bindAddress, port,
+                peers.stream().map(peer -> peer.address).toList());
+    }
+
+    /**
+     * type 프레임 수신자 등록 (type 당 하나, 수신 스레드에서 바로 호출되므로 오래 걸리는 작업은 넘겨서 처리)
+     */
+    public void subscribe(String type, Consumer<Frame> listener) {
+        listeners.put(type, listener);
+    }
+
+    /**
+     * 모든 피어에 프레임 전송 (대기열에 넣고 바로 반환)
+     */
+    public void publish(String type, byte[] body) {
+        byte[] frame = encode(type, body);
+        for (Peer peer : peers) {
+            if (peer.queue.offer(frame)) {
+                sent.incrementAndGet();
+            } else {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private byte[] encode(String type, byte[] body) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(type);
+            out.writeUTF(nodeId);
+            out.writeInt(body.length);
+            out.write(body);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().name("chat-cluster-in-" + socket.getRemoteSocketAddress())
+                        .start(() -> receiveLoop(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("채팅 클러스터 접속 수락 실패: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 피어 연결 하나를 인증한 뒤 프레임을 읽어 type 별 수신자에게 전달
+     */
+    private void receiveLoop(Socket socket) {
+        try (socket; DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            String peerNodeId = authenticate(socket, in);
+            if (peerNodeId == null) {
+                rejected.incrementAndGet();
+                log.warn("채팅 클러스터 접속 인증 실패: {}", socket.getRemoteSocketAddress());
+                return;
+            }
+            while (running) {
+                int length = in.readInt();
+                if (length <= 0 || length > MAX_FRAME_BYTES) {
+                    throw new IOException("잘못된 프레임 길이: " + length);
+                }
+                byte[] frame = new byte[length];
+                in.readFully(frame);
+                dispatch(frame, peerNodeId);
+            }
+        } catch (EOFException e) {
+            log.debug("채팅 클러스터 피어 연결 종료: {}", socket.getRemoteSocketAddress());
+        } catch (IOException e) {
+            if (running) {
+                log.warn("채팅 클러스터 수신 오류 ({}): {}", socket.getRemoteSocketAddress(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 접속 인증 (nonce 전송 -> 노드 id 와 HMAC 확인)
+     *
+     * @return 인증된 노드 id (실패 시 null)
+     */
+    private String authenticate(Socket socket, DataInputStream in) throws IOException {
+        socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+        byte[] nonce = new byte[NONCE_BYTES];
+        random.nextBytes(nonce);
+        OutputStream out = socket.getOutputStream();
+        out.write(nonce);
+        out.flush();
+
+        String peerNodeId;
+        byte[] mac = new byte[MAC_BYTES];
+        try {
+            peerNodeId = in.readUTF();
+            in.readFully(mac);
+        } catch (SocketTimeoutException | EOFException | UTFDataFormatException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(mac, sign(nonce, peerNodeId))) {
+            return null;
+        }
+        socket.setSoTimeout(0);
+        return peerNodeId;
+    }
+
+    private byte[] sign(byte[] nonce, String node) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretKey);
+            mac.update(nonce);
+            return mac.doFinal(node.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 계산 실패", e);
+        }
+    }
+
+    private void dispatch(byte[] frame, String peerNodeId) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame));
+        String type = in.readUTF();
+        String origin = in.readUTF();
+        byte[] body = new byte[in.readInt()];
+        in.readFully(body);
+
+        if (!peerNodeId.equals(origin)) {
+            throw new IOException("인증한 노드와 다른 노드 id 의 프레임: " + origin + " (인증 " + peerNodeId + ")");
+        }
+        if (nodeId.equals(origin)) {
+            return; // 피어 설정에 자기 자신이 포함된 경우
+        }
+        received.incrementAndGet();
+        Consumer<Frame> listener = listeners.get(type);
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.accept(new Frame(type, origin, body));
+        } catch (RuntimeException e) {
+            log.error("채팅 클러스터 프레임 처리 실패: {} (from {})", type, origin, e);
+        }
+    }
+
+    /**
+     * 버스 통계 (노드 id, 피어별 연결 상태와 대기 프레임 수, 전송/수신/누락 수)
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nodeId", nodeId);
+        stats.put("port", port);
+        Map<String, Object> peerStats = new LinkedHashMap<>();
+        for (Peer peer : peers) {
+            peerStats.put(peer.address, Map.of("connected", peer.connected, "queued", peer.queue.size()));
+        }
+        stats.put("peers", peerStats);
+        stats.put("sent", sent.get());
+        stats.put("received", received.get());
+        stats.put("dropped", dropped.get());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    /**
+     * Micrometer 지표 등록 (연결된 피어 수, 전송/수신/누락 프레임 수, 인증 실패 접속 수)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("chat.cluster.peers.connected", peers,
+                        list -> list.stream().filter(peer -> peer.connected).count())
+                .register(registry);
+        FunctionCounter.builder("chat.cluster.frames", sent, AtomicLong::get)
+                .tag("result", "sent")
+                .register(registry);
+        FunctionCounter.builder("chat.cluster.frames", received, AtomicLong::get)
+                .tag("result", "received")
+                .register(registry);
+        FunctionCounter.builder("chat.cluster.frames", dropped, AtomicLong::get)
+                .tag("result", "dropped")
+                .register(registry);
+        FunctionCounter.builder("chat.cluster.connections.rejected", rejected, AtomicLong::get)
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        running = false;
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (Peer peer : peers) {
+            peer.close();
+        }
+    }
+
+    /**
+     * 수신한 프레임
+     *
+     * @param origin 보낸 노드 id
+     */
+    public record Frame(String type, String origin, byte[] body) {
+    }
+
+    /**
+     * 다른 노드 하나로 가는 연결 (전송 대기열 + 재연결)
+     */
+    private class Peer {
+
+        private final String address;
+        private final InetSocketAddress socketAddress;
+        private final BlockingQueue<byte[]> queue;
+        private volatile boolean connected;
+        private volatile Socket socket;
+
+        private Peer(String address, int queueCapacity) {
+            int separator = address.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("피어 주소 형식이 올바르지 않습니다 (host:port): " + address);
+            }
+            this.address = address;
+            this.socketAddress = InetSocketAddress.createUnresolved(address.substring(0, separator),
+                    Integer.parseInt(address.substring(separator + 1)));
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        /**
+         * 연결 -> 대기열 프레임 전송 (모아서 한 번에 flush) -> 끊어지면 잠시 후 재연결
+         */
+        private void sendLoop() {
+            List<byte[]> batch = new ArrayList<>();
+            while (running) {
+                try (Socket connection = connect()) {
+                    handshake(connection);
+                    socket = connection;
+                    connected = true;
+                    log.info("채팅 클러스터 피어 연결: {}", address);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+                    while (running) {
+                        byte[] first = queue.poll(1, TimeUnit.SECONDS);
+                        if (first == null) {
+                            continue;
+                        }
+                        batch.add(first);
+                        queue.drainTo(batch, 255);
+                        for (byte[] frame : batch) {
+                            out.writeInt(frame.length);
+                            out.write(frame);
+                        }
+                        out.flush();
+                        batch.clear();
+                    }
+                } catch (IOException e) {
+                    if (connected) {
+                        log.warn("채팅 클러스터 피어 연결 끊김: {} ({})", address, e.getMessage());
+                    }
+                    dropped.addAndGet(batch.size());
+                    batch.clear();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    connected = false;
+                }
+
+                if (running) {
+                    try {
+                        Thread.sleep(reconnectInterval);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private Socket connect() throws IOException {
+            Socket connection = new Socket();
+            try {
+                connection.setTcpNoDelay(true);
+                connection.connect(new InetSocketAddress(socketAddress.getHostString(), socketAddress.getPort()),
+                        (int) reconnectInterval.toMillis());
+            } catch (IOException e) {
+                connection.close();
+                throw e;
+            }
+            return connection;
+        }
+
+        /**
+         * 접속 인증 응답 (받은 nonce 로 HMAC 계산)
+         */
+        private void handshake(Socket connection) throws IOException {
+            connection.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+            byte[] nonce = new byte[NONCE_BYTES];
+            new DataInputStream(connection.getInputStream()).readFully(nonce);
+            DataOutputStream out = new DataOutputStream(connection.getOutputStream());
+            out.writeUTF(nodeId);
+            out.write(sign(nonce, nodeId));
+            out.flush();
+            connection.setSoTimeout(0);
+        }
+
+        private void close() throws IOException {
+            Socket current = socket;
+            if (current != null) {
+                current.close();
+            }
+        }
+    }
+}
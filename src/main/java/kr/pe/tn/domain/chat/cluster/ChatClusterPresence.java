@@ -0,0 +1,133 @@
+package kr.pe.tn.domain.chat.cluster;
+
+import kr.pe.tn.domain.chat.presence.ChatPresenceRegistry;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 접속자 현황 복제 (ChatPresenceRegistry <-> ChatClusterBus)
+ *
+ * - presence.delta : 이 서버 사용자가 온라인/오프라인으로 바뀔 때마다 전송 (세션 단위가 아닌 사용자 단위)
+ * - presence.sync : sync-interval 마다 이 서버 접속자 전체 목록 전송
+ *   다른 서버는 이 목록으로 교체하여 연결이 끊긴 동안 놓친 변경을 복구하고, node-lease 갱신(heartbeat)으로도 사용합니다.
+ *
+ * 처음 소식을 받은 노드(새로 시작했거나 재시작한 서버)에는 다음 주기를 기다리지 않고 바로 전체 목록을 보냅니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "cluster")
+public class ChatClusterPresence implements SmartInitializingSingleton {
+
+    static final String DELTA_FRAME_TYPE = "presence.delta";
+    static final String SYNC_FRAME_TYPE = "presence.sync";
+
+    private final ChatClusterBus bus;
+    private final ChatPresenceRegistry presenceRegistry;
+
+    public ChatClusterPresence(ChatClusterBus bus, ChatPresenceRegistry presenceRegistry) {
+        this.bus = bus;
+        this.presenceRegistry = presenceRegistry;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        presenceRegistry.onLocalChange(change -> bus.publish(DELTA_FRAME_TYPE, encodeDelta(change)));
+        bus.subscribe(DELTA_FRAME_TYPE, this::receiveDelta);
+        bus.subscribe(SYNC_FRAME_TYPE, this::receiveSync);
+        publishSync();
+    }
+
+    /**
+     * 이 서버 접속자 전체 목록 전송
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.sync-interval:10s}")
+    public void publishSync() {
+        bus.publish(SYNC_FRAME_TYPE, encodeSync(presenceRegistry.localUsers()));
+    }
+
+    private void receiveDelta(ChatClusterBus.Frame frame) {
+        if (applyDelta(presenceRegistry, frame.origin(), frame.body())) {
+            publishSync();
+        }
+    }
+
+    private void receiveSync(ChatClusterBus.Frame frame) {
+        if (applySync(presenceRegistry, frame.origin(), frame.body())) {
+            publishSync();
+        }
+    }
+
+    /**
+     * 다른 서버의 온라인/오프라인 변경 반영
+     *
+     * @return 처음 소식을 받은 노드인지 (바로 전체 목록을 보내야 하는지)
+     */
+    static boolean applyDelta(ChatPresenceRegistry presenceRegistry, String origin, byte[] body) {
+        boolean newNode = !presenceRegistry.isKnownNode(origin);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        try {
+            boolean online = in.readBoolean();
+            presenceRegistry.applyRemote(origin, in.readUTF(), online);
+        } catch (IOException e) {
+            throw new UncheckedIOException("접속자 변경 프레임을 읽을 수 없습니다", e);
+        }
+        return newNode;
+    }
+
+    /**
+     * 다른 서버의 접속자 전체 목록으로 교체
+     *
+     * @return 처음 소식을 받은 노드인지 (바로 전체 목록을 보내야 하는지)
+     */
+    static boolean applySync(ChatPresenceRegistry presenceRegistry, String origin, byte[] body) {
+        boolean newNode = !presenceRegistry.isKnownNode(origin);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        try {
+            int count = in.readInt();
+            Set<String> users = new HashSet<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                users.add(in.readUTF());
+            }
+            presenceRegistry.replaceRemote(origin, users);
+        } catch (IOException e) {
+            throw new UncheckedIOException("접속자 목록 프레임을 읽을 수 없습니다", e);
+        }
+        return newNode;
+    }
+
+    static byte[] encodeDelta(ChatPresenceRegistry.Change change) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeBoolean(change.online());
+            out.writeUTF(change.username());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] encodeSync(Set<String> users) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + users.size() * 16);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(users.size());
+            for (String username : users) {
+                out.writeUTF(username);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
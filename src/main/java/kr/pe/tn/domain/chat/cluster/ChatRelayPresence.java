@@ -0,0 +1,118 @@
+package kr.pe.tn.domain.chat.cluster;
+
+import kr.pe.tn.domain.chat.presence.ChatPresenceRegistry;
+import kr.pe.tn.handler.ChatDestinationGuard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.BrokerAvailabilityEvent;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * relay 모드 접속자 현황 복제 (ChatPresenceRegistry <-> 외부 브로커의 내부 목적지)
+ *
+ * cluster 모드의 ChatClusterPresence와 같은 변경(delta)/전체 목록(sync) 프레임을
+ * 외부 브로커의 /topic/chat-presence 로 주고받습니다. 수신은 relay 의 시스템 연결 구독으로 받으므로
+ * 클라이언트 세션과 무관하고, 이 목적지는 ChatDestinationGuard가 클라이언트 구독/전송을 거절합니다.
+ *
+ * 노드 id 는 시작할 때마다 새로 만듭니다. 재시작한 서버는 새 노드로 보이고, 이전 노드의 접속자는 node-lease 가 지나면 제거됩니다.
+ * 브로커에 다시 연결되면 놓친 변경을 복구하도록 바로 전체 목록을 보냅니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "relay")
+public class ChatRelayPresence implements SmartInitializingSingleton {
+
+    static final String ORIGIN_HEADER = "chat-presence-origin";
+    static final String TYPE_HEADER = "chat-presence-type";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final SimpMessagingTemplate messagingTemplate;
+    private final AbstractBrokerMessageHandler brokerHandler;
+    private final ChatPresenceRegistry presenceRegistry;
+
+    public ChatRelayPresence(SimpMessagingTemplate messagingTemplate,
+            @Qualifier("stompBrokerRelayMessageHandler") AbstractBrokerMessageHandler brokerHandler,
+            ChatPresenceRegistry presenceRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.brokerHandler = brokerHandler;
+        this.presenceRegistry = presenceRegistry;
+    }
+
+    /**
+     * relay 시작 전에 시스템 연결 구독 추가 (브로커에 연결될 때 함께 구독), 이 서버 사용자 변경 전송 등록
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!(brokerHandler instanceof StompBrokerRelayMessageHandler relay)) {
+            throw new IllegalStateException("relay 모드인데 STOMP 브로커 relay 가 없습니다: " + brokerHandler);
+        }
+        Map<String, MessageHandler> subscriptions = new HashMap<>(relay.getSystemSubscriptions());
+        subscriptions.put(ChatDestinationGuard.RELAY_PRESENCE_DESTINATION, this::receive);
+        relay.setSystemSubscriptions(subscriptions);
+
+        presenceRegistry.onLocalChange(change ->
+                publish(ChatClusterPresence.DELTA_FRAME_TYPE, ChatClusterPresence.encodeDelta(change)));
+        log.info("relay 모드 접속자 현황 복제 시작: 노드 {}", nodeId);
+    }
+
+    /**
+     * 브로커에 (다시) 연결되면 바로 전체 목록 전송
+     */
+    @EventListener
+    public void onBrokerAvailability(BrokerAvailabilityEvent event) {
+        if (event.isBrokerAvailable()) {
+            publishSync();
+        }
+    }
+
+    /**
+     * 이 서버 접속자 전체 목록 전송 (브로커에 연결되지 않은 동안에는 relay 가 버림)
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.sync-interval:10s}")
+    public void publishSync() {
+        publish(ChatClusterPresence.SYNC_FRAME_TYPE, ChatClusterPresence.encodeSync(presenceRegistry.localUsers()));
+    }
+
+    private void publish(String type, byte[] body) {
+        messagingTemplate.convertAndSend(ChatDestinationGuard.RELAY_PRESENCE_DESTINATION, body,
+                Map.of(ORIGIN_HEADER, nodeId, TYPE_HEADER, type));
+    }
+
+    /**
+     * 브로커에서 받은 프레임 반영 (자기 자신이 보낸 프레임은 무시)
+     */
+    void receive(Message<?> message) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        String origin = accessor.getFirstNativeHeader(ORIGIN_HEADER);
+        String type = accessor.getFirstNativeHeader(TYPE_HEADER);
+        if (origin == null || nodeId.equals(origin) || !(message.getPayload() instanceof byte[] body)) {
+            return;
+        }
+        boolean newNode;
+        if (ChatClusterPresence.DELTA_FRAME_TYPE.equals(type)) {
+            newNode = ChatClusterPresence.applyDelta(presenceRegistry, origin, body);
+        } else if (ChatClusterPresence.SYNC_FRAME_TYPE.equals(type)) {
+            newNode = ChatClusterPresence.applySync(presenceRegistry, origin, body);
+        } else {
+            log.warn("알 수 없는 접속자 현황 프레임: {} (노드 {})", type, origin);
+            return;
+        }
+        if (newNode) {
+            publishSync();
+        }
+    }
+}
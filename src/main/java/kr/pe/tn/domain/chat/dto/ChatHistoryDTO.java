@@ -0,0 +1,20 @@
+package kr.pe.tn.domain.chat.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 채팅방 이전 메시지 조회 결과 DTO
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatHistoryDTO {
+
+    private String roomId; // 채팅방 ID
+    private List<ChatMessage> messages; // 메시지 목록 (오래된 순)
+    private Long nextBefore; // 더 이전 메시지 조회 시 before 값 (가장 이른 메시지의 전송 시간, epoch 마이크로초, 없으면 null)
+    private boolean hasMore; // 더 이전 메시지 존재 여부
+}
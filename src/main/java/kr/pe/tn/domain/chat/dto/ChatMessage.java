@@ -43,6 +43,7 @@ public class ChatMessage {
     private String receiverId; // 수신자 ID (귓속말용)
     private LocalDateTime timestamp; // 전송 시간
     private boolean isAnonymous; // 익명 여부
+    private Long offset; // 이 서버의 채팅방 메시지 로그 오프셋 (이전 메시지 조회 시에만, 서버마다 다르므로 커서로 사용하지 않음)
 
     /**
      * 익명 메시지 생성
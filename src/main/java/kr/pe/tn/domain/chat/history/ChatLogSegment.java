@@ -0,0 +1,219 @@
+package kr.pe.tn.domain.chat.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 채팅 메시지 로그 세그먼트 (메모리 매핑 파일 2개: 데이터 + 오프셋 색인)
+ *
+ * 파일 이름은 세그먼트 첫 메시지의 오프셋(baseOffset)입니다. 예: 00000000000000001024.log / .idx
+ * - .log : 레코드를 이어 붙인 데이터 파일 [길이(int)][CRC32(int)][JSON 본문]
+ * - .idx : 레코드 i 의 끝 위치(int)를 i 번째 칸에 저장하는 고정 길이 색인 (0 = 비어 있음)
+ *
+ * 두 파일 모두 세그먼트 크기만큼 미리 매핑해 두고 절대 위치로만 읽고 쓰므로
+ * 쓰기(기록 스레드 1개)와 읽기(기록 조회)가 락 없이 동시에 진행됩니다.
+ * 읽는 쪽은 count(volatile) 이전 레코드만 읽으므로 쓰는 중인 레코드는 보이지 않습니다.
+ */
+class ChatLogSegment implements Closeable {
+
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int INDEX_ENTRY_BYTES = 4;
+    // 색인 칸 수 = 세그먼트 크기 / 64 (JSON 메시지는 64 bytes 보다 작지 않음)
+    private static final int MIN_RECORD_BYTES = 64;
+
+    private final long baseOffset;
+    private final Path logPath;
+    private final Path indexPath;
+    private final FileChannel logChannel;
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer log;
+    private final MappedByteBuffer index;
+    private final int segmentBytes;
+    private final int indexCapacity;
+
+    private volatile int count;
+    private int position;
+
+    // 마지막 fsync 이후 변경된 범위 시작점
+    private int forcedPosition;
+    private int forcedCount;
+
+    private ChatLogSegment(Path dir, long baseOffset, int segmentBytes) throws IOException {
+        this.baseOffset = baseOffset;
+        this.segmentBytes = segmentBytes;
+        this.indexCapacity = segmentBytes / MIN_RECORD_BYTES;
+        this.logPath = dir.resolve(fileName(baseOffset, ".log"));
+        this.indexPath = dir.resolve(fileName(baseOffset, ".idx"));
+
+        this.logChannel = FileChannel.open(logPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.indexChannel = FileChannel.open(indexPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.log = map(logChannel, segmentBytes);
+        this.index = map(indexChannel, (long) indexCapacity * INDEX_ENTRY_BYTES);
+    }
+
+    /**
+     * 세그먼트 열기 (파일이 없으면 생성)
+     *
+     * @param verify 레코드 CRC까지 검사하여 비정상 종료로 잘린 꼬리 레코드를 버릴지 여부 (마지막 세그먼트만)
+     */
+    static ChatLogSegment open(Path dir, long baseOffset, int segmentBytes, boolean verify) throws IOException {
+        ChatLogSegment segment = new ChatLogSegment(dir, baseOffset, segmentBytes);
+        segment.recover(verify);
+        return segment;
+    }
+
+    /**
+     * 파일 이름에서 baseOffset 추출 (세그먼트 파일이 아니면 -1)
+     */
+    static long parseBaseOffset(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(".log")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(0, name.length() - ".log".length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 레코드 추가 (기록 스레드 전용)
+     *
+     * @return 세그먼트에 공간이 없으면 false
+     */
+    boolean append(byte[] payload) {
+        int end = position + RECORD_HEADER_BYTES + payload.length;
+        if (count >= indexCapacity || end > segmentBytes) {
+            return false;
+        }
+        log.putInt(position, payload.length);
+        log.putInt(position + 4, crc(payload));
+        log.put(position + RECORD_HEADER_BYTES, payload);
+        index.putInt(count * INDEX_ENTRY_BYTES, end);
+        position = end;
+        count++; // volatile 쓰기로 레코드 공개
+        return true;
+    }
+
+    /**
+     * 세그먼트 안 i 번째 레코드 본문 (i < size())
+     */
+    byte[] read(int i) {
+        int start = i == 0 ? 0 : index.getInt((i - 1) * INDEX_ENTRY_BYTES);
+        byte[] payload = new byte[log.getInt(start)];
+        log.get(start + RECORD_HEADER_BYTES, payload);
+        return payload;
+    }
+
+    /**
+     * 레코드 하나가 들어갈 수 있는 최대 본문 크기
+     */
+    static int maxPayloadBytes(int segmentBytes) {
+        return segmentBytes - RECORD_HEADER_BYTES;
+    }
+
+    long baseOffset() {
+        return baseOffset;
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * 마지막 fsync 이후 변경된 범위만 디스크에 반영 (기록 스레드 전용)
+     */
+    void flush() {
+        if (count == forcedCount) {
+            return;
+        }
+        log.force(forcedPosition, position - forcedPosition);
+        index.force(forcedCount * INDEX_ENTRY_BYTES, (count - forcedCount) * INDEX_ENTRY_BYTES);
+        forcedPosition = position;
+        forcedCount = count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        logChannel.close();
+        indexChannel.close();
+    }
+
+    /**
+     * 세그먼트 파일 삭제 (보관 개수 초과 시, 이미 매핑된 버퍼로 읽는 중인 요청은 그대로 완료됨)
+     */
+    void delete() throws IOException {
+        logChannel.close();
+        indexChannel.close();
+        Files.deleteIfExists(logPath);
+        Files.deleteIfExists(indexPath);
+    }
+
+    /**
+     * 색인에서 레코드 수와 쓰기 위치 복원
+     * 색인이 가리키는 레코드가 온전하지 않으면(길이/CRC 불일치) 그 레코드부터 버리고 남은 색인 칸을 비움
+     */
+    private void recover(boolean verify) {
+        int valid = 0;
+        int end = 0;
+        while (valid < indexCapacity) {
+            int next = index.getInt(valid * INDEX_ENTRY_BYTES);
+            if (next == 0) {
+                break;
+            }
+            if (verify && !isValidRecord(end, next)) {
+                break;
+            }
+            end = next;
+            valid++;
+        }
+        for (int i = valid; i < indexCapacity && index.getInt(i * INDEX_ENTRY_BYTES) != 0; i++) {
+            index.putInt(i * INDEX_ENTRY_BYTES, 0);
+        }
+
+        count = valid;
+        position = end;
+        forcedCount = valid;
+        forcedPosition = end;
+    }
+
+    private boolean isValidRecord(int start, int end) {
+        if (end <= start + RECORD_HEADER_BYTES || end > segmentBytes) {
+            return false;
+        }
+        int length = log.getInt(start);
+        if (length != end - start - RECORD_HEADER_BYTES) {
+            return false;
+        }
+        byte[] payload = new byte[length];
+        log.get(start + RECORD_HEADER_BYTES, payload);
+        return log.getInt(start + 4) == crc(payload);
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long bytes) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static String fileName(long baseOffset, String extension) {
+        return String.format("%020d%s", baseOffset, extension);
+    }
+}
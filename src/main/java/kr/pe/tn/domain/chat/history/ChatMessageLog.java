@@ -0,0 +1,382 @@
+package kr.pe.tn.domain.chat.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kr.pe.tn.domain.chat.dto.ChatHistoryDTO;
+import kr.pe.tn.domain.chat.dto.ChatMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방별 메시지 로그 (append-only 세그먼트 파일, MySQL 미사용)
+ *
+ * STOMP 핸들러는 append()로 대기열에 넣기만 하고 바로 반환하므로 브로드캐스트가 디스크 쓰기를 기다리지 않습니다.
+ * 전용 기록 스레드 하나가 대기열을 모아서 채팅방 로그에 쓰고,
+ * fsync-batch 개가 쌓이거나 fsync-interval 이 지나면 한 번에 디스크에 반영합니다. (batched fsync)
+ * 대기열이 가득 차면 메시지는 브로드캐스트만 되고 로그에서는 빠집니다. (dropped 지표로 확인)
+ *
+ * 파일 구조: {dir}/{roomId}/{baseOffset}.log + .idx (ChatLogSegment 참고)
+ * 로그 오프셋은 노드마다 다르므로 이전 메시지 조회 커서는 전송 시간을 사용합니다. (history 참고)
+ */
+@Slf4j
+@Component
+public class ChatMessageLog implements MeterBinder, InitializingBean, DisposableBean {
+
+    // 노드마다 로그에 기록되는 순서가 전송 시간 순서와 다를 수 있는 최대 차이 (노드 간 복제 지연)
+    private static final long ORDER_SKEW_MICROS = TimeUnit.SECONDS.toMicros(10);
+
+    // 이전 메시지 조회 시 한 번에 읽는 레코드 수
+    private static final int SCAN_CHUNK = 64;
+
+    private final ObjectMapper objectMapper;
+    private final Path dir;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final long fsyncIntervalNanos;
+    private final int fsyncBatch;
+
+    private final BlockingQueue<Pending> queue;
+    private final ConcurrentHashMap<String, ChatRoomLog> rooms = new ConcurrentHashMap<>();
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong fsyncs = new AtomicLong();
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public ChatMessageLog(
+            ObjectMapper objectMapper,
+            @Value("${chat.log.dir:${user.dir}/data/chat-log}") Path dir,
+            @Value("${chat.log.segment-size:8MB}") DataSize segmentSize,
+            @Value("${chat.log.max-segments:8}") int maxSegments,
+            @Value("${chat.log.queue-capacity:10000}") int queueCapacity,
+            @Value("${chat.log.fsync-interval:200ms}") Duration fsyncInterval,
+            @Value("${chat.log.fsync-batch:256}") int fsyncBatch) {
+        this.objectMapper = objectMapper;
+        this.dir = dir;
+        this.segmentBytes = (int) Math.min(segmentSize.toBytes(), Integer.MAX_VALUE);
+        this.maxSegments = Math.max(1, maxSegments);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        this.fsyncBatch = fsyncBatch;
+    }
+
+    /**
+     * 로그 디렉터리 생성 후 기록 스레드 시작
+     */
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        Files.createDirectories(dir);
+        writer = Thread.ofPlatform().name("chat-log-writer").daemon(true).start(this::runWriter);
+    }
+
+    /**
+     * 메시지 기록 요청 (대기열에 넣고 바로 반환, 대기열이 가득 차면 false)
+     *
+     * @param anonymous true 이면 발신자 ID를 지운 뒤 기록 (익명 채팅방)
+     */
+    public boolean append(String roomId, ChatMessage message, boolean anonymous) {
+        if (!running || !queue.offer(new Pending(roomId, persistentCopy(message, anonymous)))) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 이전 메시지 조회 (전송 시간이 before 보다 이른 메시지를 최신 쪽부터 size 개, 결과는 오래된 순)
+     *
+     * 커서(before, nextBefore)는 메시지를 보낸 노드가 붙인 전송 시간(epoch 마이크로초)이므로
+     * cluster 모드에서 다른 노드에 이어서 조회해도 같은 위치부터 이어집니다. (노드마다 다른 로그 오프셋은 커서로 쓰지 않음)
+     * 전송 시간이 같은 메시지는 한 페이지에 함께 담아 페이지 경계에서 빠지지 않게 합니다.
+     *
+     * @param before null 이면 가장 최근 메시지부터
+     */
+    public ChatHistoryDTO history(String roomId, Long before, int size) {
+        ChatRoomLog roomLog = existingRoom(roomId);
+        if (roomLog == null) {
+            return ChatHistoryDTO.builder().roomId(roomId).messages(List.of()).hasMore(false).build();
+        }
+
+        long cursor = before != null ? before : Long.MAX_VALUE;
+        long start = roomLog.startOffset();
+        long position = before != null
+                ? seek(roomId, roomLog, saturatedAdd(cursor, ORDER_SKEW_MICROS))
+                : roomLog.nextOffset();
+
+        // 로그 순서는 전송 시간 순서와 최대 ORDER_SKEW_MICROS 까지 다를 수 있으므로 그만큼 더 읽고 전송 시간으로 정렬
+        List<ChatMessage> candidates = new ArrayList<>();
+        while (position > start) {
+            List<ChatRoomLog.Record> chunk = roomLog.readBefore(position, SCAN_CHUNK);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            position = chunk.get(0).offset();
+            long newestInChunk = Long.MIN_VALUE;
+            for (ChatRoomLog.Record record : chunk) {
+                ChatMessage message = decode(roomId, record);
+                long sentAt = sentAt(message);
+                newestInChunk = Math.max(newestInChunk, sentAt);
+                if (sentAt < cursor) {
+                    candidates.add(message);
+                }
+            }
+            if (candidates.size() >= size && newestInChunk < oldestOfNewest(candidates, size) - ORDER_SKEW_MICROS) {
+                break;
+            }
+        }
+
+        candidates.sort(Comparator.comparingLong(ChatMessageLog::sentAt));
+        int from = Math.max(0, candidates.size() - size);
+        while (from > 0 && sentAt(candidates.get(from - 1)) == sentAt(candidates.get(from))) {
+            from--;
+        }
+        List<ChatMessage> messages = List.copyOf(candidates.subList(from, candidates.size()));
+
+        boolean hasMore = !messages.isEmpty() && (from > 0 || position > start);
+        return ChatHistoryDTO.builder()
+                .roomId(roomId)
+                .messages(messages)
+                .nextBefore(hasMore ? sentAt(messages.get(0)) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * 전송 시간이 target 이상인 첫 오프셋 (로그는 전송 시간 순서에 가까우므로 이진 탐색, 없으면 nextOffset)
+     */
+    private long seek(String roomId, ChatRoomLog roomLog, long target) {
+        long low = roomLog.startOffset();
+        long high = roomLog.nextOffset();
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            List<ChatRoomLog.Record> records = roomLog.readBefore(mid + 1, 1);
+            if (records.isEmpty() || sentAt(decode(roomId, records.get(0))) < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private ChatMessage decode(String roomId, ChatRoomLog.Record record) {
+        try {
+            ChatMessage message = objectMapper.readValue(record.payload(), ChatMessage.class);
+            message.setOffset(record.offset());
+            return message;
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 로그 메시지를 읽을 수 없습니다: " + roomId + "@" + record.offset(), e);
+        }
+    }
+
+    /**
+     * 전송 시간 (epoch 마이크로초, 조회 커서)
+     */
+    private static long sentAt(ChatMessage message) {
+        LocalDateTime timestamp = message.getTimestamp();
+        if (timestamp == null) {
+            return 0;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+
+    /**
+     * 후보 중 최신 size 개의 가장 이른 전송 시간
+     */
+    private static long oldestOfNewest(List<ChatMessage> candidates, int size) {
+        long[] times = new long[candidates.size()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = sentAt(candidates.get(i));
+        }
+        Arrays.sort(times);
+        return times[times.length - size];
+    }
+
+    private static long saturatedAdd(long value, long delta) {
+        return value > Long.MAX_VALUE - delta ? Long.MAX_VALUE : value + delta;
+    }
+
+    /**
+     * 기록 스레드: 대기열을 모아서 기록하고 조건이 되면 fsync
+     */
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(fsyncBatch);
+        int unflushed = 0;
+        long lastFsync = System.nanoTime();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(fsyncIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, fsyncBatch - 1);
+                    for (Pending pending : batch) {
+                        write(pending);
+                    }
+                    unflushed += batch.size();
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (unflushed > 0 && (unflushed >= fsyncBatch || System.nanoTime() - lastFsync >= fsyncIntervalNanos)) {
+                flushAll();
+                unflushed = 0;
+                lastFsync = System.nanoTime();
+            }
+        }
+        flushAll();
+    }
+
+    private void write(Pending pending) {
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(pending.message());
+            room(pending.roomId()).append(payload);
+            appended.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("채팅 메시지 로그 기록 실패: {}", pending.roomId(), e);
+        }
+    }
+
+    private void flushAll() {
+        for (ChatRoomLog roomLog : rooms.values()) {
+            try {
+                roomLog.flush();
+            } catch (RuntimeException e) {
+                log.error("채팅 메시지 로그 fsync 실패", e);
+            }
+        }
+        fsyncs.incrementAndGet();
+    }
+
+    private ChatRoomLog room(String roomId) {
+        return rooms.computeIfAbsent(roomId, id -> {
+            try {
+                return ChatRoomLog.open(dir.resolve(directoryName(id)), segmentBytes, maxSegments);
+            } catch (IOException e) {
+                throw new UncheckedIOException("채팅 로그를 열 수 없습니다: " + id, e);
+            }
+        });
+    }
+
+    /**
+     * 조회용: 기록된 적 없는 채팅방은 디렉터리를 만들지 않음
+     */
+    private ChatRoomLog existingRoom(String roomId) {
+        ChatRoomLog roomLog = rooms.get(roomId);
+        if (roomLog != null || !Files.isDirectory(dir.resolve(directoryName(roomId)))) {
+            return roomLog;
+        }
+        return room(roomId);
+    }
+
+    /**
+     * 채팅방 ID를 디렉터리 이름으로 변환 (영문/숫자/-/_ 외 문자는 _)
+     */
+    private static String directoryName(String roomId) {
+        return roomId.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    private static ChatMessage persistentCopy(ChatMessage message, boolean anonymous) {
+        return ChatMessage.builder()
+                .type(message.getType())
+                .roomType(message.getRoomType())
+                .roomId(message.getRoomId())
+                .content(message.getContent())
+                .sender(message.getSender())
+                .senderId(anonymous || message.isAnonymous() ? null : message.getSenderId())
+                .timestamp(message.getTimestamp())
+                .isAnonymous(message.isAnonymous())
+                .build();
+    }
+
+    /**
+     * 기록 통계 (대기열 크기, 기록/누락/실패 수, fsync 횟수, 채팅방별 오프셋 범위)
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("appended", appended.get());
+        stats.put("dropped", dropped.get());
+        stats.put("failed", failed.get());
+        stats.put("fsyncs", fsyncs.get());
+        Map<String, Object> offsets = new LinkedHashMap<>();
+        rooms.forEach((roomId, roomLog) -> offsets.put(roomId,
+                Map.of("start", roomLog.startOffset(), "next", roomLog.nextOffset())));
+        stats.put("rooms", offsets);
+        return stats;
+    }
+
+    /**
+     * Micrometer 지표 등록 (대기열 크기, 기록/누락/실패 수, fsync 횟수)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("chat.log.queue.size", queue, BlockingQueue::size)
+                .register(registry);
+        FunctionCounter.builder("chat.log.messages", appended, AtomicLong::get)
+                .tag("result", "appended")
+                .register(registry);
+        FunctionCounter.builder("chat.log.messages", dropped, AtomicLong::get)
+                .tag("result", "dropped")
+                .register(registry);
+        FunctionCounter.builder("chat.log.messages", failed, AtomicLong::get)
+                .tag("result", "failed")
+                .register(registry);
+        FunctionCounter.builder("chat.log.fsyncs", fsyncs, AtomicLong::get)
+                .register(registry);
+    }
+
+    /**
+     * 남은 대기열을 모두 기록하고 파일 닫기
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        for (ChatRoomLog roomLog : rooms.values()) {
+            try {
+                roomLog.close();
+            } catch (IOException e) {
+                log.warn("채팅 로그 닫기 실패", e);
+            }
+        }
+    }
+
+    private record Pending(String roomId, ChatMessage message) {
+    }
+}
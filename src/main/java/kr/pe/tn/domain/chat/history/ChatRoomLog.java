@@ -0,0 +1,174 @@
+package kr.pe.tn.domain.chat.history;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 채팅방 하나의 메시지 로그 (세그먼트 목록, 오래된 순)
+ *
+ * 오프셋은 채팅방마다 0부터 1씩 증가합니다.
+ * 마지막 세그먼트가 가득 차면 다음 오프셋으로 새 세그먼트를 만들고,
+ * 세그먼트 수가 max-segments 를 넘으면 가장 오래된 세그먼트를 삭제합니다.
+ *
+ * 쓰기는 ChatMessageLog 기록 스레드 하나에서만 호출되고,
+ * 읽기는 nextOffset -> segments 순서로 스냅샷을 잡아 락 없이 진행합니다.
+ */
+@Slf4j
+class ChatRoomLog implements Closeable {
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final int maxSegments;
+
+    // 교체만 하는 불변 목록 (읽기 스레드에 안전하게 공개)
+    private volatile List<ChatLogSegment> segments;
+    private volatile long nextOffset;
+
+    private ChatRoomLog(Path dir, int segmentBytes, int maxSegments, List<ChatLogSegment> segments) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        this.segments = segments;
+        ChatLogSegment last = segments.get(segments.size() - 1);
+        this.nextOffset = last.baseOffset() + last.size();
+    }
+
+    /**
+     * 채팅방 로그 열기 (디렉터리의 기존 세그먼트를 이어서 사용, 없으면 오프셋 0부터 시작)
+     */
+    static ChatRoomLog open(Path dir, int segmentBytes, int maxSegments) throws IOException {
+        Files.createDirectories(dir);
+        List<Long> baseOffsets;
+        try (Stream<Path> files = Files.list(dir)) {
+            baseOffsets = files.map(ChatLogSegment::parseBaseOffset)
+                    .filter(offset -> offset >= 0)
+                    .sorted()
+                    .toList();
+        }
+
+        List<ChatLogSegment> segments = new ArrayList<>();
+        if (baseOffsets.isEmpty()) {
+            segments.add(ChatLogSegment.open(dir, 0, segmentBytes, true));
+        }
+        for (int i = 0; i < baseOffsets.size(); i++) {
+            boolean last = i == baseOffsets.size() - 1;
+            segments.add(ChatLogSegment.open(dir, baseOffsets.get(i), segmentBytes, last));
+        }
+        return new ChatRoomLog(dir, segmentBytes, maxSegments, List.copyOf(segments));
+    }
+
+    /**
+     * 메시지 본문 추가 (기록 스레드 전용)
+     *
+     * @return 부여된 오프셋
+     */
+    long append(byte[] payload) throws IOException {
+        if (payload.length > ChatLogSegment.maxPayloadBytes(segmentBytes)) {
+            throw new IllegalArgumentException("메시지가 세그먼트 크기보다 큽니다: " + payload.length + " bytes");
+        }
+
+        ChatLogSegment active = segments.get(segments.size() - 1);
+        if (!active.append(payload)) {
+            active.flush();
+            active = roll();
+            active.append(payload);
+        }
+        return nextOffset++;
+    }
+
+    /**
+     * 새 세그먼트 생성 후 보관 개수를 넘은 오래된 세그먼트 삭제
+     */
+    private ChatLogSegment roll() throws IOException {
+        ChatLogSegment next = ChatLogSegment.open(dir, nextOffset, segmentBytes, true);
+        List<ChatLogSegment> rolled = new ArrayList<>(segments);
+        rolled.add(next);
+
+        List<ChatLogSegment> expired = new ArrayList<>();
+        while (rolled.size() > maxSegments) {
+            expired.add(rolled.remove(0));
+        }
+        segments = List.copyOf(rolled);
+
+        for (ChatLogSegment segment : expired) {
+            segment.delete();
+            log.debug("채팅 로그 세그먼트 삭제: {} (base offset {})", dir.getFileName(), segment.baseOffset());
+        }
+        return next;
+    }
+
+    /**
+     * before 보다 작은 오프셋의 메시지를 최대 limit 개 (오래된 순)
+     */
+    List<Record> readBefore(long before, int limit) {
+        long end = Math.min(before, nextOffset);
+        List<ChatLogSegment> snapshot = segments;
+        long start = Math.max(snapshot.get(0).baseOffset(), end - limit);
+
+        List<Record> records = new ArrayList<>((int) Math.max(0, end - start));
+        int segmentIndex = findSegment(snapshot, start);
+        for (long offset = start; offset < end; offset++) {
+            while (segmentIndex + 1 < snapshot.size() && snapshot.get(segmentIndex + 1).baseOffset() <= offset) {
+                segmentIndex++;
+            }
+            ChatLogSegment segment = snapshot.get(segmentIndex);
+            records.add(new Record(offset, segment.read((int) (offset - segment.baseOffset()))));
+        }
+        return records;
+    }
+
+    /**
+     * 보관 중인 가장 오래된 오프셋
+     */
+    long startOffset() {
+        return segments.get(0).baseOffset();
+    }
+
+    /**
+     * 다음 메시지에 부여될 오프셋
+     */
+    long nextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * 마지막 세그먼트의 변경 내용을 디스크에 반영 (이전 세그먼트는 교체 시점에 반영됨)
+     */
+    void flush() {
+        segments.get(segments.size() - 1).flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ChatLogSegment segment : segments) {
+            segment.close();
+        }
+    }
+
+    private static int findSegment(List<ChatLogSegment> segments, long offset) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segments.get(mid).baseOffset() <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 오프셋과 메시지 본문(JSON)
+     */
+    record Record(long offset, byte[] payload) {
+    }
+}
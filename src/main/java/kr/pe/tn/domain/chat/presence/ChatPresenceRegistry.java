@@ -0,0 +1,346 @@
+package kr.pe.tn.domain.chat.presence;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 채팅 접속자 현황 (사용자 -> 세션 목록, 여러 서버 합산)
+ *
+ * 한 사용자가 여러 탭(세션)으로 접속할 수 있으므로 세션별로 기록하고, 마지막 세션이 끊어질 때 오프라인이 됩니다.
+ * 세션은 STOMP 메시지/heartbeat 를 받을 때마다 갱신되며, session-lease 동안 아무것도 받지 못하면
+ * 연결 해제 이벤트를 놓친 것으로 보고 제거합니다. 제거한 세션은 onSessionExpired 수신자에게 알려
+ * 채팅방 퇴장 처리(참여자 제거, 퇴장 메시지)를 연결 해제와 똑같이 하도록 합니다.
+ *
+ * 다른 서버의 접속자는 서버(노드)별로 따로 보관합니다. (cluster 모드는 ChatClusterPresence, relay 모드는 ChatRelayPresence가 applyRemote/replaceRemote로 반영)
+ * 노드에서 node-lease 동안 아무 소식이 없으면 그 노드의 접속자를 모두 제거합니다.
+ *
+ * 온라인 사용자 목록은 변경 시 다시 만든 읽기 전용 스냅샷을 그대로 반환하므로 조회할 때마다 복사하지 않습니다.
+ * 사용자가 온라인/오프라인으로 바뀔 때만(세션 추가/제거마다가 아니라) 스냅샷을 다시 만들고,
+ * 여러 변경이 몰리면 다음 조회 때 한 번만 만듭니다.
+ */
+@Slf4j
+@Component
+public class ChatPresenceRegistry implements ChannelInterceptor, MeterBinder {
+
+    private final long sessionLeaseNanos;
+    private final long nodeLeaseNanos;
+
+    // sessionId -> 세션 (heartbeat 갱신은 잠금 없이)
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+    // 아래 상태는 this 로 동기화
+    private final Map<String, Set<String>> localUsers = new HashMap<>(); // username -> 이 서버의 sessionId 목록
+    private final Map<String, RemoteNode> remoteNodes = new HashMap<>(); // nodeId -> 다른 서버의 접속자
+    private final Map<String, Integer> nodeCounts = new HashMap<>(); // username -> 접속 중인 서버 수
+
+    private volatile Set<String> snapshot = Set.of();
+    private volatile boolean dirty;
+
+    // 이 서버 사용자의 온라인/오프라인 변경 알림 (클러스터 복제용)
+    private volatile Consumer<Change> localChangeListener = change -> {
+    };
+
+    // session-lease 만료로 제거한 세션 알림 (채팅방 퇴장 처리용)
+    private volatile Consumer<ExpiredSession> sessionExpiredListener = session -> {
+    };
+
+    private final AtomicLong expiredSessions = new AtomicLong();
+    private final AtomicLong expiredNodes = new AtomicLong();
+
+    public ChatPresenceRegistry(
+            @Value("${chat.presence.session-lease:60s}") Duration sessionLease,
+            @Value("${chat.presence.node-lease:30s}") Duration nodeLease) {
+        this.sessionLeaseNanos = sessionLease.toNanos();
+        this.nodeLeaseNanos = nodeLease.toNanos();
+    }
+
+    /**
+     * 세션 접속 (같은 세션이 다른 이름으로 다시 입장하면 이전 이름은 해제)
+     */
+    public synchronized void connect(String username, String roomId, String sessionId) {
+        Session previous = sessions.put(sessionId, new Session(username, roomId, System.nanoTime()));
+        if (previous != null) {
+            if (previous.username.equals(username)) {
+                return;
+            }
+            removeLocalSession(previous.username, sessionId);
+        }
+        Set<String> userSessions = localUsers.computeIfAbsent(username, name -> new HashSet<>());
+        if (userSessions.isEmpty()) {
+            increment(username);
+            localChangeListener.accept(new Change(username, true));
+        }
+        userSessions.add(sessionId);
+    }
+
+    /**
+     * 세션 해제 (사용자의 마지막 세션이면 오프라인)
+     *
+     * @return 접속 중인 세션이었는지 (이미 해제했거나 lease 만료로 제거한 세션이면 false)
+     */
+    public synchronized boolean disconnect(String sessionId) {
+        Session session = sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        removeLocalSession(session.username, sessionId);
+        return true;
+    }
+
+    /**
+     * 세션 활동 기록 (heartbeat, 메시지 수신)
+     */
+    public void touch(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session != null) {
+            session.lastSeen = System.nanoTime();
+        }
+    }
+
+    /**
+     * clientInboundChannel 로 들어오는 모든 STOMP 프레임(heartbeat 포함)으로 세션 갱신
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null) {
+            touch(sessionId);
+        }
+        return message;
+    }
+
+    /**
+     * 온라인 여부 (어느 서버든 세션이 하나라도 있으면 온라인)
+     */
+    public boolean isOnline(String username) {
+        return onlineUsers().contains(username);
+    }
+
+    /**
+     * 전체 서버의 온라인 사용자 (읽기 전용 스냅샷)
+     */
+    public Set<String> onlineUsers() {
+        if (dirty) {
+            synchronized (this) {
+                if (dirty) {
+                    snapshot = Set.copyOf(nodeCounts.keySet());
+                    dirty = false;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 이 서버에 접속한 사용자 (클러스터 동기화용)
+     */
+    public synchronized Set<String> localUsers() {
+        return Set.copyOf(localUsers.keySet());
+    }
+
+    /**
+     * 이 서버 사용자의 온라인/오프라인 변경 수신자 등록 (변경 순서대로, 잠금 안에서 호출되므로 바로 반환해야 함)
+     */
+    public void onLocalChange(Consumer<Change> listener) {
+        this.localChangeListener = listener;
+    }
+
+    /**
+     * session-lease 만료로 제거한 세션 수신자 등록 (만료 검사 스레드에서 잠금 밖에서 호출)
+     */
+    public void onSessionExpired(Consumer<ExpiredSession> listener) {
+        this.sessionExpiredListener = listener;
+    }
+
+    /**
+     * 다른 서버의 접속자 변경 반영
+     */
+    public synchronized void applyRemote(String nodeId, String username, boolean online) {
+        RemoteNode node = remoteNode(nodeId);
+        if (online ? node.users.add(username) : node.users.remove(username)) {
+            if (online) {
+                increment(username);
+            } else {
+                decrement(username);
+            }
+        }
+    }
+
+    /**
+     * 다른 서버의 접속자 전체 목록으로 교체 (주기적 동기화, 놓친 변경 복구)
+     */
+    public synchronized void replaceRemote(String nodeId, Set<String> users) {
+        RemoteNode node = remoteNode(nodeId);
+        for (Iterator<String> it = node.users.iterator(); it.hasNext(); ) {
+            String username = it.next();
+            if (!users.contains(username)) {
+                it.remove();
+                decrement(username);
+            }
+        }
+        for (String username : users) {
+            if (node.users.add(username)) {
+                increment(username);
+            }
+        }
+    }
+
+    /**
+     * 처음 소식을 받는 노드인지 (새 노드에는 바로 전체 목록을 보내기 위해)
+     */
+    public synchronized boolean isKnownNode(String nodeId) {
+        return remoteNodes.containsKey(nodeId);
+    }
+
+    /**
+     * session-lease 동안 활동이 없는 세션과 node-lease 동안 소식이 없는 노드 제거
+     * 제거한 세션은 잠금을 푼 뒤 onSessionExpired 수신자에게 알림 (퇴장 메시지 전송이 접속자 현황을 잠그지 않도록)
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.sweep-interval:10s}")
+    public void expire() {
+        for (ExpiredSession session : sweep()) {
+            try {
+                sessionExpiredListener.accept(session);
+            } catch (RuntimeException e) {
+                log.warn("만료된 채팅 세션 퇴장 처리 실패: {} ({})", session.username(), session.sessionId(), e);
+            }
+        }
+    }
+
+    private synchronized List<ExpiredSession> sweep() {
+        long now = System.nanoTime();
+        List<ExpiredSession> expired = new ArrayList<>();
+        for (Iterator<Map.Entry<String, Session>> it = sessions.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Session> entry = it.next();
+            Session session = entry.getValue();
+            if (now - session.lastSeen > sessionLeaseNanos) {
+                it.remove();
+                removeLocalSession(session.username, entry.getKey());
+                expired.add(new ExpiredSession(session.username, session.roomId, entry.getKey()));
+                expiredSessions.incrementAndGet();
+                log.info("응답 없는 채팅 세션 제거: {} ({})", session.username, entry.getKey());
+            }
+        }
+        for (Iterator<Map.Entry<String, RemoteNode>> it = remoteNodes.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, RemoteNode> entry = it.next();
+            if (now - entry.getValue().lastSeen > nodeLeaseNanos) {
+                it.remove();
+                entry.getValue().users.forEach(this::decrement);
+                expiredNodes.incrementAndGet();
+                log.info("응답 없는 채팅 서버 접속자 제거: {} ({} 명)", entry.getKey(), entry.getValue().users.size());
+            }
+        }
+        return expired;
+    }
+
+    private void removeLocalSession(String username, String sessionId) {
+        Set<String> userSessions = localUsers.get(username);
+        if (userSessions != null && userSessions.remove(sessionId) && userSessions.isEmpty()) {
+            localUsers.remove(username);
+            decrement(username);
+            localChangeListener.accept(new Change(username, false));
+        }
+    }
+
+    private RemoteNode remoteNode(String nodeId) {
+        RemoteNode node = remoteNodes.computeIfAbsent(nodeId, id -> new RemoteNode());
+        node.lastSeen = System.nanoTime();
+        return node;
+    }
+
+    private void increment(String username) {
+        if (nodeCounts.merge(username, 1, Integer::sum) == 1) {
+            dirty = true;
+        }
+    }
+
+    private void decrement(String username) {
+        if (nodeCounts.computeIfPresent(username, (name, count) -> count > 1 ? count - 1 : null) == null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Micrometer 지표 등록 (세션 수, 이 서버/전체 온라인 사용자 수, 다른 서버 수, lease 만료 수)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("chat.presence.sessions", sessions, Map::size)
+                .register(registry);
+        Gauge.builder("chat.presence.users", this, ChatPresenceRegistry::localUserCount)
+                .tag("scope", "local")
+                .register(registry);
+        Gauge.builder("chat.presence.users", this, presence -> presence.onlineUsers().size())
+                .tag("scope", "cluster")
+                .register(registry);
+        Gauge.builder("chat.presence.nodes", this, ChatPresenceRegistry::remoteNodeCount)
+                .register(registry);
+        FunctionCounter.builder("chat.presence.expired", expiredSessions, AtomicLong::get)
+                .tag("kind", "session")
+                .register(registry);
+        FunctionCounter.builder("chat.presence.expired", expiredNodes, AtomicLong::get)
+                .tag("kind", "node")
+                .register(registry);
+    }
+
+    private synchronized int localUserCount() {
+        return localUsers.size();
+    }
+
+    private synchronized int remoteNodeCount() {
+        return remoteNodes.size();
+    }
+
+    /**
+     * 이 서버 사용자의 온라인/오프라인 변경
+     */
+    public record Change(String username, boolean online) {
+    }
+
+    /**
+     * session-lease 만료로 제거한 세션 (입장했던 채팅방)
+     */
+    public record ExpiredSession(String username, String roomId, String sessionId) {
+    }
+
+    private static final class Session {
+
+        private final String username;
+        private final String roomId;
+        private volatile long lastSeen;
+
+        private Session(String username, String roomId, long lastSeen) {
+            this.username = username;
+            this.roomId = roomId;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    private static final class RemoteNode {
+
+        private final Set<String> users = new HashSet<>();
+        private long lastSeen;
+    }
+}
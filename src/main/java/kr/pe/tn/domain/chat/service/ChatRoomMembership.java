@@ -0,0 +1,138 @@
+package kr.pe.tn.domain.chat.service;
+
+import kr.pe.tn.domain.chat.dto.ChatMessage;
+import kr.pe.tn.domain.chat.dto.ChatRoom;
+import lombok.Getter;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방 참여자 (여러 STOMP 스레드에서 동시에 입장/퇴장)
+ *
+ * 참여자는 username -> 세션 목록으로 보관하며, ConcurrentHashMap.compute 가 사용자별(해시 bin)로만 잠그므로
+ * 전체 채팅방에 입장/퇴장이 몰려도 채팅방 전체를 잠그지 않습니다.
+ * 한 사용자가 여러 탭으로 입장하면 마지막 세션이 나갈 때 참여자 목록에서 빠집니다.
+ *
+ * 인원 수는 참여자가 추가/제거될 때 AtomicInteger로 함께 갱신하므로 바로 조회할 수 있고,
+ * REST 응답용 ChatRoom 은 변경 후 처음 조회할 때 만든 읽기 전용 스냅샷을 재사용합니다.
+ */
+final class ChatRoomMembership {
+
+    @Getter
+    private final String roomId;
+    @Getter
+    private final String roomName;
+    @Getter
+    private final ChatMessage.RoomType roomType;
+
+    private final ConcurrentHashMap<String, Set<String>> members = new ConcurrentHashMap<>();
+    private final AtomicInteger userCount = new AtomicInteger();
+
+    // 변경 횟수 (스냅샷이 최신인지 확인)
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    private ChatRoomMembership(String roomId, String roomName, ChatMessage.RoomType roomType) {
+        this.roomId = roomId;
+        this.roomName = roomName;
+        this.roomType = roomType;
+    }
+
+    /**
+     * 전체 채팅방
+     */
+    static ChatRoomMembership publicRoom() {
+        return new ChatRoomMembership("public", "전체 채팅", ChatMessage.RoomType.PUBLIC);
+    }
+
+    /**
+     * 익명 채팅방
+     */
+    static ChatRoomMembership anonymousRoom() {
+        return new ChatRoomMembership("anonymous", "익명 채팅", ChatMessage.RoomType.ANONYMOUS);
+    }
+
+    /**
+     * 1:1 채팅방 (두 사용자를 참여자로 등록)
+     */
+    static ChatRoomMembership privateRoom(String roomId, String user1, String user2) {
+        ChatRoomMembership room = new ChatRoomMembership(roomId, user1 + " & " + user2, ChatMessage.RoomType.PRIVATE);
+        room.members.put(user1, Set.of());
+        room.members.put(user2, Set.of());
+        room.userCount.set(room.members.size());
+        return room;
+    }
+
+    /**
+     * 세션 입장 (새 참여자이면 인원 수 증가)
+     */
+    void join(String username, String sessionId) {
+        members.compute(username, (name, sessions) -> {
+            if (sessions == null) {
+                userCount.incrementAndGet();
+                return Set.of(sessionId);
+            }
+            if (sessions.contains(sessionId)) {
+                return sessions;
+            }
+            Set<String> updated = new HashSet<>(sessions);
+            updated.add(sessionId);
+            return Set.copyOf(updated);
+        });
+        version.incrementAndGet();
+    }
+
+    /**
+     * 세션 퇴장 (사용자의 마지막 세션이면 참여자에서 제거)
+     */
+    void leave(String username, String sessionId) {
+        members.computeIfPresent(username, (name, sessions) -> {
+            if (!sessions.contains(sessionId) && !sessions.isEmpty()) {
+                return sessions;
+            }
+            if (sessions.size() <= 1) {
+                userCount.decrementAndGet();
+                return null;
+            }
+            Set<String> updated = new HashSet<>(sessions);
+            updated.remove(sessionId);
+            return Set.copyOf(updated);
+        });
+        version.incrementAndGet();
+    }
+
+    /**
+     * 현재 인원 (O(1))
+     */
+    int userCount() {
+        return userCount.get();
+    }
+
+    /**
+     * REST 응답용 읽기 전용 스냅샷 (변경이 없으면 이전 스냅샷 재사용)
+     */
+    ChatRoom snapshot() {
+        long current = version.get();
+        Snapshot cached = snapshot;
+        if (cached != null && cached.version == current) {
+            return cached.room;
+        }
+        Set<String> participants = Set.copyOf(members.keySet());
+        ChatRoom room = ChatRoom.builder()
+                .roomId(roomId)
+                .roomName(roomName)
+                .roomType(roomType)
+                .participants(participants)
+                .userCount(participants.size())
+                .build();
+        snapshot = new Snapshot(current, room);
+        return room;
+    }
+
+    private record Snapshot(long version, ChatRoom room) {
+    }
+}
@@ -1,7 +1,10 @@
 package kr.pe.tn.domain.chat.service;
 
+import kr.pe.tn.domain.chat.dto.ChatHistoryDTO;
 import kr.pe.tn.domain.chat.dto.ChatMessage;
 import kr.pe.tn.domain.chat.dto.ChatRoom;
+import kr.pe.tn.domain.chat.history.ChatMessageLog;
+import kr.pe.tn.domain.chat.presence.ChatPresenceRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -11,35 +14,49 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * 채팅 서비스
  * 채팅방 및 메시지 관리
+ * 전체/익명 채팅방 메시지는 ChatMessageLog에 기록하여 나중에 입장한 사용자도 이전 메시지를 볼 수 있습니다.
+ * 접속자 현황(귓속말 대상 확인, 온라인 사용자 목록)은 ChatPresenceRegistry가 세션 단위로 관리합니다.
+ * 여러 서버로 실행하면 접속자 현황을 cluster 모드는 ChatClusterPresence, relay 모드는 ChatRelayPresence가 서버끼리 복제합니다.
  */
 @Slf4j
 @Service
 public class ChatService {
 
-    // 채팅방 저장소 (메모리 기반)
-    private final Map<String, ChatRoom> chatRooms = new ConcurrentHashMap<>();
+    // 채팅방 저장소 (메모리 기반, 참여자 변경은 채팅방별로 동시 처리)
+    private final Map<String, ChatRoomMembership> chatRooms = new ConcurrentHashMap<>();
 
-    // 사용자별 세션 정보 (username -> sessionId)
-    private final Map<String, String> userSessions = new ConcurrentHashMap<>();
+    // 채팅방별 메시지 로그 (파일 기반)
+    private final ChatMessageLog chatMessageLog;
+
+    // 접속자 현황 (username -> 세션 목록, cluster/relay 모드에서는 전체 서버 합산)
+    private final ChatPresenceRegistry presenceRegistry;
+
+    public ChatService(ChatMessageLog chatMessageLog, ChatPresenceRegistry presenceRegistry) {
+        this.chatMessageLog = chatMessageLog;
+        this.presenceRegistry = presenceRegistry;
 
-    public ChatService() {
         // 기본 채팅방 생성
-        chatRooms.put("public", ChatRoom.createPublicRoom());
-        chatRooms.put("anonymous", ChatRoom.createAnonymousRoom());
+        chatRooms.put("public", ChatRoomMembership.publicRoom());
+        chatRooms.put("anonymous", ChatRoomMembership.anonymousRoom());
     }
 
     /**
-     * 모든 채팅방 조회
+     * 모든 채팅방 조회 (채팅방별 읽기 전용 스냅샷)
      */
     public List<ChatRoom> getAllRooms() {
-        return new ArrayList<>(chatRooms.values());
+        List<ChatRoom> rooms = new ArrayList<>(chatRooms.size());
+        for (ChatRoomMembership room : chatRooms.values()) {
+            rooms.add(room.snapshot());
+        }
+        return rooms;
     }
 
     /**
-     * 채팅방 조회
+     * 채팅방 조회 (읽기 전용 스냅샷, 없으면 null)
      */
     public ChatRoom getRoom(String roomId) {
-        return chatRooms.get(roomId);
+        ChatRoomMembership room = chatRooms.get(roomId);
+        return room != null ? room.snapshot() : null;
     }
 
     /**
@@ -50,48 +67,86 @@ public class ChatService {
 
         return chatRooms.computeIfAbsent(roomId, k -> {
             log.info("새로운 1:1 채팅방 생성: {} <-> {}", user1, user2);
-            return ChatRoom.createPrivateRoom(user1, user2);
-        });
+            return ChatRoomMembership.privateRoom(roomId, user1, user2);
+        }).snapshot();
     }
 
     /**
      * 사용자 입장 처리
      */
     public void addUser(String roomId, String username, String sessionId) {
-        ChatRoom room = chatRooms.get(roomId);
+        ChatRoomMembership room = chatRooms.get(roomId);
         if (room != null) {
-            room.addUser(username);
-            userSessions.put(username, sessionId);
+            room.join(username, sessionId);
+            presenceRegistry.connect(username, roomId, sessionId);
             log.info("사용자 입장: {} -> 채팅방: {} (현재 인원: {})",
-                    username, room.getRoomName(), room.getUserCount());
+                    username, room.getRoomName(), room.userCount());
         }
     }
 
     /**
      * 사용자 퇴장 처리
+     *
+     * @return 접속 중인 세션이었는지 (lease 만료로 이미 퇴장 처리한 세션이면 false, 퇴장 메시지를 다시 보내지 않기 위해)
      */
-    public void removeUser(String roomId, String username) {
-        ChatRoom room = chatRooms.get(roomId);
+    public boolean removeUser(String roomId, String username, String sessionId) {
+        boolean connected = presenceRegistry.disconnect(sessionId);
+        leaveRoom(roomId, username, sessionId);
+        return connected;
+    }
+
+    /**
+     * 채팅방 참여자에서만 제거 (접속자 현황에서 이미 제거한 세션, lease 만료)
+     */
+    public void leaveRoom(String roomId, String username, String sessionId) {
+        ChatRoomMembership room = chatRooms.get(roomId);
         if (room != null) {
-            room.removeUser(username);
-            userSessions.remove(username);
+            room.leave(username, sessionId);
             log.info("사용자 퇴장: {} <- 채팅방: {} (현재 인원: {})",
-                    username, room.getRoomName(), room.getUserCount());
+                    username, room.getRoomName(), room.userCount());
         }
     }
 
     /**
-     * 귓속말 대상 확인
+     * 브로드캐스트한 메시지를 채팅방 로그에 기록 (비동기, 1:1 채팅방과 없는 채팅방은 기록하지 않음)
+     */
+    public void recordMessage(String roomId, ChatMessage message) {
+        if (isLoggedRoom(roomId)) {
+            ChatRoomMembership room = chatRooms.get(roomId);
+            chatMessageLog.append(roomId, message, room.getRoomType() == ChatMessage.RoomType.ANONYMOUS);
+        }
+    }
+
+    /**
+     * 채팅방 이전 메시지 조회 (전송 시간이 before 커서보다 이른 메시지를 최신 쪽부터 size 개)
+     */
+    public ChatHistoryDTO getHistory(String roomId, Long before, int size) {
+        if (!isLoggedRoom(roomId)) {
+            throw new NoSuchElementException("채팅방을 찾을 수 없습니다: " + roomId);
+        }
+        return chatMessageLog.history(roomId, before, size);
+    }
+
+    /**
+     * 메시지 로그 기록 대상 채팅방 여부 (전체/익명 채팅방)
+     */
+    public boolean isLoggedRoom(String roomId) {
+        ChatRoomMembership room = chatRooms.get(roomId);
+        return room != null && room.getRoomType() != ChatMessage.RoomType.PRIVATE;
+    }
+
+    /**
+     * 귓속말 대상 확인 (다른 서버에 접속한 사용자 포함)
      */
     public boolean isUserOnline(String username) {
-        return userSessions.containsKey(username);
+        return presenceRegistry.isOnline(username);
     }
 
     /**
-     * 온라인 사용자 목록 조회
+     * 온라인 사용자 목록 조회 (읽기 전용 스냅샷, 전체 서버)
      */
     public Set<String> getOnlineUsers() {
-        return new HashSet<>(userSessions.keySet());
+        return presenceRegistry.onlineUsers();
     }
 
     /**
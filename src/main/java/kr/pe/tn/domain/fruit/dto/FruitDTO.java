@@ -3,6 +3,8 @@ package kr.pe.tn.domain.fruit.dto;
 import kr.pe.tn.domain.fruit.entity.Fruit;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 /**
  * 과일 정보 DTO
  */
@@ -40,6 +42,35 @@ public class FruitDTO {
         }
     }
 
+    /**
+     * 과일 목록 projection (설명 제외, 목록 조회 시 필요한 컬럼만 SELECT)
+     */
+    public interface Summary {
+        Long getId();
+
+        String getName();
+
+        String getEnglishName();
+
+        String getBenefits();
+
+        String getSeason();
+
+        String getOrigin();
+    }
+
+    /**
+     * 과일 카탈로그 저장 상태 projection (과일 수, 가장 큰 id, 가장 최근 저장 시각)
+     * 모든 서버가 같은 DB 상태에서 같은 값을 얻으므로 ETag 버전으로 사용
+     */
+    public interface CatalogState {
+        long getFruitCount();
+
+        Long getMaxId();
+
+        LocalDateTime getLastModified();
+    }
+
     /**
      * RAG 질문 요청 DTO
      */
@@ -49,6 +80,8 @@ public class FruitDTO {
     @AllArgsConstructor
     public static class QuestionRequest {
         private String question; // 사용자 질문 (예: "비타민C가 많은 과일은?")
+        private String sessionId; // 대화 세션 id (이전 응답의 sessionId, 첫 질문이면 생략)
+        private boolean conversation; // 후속 질문을 이어갈 대화 세션 발급 요청 (false 이고 sessionId도 없으면 일회용 질문)
     }
 
     /**
@@ -63,5 +96,24 @@ public class FruitDTO {
         private String question; // 원본 질문
         private String answer; // Gemini AI가 생성한 답변
         private java.util.List<Response> relatedFruits; // 검색된 관련 과일 목록
+        private String sessionId; // 대화 세션 id (후속 질문 시 그대로 전달, 일회용 질문이면 null)
+        private boolean degraded; // AI 대신 검색 결과/오류 안내로 답변했는지 여부
+    }
+
+    /**
+     * 과일 일괄 등록 결과 DTO
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkImportResponse {
+        private String format; // 파일 형식 (JSONL, CSV, MARKDOWN)
+        private long read; // 읽은 레코드 수
+        private long inserted; // 저장된 과일 수
+        private long skipped; // 건너뛴 레코드 수 (형식 오류, 필수값 누락, 중복)
+        private java.util.List<String> errors; // 건너뛴 사유 (최대 20건)
+        private long elapsedMillis; // 처리 시간
     }
 }
@@ -2,6 +2,10 @@ package kr.pe.tn.domain.fruit.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
 
 /**
  * 과일 정보 엔티티
@@ -13,6 +17,7 @@ import lombok.*;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
+@EntityListeners(AuditingEntityListener.class)
 public class Fruit {
 
     @Id
@@ -39,4 +44,7 @@ public class Fruit {
 
     @Column(length = 50)
     private String origin; // 원산지 (예: 한국, 열대 지방)
+
+    @LastModifiedDate
+    private LocalDateTime modDate; // 마지막 저장 시각 (카탈로그 버전/ETag 계산용)
 }
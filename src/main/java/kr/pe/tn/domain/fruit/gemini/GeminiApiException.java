@@ -0,0 +1,23 @@
+package kr.pe.tn.domain.fruit.gemini;
+
+import lombok.Getter;
+
+/**
+ * Gemini API 호출 실패 예외
+ * 응답 상태 코드가 200이 아니거나 네트워크 오류가 발생한 경우 사용
+ */
+@Getter
+public class GeminiApiException extends RuntimeException {
+
+    private final int statusCode; // HTTP 상태 코드 (네트워크 오류 등 응답이 없으면 0)
+
+    public GeminiApiException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public GeminiApiException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = 0;
+    }
+}
@@ -0,0 +1,224 @@
+package kr.pe.tn.domain.fruit.gemini;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gemini 호출 회로 차단기 (Circuit Breaker)
+ *
+ * 상태:
+ * - CLOSED : 정상 호출. 연속 실패(failure-threshold) 또는 연속 지연(slow-call-count)이 쌓이면 OPEN
+ * - OPEN : 호출하지 않고 즉시 GeminiCircuitOpenException. open-duration 이후 GeminiCircuitProbe가 상태 확인
+ * - HALF_OPEN : 확인 성공 후 실제 호출 1건만 허용, 성공하면 CLOSED / 실패하면 다시 OPEN
+ *
+ * 상태 코드 0(네트워크 오류, 시간 초과)과 5xx만 실패로 집계하며,
+ * 4xx와 로컬 호출 한도 초과는 Gemini 장애가 아니므로 집계하지 않습니다.
+ */
+@Slf4j
+@Component
+public class GeminiCircuitBreaker implements MeterBinder {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final int slowCallCount;
+    private final long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private int consecutiveSlowCalls = 0;
+    private long openedAt = 0L;
+    private boolean trialInFlight = false;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong opened = new AtomicLong();
+
+    public GeminiCircuitBreaker(
+            @Value("${gemini.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${gemini.circuit.slow-call-threshold:10s}") Duration slowCallThreshold,
+            @Value("${gemini.circuit.slow-call-count:3}") int slowCallCount,
+            @Value("${gemini.circuit.open-duration:30s}") Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.slowCallCount = slowCallCount;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    /**
+     * 호출 시작 (회로가 열려 있으면 즉시 거절)
+     *
+     * @return 호출 결과를 한 번만 기록하는 핸들
+     * @throws GeminiCircuitOpenException 회로 열림, 또는 HALF_OPEN에서 이미 시험 호출이 진행 중
+     */
+    public synchronized Call begin() {
+        if (state == State.OPEN || (state == State.HALF_OPEN && trialInFlight)) {
+            rejected.incrementAndGet();
+            throw new GeminiCircuitOpenException("AI 서비스가 일시적으로 응답하지 않습니다.");
+        }
+        if (state == State.HALF_OPEN) {
+            trialInFlight = true;
+        }
+        return new Call(System.nanoTime());
+    }
+
+    /**
+     * 백그라운드 상태 확인이 필요한지 (OPEN 상태로 open-duration이 지났을 때)
+     */
+    public synchronized boolean isProbeDue() {
+        return state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos;
+    }
+
+    /**
+     * 백그라운드 상태 확인 결과 반영 (성공 시 HALF_OPEN으로 전환하여 실제 호출 1건 시험)
+     */
+    public synchronized void onProbeResult(boolean healthy) {
+        if (state != State.OPEN) {
+            return;
+        }
+        if (healthy) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+            log.info("Gemini 상태 확인 성공: 회로 HALF_OPEN 전환");
+        } else {
+            log.debug("Gemini 상태 확인 실패: 회로 OPEN 유지");
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * 회로 상태 통계 (상태, 연속 실패/지연 수, 열린 횟수, 거절 수)
+     */
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state.name());
+        stats.put("consecutiveFailures", consecutiveFailures);
+        stats.put("consecutiveSlowCalls", consecutiveSlowCalls);
+        stats.put("opened", opened.get());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    /**
+     * Micrometer 지표 등록 (상태: 0 CLOSED / 1 HALF_OPEN / 2 OPEN, 열린 횟수, 거절 수)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("gemini.circuit.state", this, breaker -> switch (breaker.state()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .description("Gemini 회로 상태 (0 CLOSED, 1 HALF_OPEN, 2 OPEN)")
+                .register(registry);
+        FunctionCounter.builder("gemini.circuit.opened", opened, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("gemini.circuit.rejected", rejected, AtomicLong::get)
+                .register(registry);
+    }
+
+    private synchronized void recordSuccess(long elapsedNanos) {
+        consecutiveFailures = 0;
+        consecutiveSlowCalls = elapsedNanos >= slowCallNanos ? consecutiveSlowCalls + 1 : 0;
+
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            if (consecutiveSlowCalls == 0) {
+                state = State.CLOSED;
+                log.info("Gemini 시험 호출 성공: 회로 CLOSED 전환");
+                return;
+            }
+            open("시험 호출 지연");
+            return;
+        }
+        if (consecutiveSlowCalls >= slowCallCount) {
+            open("연속 지연 " + consecutiveSlowCalls + "회");
+        }
+    }
+
+    private synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            open("시험 호출 실패");
+            return;
+        }
+        if (consecutiveFailures >= failureThreshold) {
+            open("연속 실패 " + consecutiveFailures + "회");
+        }
+    }
+
+    private synchronized void recordIgnored() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false; // 판정하지 못했으므로 다음 호출로 다시 시험
+        }
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        consecutiveFailures = 0;
+        consecutiveSlowCalls = 0;
+        opened.incrementAndGet();
+        log.warn("Gemini 회로 OPEN 전환 ({})", reason);
+    }
+
+    /**
+     * 호출 한 건의 결과 기록 핸들 (첫 번째 기록만 반영)
+     */
+    public class Call {
+
+        private final long startedAt;
+        private boolean recorded = false;
+
+        private Call(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        public void success() {
+            if (!recorded) {
+                recorded = true;
+                recordSuccess(System.nanoTime() - startedAt);
+            }
+        }
+
+        /**
+         * 실패 기록 (Gemini 장애로 볼 수 있는 오류만 실패로 집계)
+         */
+        public void failure(GeminiApiException e) {
+            if (recorded) {
+                return;
+            }
+            recorded = true;
+            boolean upstreamFailure = !(e instanceof GeminiRateLimitException)
+                    && (e.getStatusCode() == 0 || e.getStatusCode() >= 500);
+            if (upstreamFailure) {
+                recordFailure();
+            } else {
+                recordIgnored();
+            }
+        }
+
+        public void ignore() {
+            if (!recorded) {
+                recorded = true;
+                recordIgnored();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package kr.pe.tn.domain.fruit.gemini;
+
+/**
+ * Gemini 회로 차단 예외
+ * 연속 실패/지연으로 회로가 열려 있어 Gemini를 호출하지 않고 즉시 거절한 경우
+ */
+public class GeminiCircuitOpenException extends GeminiApiException {
+
+    public GeminiCircuitOpenException(String message) {
+        super(503, message);
+    }
+}
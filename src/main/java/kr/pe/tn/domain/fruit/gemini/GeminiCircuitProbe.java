@@ -0,0 +1,27 @@
+package kr.pe.tn.domain.fruit.gemini;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회로가 열려 있는 동안 Gemini 복구 여부를 주기적으로 확인
+ * 생성 호출 대신 모델 정보 조회(GET models/{model})로 확인하므로 생성 호출 한도(RPM/RPD)를 소모하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiCircuitProbe {
+
+    private final GeminiCircuitBreaker circuitBreaker;
+    private final GeminiClient geminiClient;
+
+    @Scheduled(fixedDelayString = "${gemini.circuit.probe-interval:10s}")
+    public void probe() {
+        if (!circuitBreaker.isProbeDue() || !geminiClient.isConfigured()) {
+            return;
+        }
+        circuitBreaker.onProbeResult(geminiClient.probe());
+    }
+}
@@ -0,0 +1,332 @@
+package kr.pe.tn.domain.fruit.gemini;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Gemini API 클라이언트
+ *
+ * 공유 HttpClient(geminiHttpClient)로 generateContent(비동기) / streamGenerateContent를 호출합니다.
+ * 모든 호출은 GeminiCircuitBreaker(회로 열림 시 즉시 거절)와 GeminiRateLimiter의 허가를 받은 뒤에만 전송됩니다.
+ * base URL을 설정으로 바꿀 수 있어 테스트/벤치마크 시 로컬 stub 서버로 대체 가능합니다.
+ *
+ * 지표: gemini.requests (호출 시간, operation/status 태그), gemini.response.parse (응답 본문 수신 + JSON 파싱 시간)
+ */
+@Slf4j
+@Component
+public class GeminiClient {
+
+    // 응답을 받지 못한 호출(네트워크 오류, 시간 초과)의 status 태그
+    private static final String IO_ERROR = "IO_ERROR";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final GeminiRateLimiter rateLimiter;
+    private final GeminiCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Timer parseTimer;
+    private final String apiKey;
+    private final URI modelUri;
+    private final URI generateContentUri;
+    private final URI streamGenerateContentUri;
+    private final Duration requestTimeout;
+
+    public GeminiClient(
+            @Qualifier("geminiHttpClient") HttpClient httpClient,
+            ObjectMapper objectMapper,
+            GeminiRateLimiter rateLimiter,
+            GeminiCircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${gemini.api.key}") String apiKey,
+            @Value("${gemini.api.base-url:https://generativelanguage.googleapis.com}") String baseUrl,
+            @Value("${gemini.api.model:gemini-2.5-flash-lite}") String model,
+            @Value("${gemini.api.request-timeout:30s}") Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.parseTimer = Timer.builder("gemini.response.parse")
+                .description("Gemini 응답 본문 수신 및 JSON 역직렬화 시간")
+                .register(meterRegistry);
+        this.apiKey = apiKey;
+
+        String modelUrl = stripTrailingSlash(baseUrl) + "/v1/models/" + model;
+        this.modelUri = URI.create(modelUrl);
+        this.generateContentUri = URI.create(modelUrl + ":generateContent");
+        this.streamGenerateContentUri = URI.create(modelUrl + ":streamGenerateContent?alt=sse");
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * API 키 설정 여부
+     */
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isEmpty() && !apiKey.startsWith("${");
+    }
+
+    /**
+     * generateContent 비동기 호출 (HttpClient.sendAsync)
+     * 요청 DTO는 공유 ObjectMapper로 바이트 배열에 바로 직렬화하고, 응답은 헤더 도착 후 본문 스트림에서 바로 역직렬화
+     * (본문을 바이트 배열로 복사하지 않음, 오류 응답만 본문 전체를 읽어 로그로 남김)
+     * 호출 한도 대기는 호출한 스레드에서, 응답 수신/파싱은 HttpClient Executor(가상 스레드)에서 진행
+     *
+     * @param request 요청 DTO
+     * @return 응답 DTO (상태 코드 200), 실패 시 GeminiApiException으로 완료
+     * @throws GeminiRateLimitException   호출 한도 초과 (로컬 한도, 즉시 발생)
+     * @throws GeminiCircuitOpenException 회로 열림 (Gemini 장애로 호출하지 않음, 즉시 발생)
+     */
+    public CompletableFuture<GeminiDTO.Response> generateContentAsync(GeminiDTO.Request request) {
+        byte[] body = serialize(request);
+        HttpRequest httpRequest = newRequest(generateContentUri, body);
+
+        GeminiCircuitBreaker.Call call = circuitBreaker.begin();
+        GeminiRateLimiter.Permit permit;
+        try {
+            permit = rateLimiter.acquire(estimateTokens(body));
+        } catch (GeminiApiException e) {
+            call.failure(e);
+            throw e;
+        }
+
+        long started = System.nanoTime();
+        return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofInputStream())
+                .handle((response, error) -> {
+                    String status = response != null ? String.valueOf(response.statusCode()) : IO_ERROR;
+                    try {
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause()
+                                    : error;
+                            throw new GeminiApiException("Gemini API 통신 오류: " + cause.getMessage(), cause);
+                        }
+                        GeminiDTO.Response result = readResponse(response);
+                        call.success();
+                        return result;
+                    } catch (GeminiApiException e) {
+                        call.failure(e);
+                        throw e;
+                    } finally {
+                        permit.close();
+                        call.ignore(); // 성공/실패 어느 쪽도 기록되지 않은 경우
+                        recordRequest("generate", status, started);
+                    }
+                });
+    }
+
+    private GeminiDTO.Response readResponse(HttpResponse<InputStream> response) {
+        log.debug("Gemini API 응답 상태 코드: {}", response.statusCode());
+
+        try (InputStream in = response.body()) {
+            if (response.statusCode() != 200) {
+                log.error("Gemini API 호출 실패 - 상태 코드: {}", response.statusCode());
+                log.error("응답 본문: {}", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                throw failure(response.statusCode());
+            }
+            // 본문을 따로 복사하지 않고 수신 스트림에서 바로 역직렬화 (본문 수신 대기 시간 포함)
+            long parseStarted = System.nanoTime();
+            GeminiDTO.Response result = objectMapper.readValue(in, GeminiDTO.Response.class);
+            parseTimer.record(System.nanoTime() - parseStarted, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (IOException e) {
+            log.error("Gemini 응답 수신/파싱 실패", e);
+            throw new GeminiApiException("응답 파싱 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * streamGenerateContent 호출 (SSE 응답)
+     * 응답의 각 data 이벤트에서 텍스트 조각을 꺼내 도착하는 즉시 onText로 전달
+     *
+     * @param request 요청 DTO
+     * @param onText  생성된 텍스트 조각 처리 콜백
+     * @throws GeminiApiException       상태 코드 오류, 네트워크 오류, 시간 초과
+     * @throws GeminiRateLimitException   호출 한도 초과 (로컬 한도 또는 Gemini 429)
+     * @throws GeminiCircuitOpenException 회로 열림 (Gemini 장애로 호출하지 않음)
+     */
+    public void streamGenerateContent(GeminiDTO.Request request, Consumer<String> onText) {
+        byte[] body = serialize(request);
+        HttpRequest httpRequest = newRequest(streamGenerateContentUri, body);
+
+        GeminiCircuitBreaker.Call call = circuitBreaker.begin();
+        // 스트림이 끝날 때까지 동시 호출 슬롯 유지
+        try (GeminiRateLimiter.Permit permit = rateLimiter.acquire(estimateTokens(body))) {
+            receiveStream(httpRequest, call, onText);
+        } catch (GeminiApiException e) {
+            call.failure(e);
+            throw e;
+        } finally {
+            call.ignore();
+        }
+    }
+
+    /**
+     * 스트리밍 응답 수신
+     * 응답 헤더(200)가 도착한 시점까지의 지연 시간으로 회로 차단기에 성공을 기록 (답변 길이에 따른 수신 시간은 제외)
+     */
+    private void receiveStream(HttpRequest request, GeminiCircuitBreaker.Call call, Consumer<String> onText) {
+        long started = System.nanoTime();
+        HttpResponse<Stream<String>> response;
+        try {
+            response = send(request, HttpResponse.BodyHandlers.ofLines());
+        } catch (GeminiApiException e) {
+            recordRequest("stream", IO_ERROR, started);
+            throw e;
+        }
+        log.debug("Gemini 스트리밍 응답 상태 코드: {}", response.statusCode());
+
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                log.error("Gemini 스트리밍 호출 실패 - 상태 코드: {}", response.statusCode());
+                log.error("응답 본문: {}", lines.collect(Collectors.joining("\n")));
+                throw failure(response.statusCode());
+            }
+            call.success();
+
+            Iterator<String> iterator = lines.iterator();
+            String line;
+            while ((line = nextLine(iterator)) != null) {
+                if (!line.startsWith("data:")) {
+                    continue; // 빈 줄(이벤트 구분자), 주석 등은 무시
+                }
+                String text = extractText(line.substring("data:".length()).trim());
+                if (!text.isEmpty()) {
+                    onText.accept(text);
+                }
+            }
+        } finally {
+            recordRequest("stream", String.valueOf(response.statusCode()), started);
+        }
+    }
+
+    /**
+     * 상태 확인 (모델 정보 조회, 생성 호출 한도를 소모하지 않음)
+     *
+     * @return 200 응답 여부
+     */
+    public boolean probe() {
+        HttpRequest request = HttpRequest.newBuilder(modelUri)
+                .timeout(Duration.ofSeconds(5))
+                .header("x-goog-api-key", apiKey)
+                .GET()
+                .build();
+        try {
+            return send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (GeminiApiException e) {
+            log.debug("Gemini 상태 확인 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private HttpRequest newRequest(URI uri, byte[] body) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("x-goog-api-key", apiKey)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        try {
+            return httpClient.send(request, bodyHandler);
+        } catch (IOException e) {
+            throw new GeminiApiException("Gemini API 통신 오류: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeminiApiException("Gemini API 호출이 중단되었습니다.", e);
+        }
+    }
+
+    /**
+     * 요청 DTO를 UTF-8 JSON 바이트로 직렬화 (중간 문자열 없이 한 번에 기록)
+     */
+    private byte[] serialize(GeminiDTO.Request request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            log.debug("요청 본문 길이: {} bytes", body.length);
+            return body;
+        } catch (JsonProcessingException e) {
+            throw new GeminiApiException("요청 본문 생성 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * 스트리밍 응답의 다음 줄 (끝이면 null)
+     * 수신 중 오류는 콜백(onText)에서 발생한 오류와 구분하여 GeminiApiException으로 변환
+     */
+    private static String nextLine(Iterator<String> iterator) {
+        try {
+            return iterator.hasNext() ? iterator.next() : null;
+        } catch (UncheckedIOException e) {
+            throw new GeminiApiException("Gemini 스트리밍 응답 수신 오류: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 스트리밍 이벤트 하나(JSON)에서 텍스트 조각 추출
+     */
+    private String extractText(String json) {
+        if (json.isEmpty()) {
+            return "";
+        }
+        try {
+            return objectMapper.readValue(json, GeminiDTO.Response.class).text();
+        } catch (JsonProcessingException e) {
+            throw new GeminiApiException("스트리밍 응답 파싱 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * 상태 코드 오류 변환 (429는 한도 초과로 구분)
+     */
+    private static GeminiApiException failure(int statusCode) {
+        if (statusCode == 429) {
+            return new GeminiRateLimitException("Gemini API 호출 한도를 초과했습니다.");
+        }
+        return new GeminiApiException(statusCode, "Gemini API 호출 실패");
+    }
+
+    /**
+     * 요청 토큰 수 추정 (토크나이저 없이 본문 바이트 수의 1/2을 보수적인 상한으로 사용)
+     */
+    private static long estimateTokens(byte[] requestBody) {
+        return requestBody.length / 2 + 1;
+    }
+
+    private void recordRequest(String operation, String status, long startedNanos) {
+        Timer.builder("gemini.requests")
+                .description("Gemini API 호출 시간 (스트리밍은 마지막 청크 수신까지)")
+                .tag("operation", operation)
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,87 @@
+package kr.pe.tn.domain.fruit.gemini;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gemini generateContent 요청/응답 DTO
+ * 공유 ObjectMapper로 직렬화/역직렬화하므로 프롬프트의 따옴표, 줄바꿈, 탭, 역슬래시 등은 Jackson이 이스케이프합니다.
+ */
+public class GeminiDTO {
+
+    /**
+     * generateContent 요청 본문
+     */
+    public record Request(List<Content> contents) {
+
+        /**
+         * 단일 사용자 프롬프트 요청
+         */
+        public static Request ofPrompt(String prompt) {
+            return new Request(List.of(new Content(null, List.of(new Part(prompt)))));
+        }
+
+        /**
+         * 이전 대화(user/model 번갈아) 뒤에 새 사용자 프롬프트를 붙인 멀티턴 요청
+         */
+        public static Request ofConversation(List<Content> history, String prompt) {
+            List<Content> contents = new ArrayList<>(history.size() + 1);
+            contents.addAll(history);
+            contents.add(new Content("user", List.of(new Part(prompt))));
+            return new Request(contents);
+        }
+    }
+
+    /**
+     * 대화 한 턴 (role: user / model, 생략 시 user)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Content(String role, List<Part> parts) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Part(String text) {
+    }
+
+    /**
+     * generateContent 응답 본문 (스트리밍 응답의 data 이벤트 하나도 같은 구조)
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Response(List<Candidate> candidates, UsageMetadata usageMetadata) {
+
+        /**
+         * 첫 번째 후보의 텍스트 (여러 part는 이어 붙임, 없으면 빈 문자열)
+         */
+        public String text() {
+            if (candidates == null || candidates.isEmpty()) {
+                return "";
+            }
+            Content content = candidates.get(0).content();
+            if (content == null || content.parts() == null) {
+                return "";
+            }
+            StringBuilder text = new StringBuilder();
+            for (Part part : content.parts()) {
+                if (part.text() != null) {
+                    text.append(part.text());
+                }
+            }
+            return text.toString();
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Candidate(Content content, String finishReason) {
+    }
+
+    /**
+     * Gemini가 집계한 토큰 수 (프롬프트, 생성된 답변)
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UsageMetadata(Integer promptTokenCount, Integer candidatesTokenCount) {
+    }
+}
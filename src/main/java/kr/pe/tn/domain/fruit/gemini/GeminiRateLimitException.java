@@ -0,0 +1,12 @@
+package kr.pe.tn.domain.fruit.gemini;
+
+/**
+ * Gemini 호출 한도 초과 예외
+ * 로컬 요청 한도(RPM/TPM/RPD, 동시 호출 수)를 넘었거나 Gemini가 429를 응답한 경우
+ */
+public class GeminiRateLimitException extends GeminiApiException {
+
+    public GeminiRateLimitException(String message) {
+        super(429, message);
+    }
+}
@@ -0,0 +1,206 @@
+package kr.pe.tn.domain.fruit.gemini;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gemini 호출 한도 제어
+ *
+ * 모델 한도(RPM 10, TPM 250K, RPD 20)를 토큰 버킷으로 지키고,
+ * 동시 호출 수를 세마포어로 제한합니다.
+ * - 대기열이 가득 찼거나 대기 시간(queue-timeout) 안에 허용되지 않으면 즉시 거절
+ * - 버킷이 다시 채워질 때까지의 시간이 남은 대기 시간보다 길면 기다리지 않고 거절
+ */
+@Slf4j
+@Component
+public class GeminiRateLimiter implements MeterBinder {
+
+    private final TokenBucket requestsPerMinute;
+    private final TokenBucket tokensPerMinute;
+    private final TokenBucket requestsPerDay;
+
+    private final Semaphore concurrency;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long queueTimeoutNanos;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejectedQueueFull = new AtomicLong();
+    private final AtomicLong rejectedTimeout = new AtomicLong();
+    private final AtomicLong rejectedQuota = new AtomicLong();
+
+    public GeminiRateLimiter(
+            @Value("${gemini.rate-limit.rpm:10}") long rpm,
+            @Value("${gemini.rate-limit.tpm:250000}") long tpm,
+            @Value("${gemini.rate-limit.rpd:20}") long rpd,
+            @Value("${gemini.rate-limit.max-concurrent:2}") int maxConcurrent,
+            @Value("${gemini.rate-limit.max-queue:20}") int maxQueue,
+            @Value("${gemini.rate-limit.queue-timeout:3s}") Duration queueTimeout) {
+        this.requestsPerMinute = new TokenBucket("rpm", rpm, Duration.ofMinutes(1));
+        this.tokensPerMinute = new TokenBucket("tpm", tpm, Duration.ofMinutes(1));
+        this.requestsPerDay = new TokenBucket("rpd", rpd, Duration.ofDays(1));
+        this.concurrency = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+    }
+
+    /**
+     * 호출 허가 획득 (사용 후 반드시 close)
+     *
+     * @param estimatedTokens 요청에 사용될 예상 토큰 수
+     * @throws GeminiRateLimitException 대기열 초과, 대기 시간 초과, 한도 소진
+     */
+    public Permit acquire(long estimatedTokens) {
+        long deadline = System.nanoTime() + queueTimeoutNanos;
+
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            rejectedQueueFull.incrementAndGet();
+            throw new GeminiRateLimitException("AI 요청 대기열이 가득 찼습니다.");
+        }
+
+        try {
+            if (!concurrency.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejectedTimeout.incrementAndGet();
+                throw new GeminiRateLimitException("AI 요청 대기 시간이 초과되었습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeminiRateLimitException("AI 요청 대기가 중단되었습니다.");
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        try {
+            consumeQuota(estimatedTokens, deadline);
+        } catch (RuntimeException e) {
+            concurrency.release();
+            throw e;
+        }
+
+        accepted.incrementAndGet();
+        return new Permit();
+    }
+
+    /**
+     * 세 버킷에서 한 번에 차감 (하나라도 부족하면 차감분을 돌려주고 대기 또는 거절)
+     */
+    private void consumeQuota(long estimatedTokens, long deadline) {
+        while (true) {
+            long waitNanos = 0L;
+            List<TokenBucket> consumed = new ArrayList<>(3);
+            for (TokenBucket bucket : new TokenBucket[] { requestsPerDay, requestsPerMinute, tokensPerMinute }) {
+                long amount = bucket == tokensPerMinute ? estimatedTokens : 1L;
+                long bucketWait = bucket.tryConsume(amount);
+                if (bucketWait > 0) {
+                    waitNanos = bucketWait;
+                    consumed.forEach(b -> b.refund(b == tokensPerMinute ? estimatedTokens : 1L));
+                    if (System.nanoTime() + waitNanos > deadline) {
+                        rejectedQuota.incrementAndGet();
+                        log.warn("Gemini 호출 한도 소진: {} (가용 {} / {})", bucket.name(), bucket.available(),
+                                bucket.capacity());
+                        throw new GeminiRateLimitException("AI 호출 한도(" + bucket.name() + ")를 초과했습니다.");
+                    }
+                    break;
+                }
+                consumed.add(bucket);
+            }
+
+            if (waitNanos == 0L) {
+                return;
+            }
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GeminiRateLimitException("AI 요청 대기가 중단되었습니다.");
+            }
+        }
+    }
+
+    /**
+     * 한도 제어 현황 (버킷 잔량, 동시 호출/대기 수, 허용/거절 횟수)
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (TokenBucket bucket : new TokenBucket[] { requestsPerMinute, tokensPerMinute, requestsPerDay }) {
+            stats.put(bucket.name() + "Available", bucket.available());
+            stats.put(bucket.name() + "Capacity", bucket.capacity());
+        }
+        stats.put("inFlight", maxConcurrent - concurrency.availablePermits());
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("waiting", waiting.get());
+        stats.put("maxQueue", maxQueue);
+        stats.put("accepted", accepted.get());
+        stats.put("rejectedQueueFull", rejectedQueueFull.get());
+        stats.put("rejectedTimeout", rejectedTimeout.get());
+        stats.put("rejectedQuota", rejectedQuota.get());
+        return stats;
+    }
+
+    /**
+     * Micrometer 지표 등록 (버킷별 가용량, 동시 호출/대기 수, 허가/거절 횟수)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (TokenBucket bucket : new TokenBucket[] { requestsPerMinute, tokensPerMinute, requestsPerDay }) {
+            Gauge.builder("gemini.rate.limit.available", bucket, TokenBucket::available)
+                    .description("Gemini 호출 한도 버킷 가용량")
+                    .tag("bucket", bucket.name())
+                    .register(registry);
+        }
+        Gauge.builder("gemini.rate.limit.in.flight", concurrency, permits -> maxConcurrent - permits.availablePermits())
+                .register(registry);
+        Gauge.builder("gemini.rate.limit.waiting", waiting, AtomicInteger::get)
+                .register(registry);
+        FunctionCounter.builder("gemini.rate.limit.permits", accepted, AtomicLong::get)
+                .tag("result", "accepted")
+                .register(registry);
+        FunctionCounter.builder("gemini.rate.limit.permits", rejectedQueueFull, AtomicLong::get)
+                .tag("result", "queue_full")
+                .register(registry);
+        FunctionCounter.builder("gemini.rate.limit.permits", rejectedTimeout, AtomicLong::get)
+                .tag("result", "timeout")
+                .register(registry);
+        FunctionCounter.builder("gemini.rate.limit.permits", rejectedQuota, AtomicLong::get)
+                .tag("result", "quota")
+                .register(registry);
+    }
+
+    /**
+     * 호출 허가 (close 시 동시 호출 슬롯 반환)
+     */
+    public class Permit implements AutoCloseable {
+
+        private boolean released = false;
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                concurrency.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package kr.pe.tn.domain.fruit.gemini;
+
+import java.time.Duration;
+
+/**
+ * 토큰 버킷 (Token Bucket)
+ * 최대 capacity 만큼 쌓이고, period 동안 capacity 만큼 일정한 속도로 다시 채워짐
+ */
+class TokenBucket {
+
+    private final String name;
+    private final long capacity;
+    private final double refillPerNano;
+
+    private double available;
+    private long lastRefillNanos;
+
+    TokenBucket(String name, long capacity, Duration period) {
+        this.name = name;
+        this.capacity = capacity;
+        this.refillPerNano = (double) capacity / period.toNanos();
+        this.available = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    String name() {
+        return name;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    /**
+     * amount 만큼 즉시 사용 가능하면 차감하고 0, 아니면 사용 가능해질 때까지 남은 시간(ns) 반환
+     * 버킷 용량보다 큰 요청은 용량만큼만 요구 (영원히 대기하지 않도록)
+     */
+    synchronized long tryConsume(long amount) {
+        refill();
+        double required = Math.min(amount, capacity);
+        if (available >= required) {
+            available -= required;
+            return 0L;
+        }
+        return (long) Math.ceil((required - available) / refillPerNano);
+    }
+
+    /**
+     * 사용하지 않은 차감분 반환 (다른 버킷에서 거절된 경우)
+     */
+    synchronized void refund(long amount) {
+        available = Math.min(capacity, available + Math.min(amount, capacity));
+    }
+
+    synchronized long available() {
+        refill();
+        return (long) available;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+}
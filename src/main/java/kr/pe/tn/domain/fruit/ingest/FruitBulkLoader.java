@@ -0,0 +1,155 @@
+package kr.pe.tn.domain.fruit.ingest;
+
+import kr.pe.tn.domain.fruit.dto.FruitDTO;
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import kr.pe.tn.domain.fruit.repository.FruitBatchRepository;
+import kr.pe.tn.domain.fruit.search.FruitCatalogReloadedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 과일 카탈로그 일괄 등록
+ *
+ * 파일을 레코드 단위로 읽어 batch-size 개씩 JDBC 배치로 저장하고,
+ * 트랜잭션 커밋 후 검색 색인 등은 FruitCatalogReloadedEvent로 한 번만 다시 구성합니다.
+ * - 이름/영문명 누락, 컬럼 길이 초과, 이미 있는 이름(파일 내 중복 포함)은 건너뜀
+ */
+@Slf4j
+@Service
+public class FruitBulkLoader {
+
+    // 결과에 포함할 최대 오류 사유 수
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final FruitCatalogReader catalogReader;
+    private final FruitBatchRepository fruitBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public FruitBulkLoader(FruitCatalogReader catalogReader,
+            FruitBatchRepository fruitBatchRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${fruit.ingest.batch-size:500}") int batchSize) {
+        this.catalogReader = catalogReader;
+        this.fruitBatchRepository = fruitBatchRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 카탈로그 파일 일괄 등록
+     *
+     * @throws IllegalArgumentException 파일 형식 오류 (CSV 헤더 누락 등)
+     */
+    @Transactional
+    public FruitDTO.BulkImportResponse load(InputStream in, FruitCatalogFormat format) {
+        long startedAt = System.currentTimeMillis();
+        BatchSink sink = new BatchSink(fruitBatchRepository.findAllNames());
+
+        try {
+            catalogReader.read(in, format, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException("과일 카탈로그 읽기 실패", e);
+        }
+        sink.flush();
+
+        if (sink.inserted > 0) {
+            eventPublisher.publishEvent(new FruitCatalogReloadedEvent((int) sink.inserted)); // 커밋 후 검색 색인 재구성
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        log.info("과일 카탈로그 일괄 등록 ({}): 읽음 {} 건, 저장 {} 건, 건너뜀 {} 건, {} ms",
+                format, sink.read, sink.inserted, sink.skipped, elapsed);
+
+        return FruitDTO.BulkImportResponse.builder()
+                .format(format.name())
+                .read(sink.read)
+                .inserted(sink.inserted)
+                .skipped(sink.skipped)
+                .errors(sink.errors)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    /**
+     * 레코드 검증 후 batch-size 개씩 모아 저장
+     */
+    private class BatchSink implements FruitCatalogReader.Sink {
+
+        private final Set<String> existingNames;
+        private final List<Fruit> batch = new ArrayList<>(batchSize);
+        private final List<String> errors = new ArrayList<>();
+        private long read = 0;
+        private long inserted = 0;
+        private long skipped = 0;
+
+        private BatchSink(Set<String> existingNames) {
+            this.existingNames = existingNames;
+        }
+
+        @Override
+        public void accept(long recordNumber, Fruit fruit) {
+            String invalid = validate(fruit);
+            if (invalid != null) {
+                reject(recordNumber, invalid);
+                return;
+            }
+            read++;
+            existingNames.add(fruit.getName());
+            batch.add(fruit);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void reject(long recordNumber, String reason) {
+            read++;
+            skipped++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(recordNumber + ": " + reason);
+            }
+        }
+
+        private String validate(Fruit fruit) {
+            if (isBlank(fruit.getName()) || isBlank(fruit.getEnglishName())) {
+                return "name, englishName은 필수입니다.";
+            }
+            if (fruit.getName().length() > 50 || fruit.getEnglishName().length() > 100
+                    || length(fruit.getSeason()) > 100 || length(fruit.getOrigin()) > 50) {
+                return "컬럼 길이를 초과했습니다: " + fruit.getName();
+            }
+            if (existingNames.contains(fruit.getName())) {
+                return "이미 등록된 과일입니다: " + fruit.getName();
+            }
+            return null;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            fruitBatchRepository.insertAll(batch);
+            inserted += batch.size();
+            batch.clear();
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,37 @@
+package kr.pe.tn.domain.fruit.ingest;
+
+import java.util.Locale;
+
+/**
+ * 과일 카탈로그 파일 형식
+ * - JSONL : 한 줄에 과일 하나 (JSON 객체, 필드명은 Fruit 엔티티와 동일)
+ * - CSV : 첫 줄은 헤더 (name, englishName, benefits, nutrients, description, season, origin)
+ * - MARKDOWN : "## 과일명 (영문명)" 섹션 본문은 설명, "### 효능/영양소/제철/원산지" 하위 섹션은 각 필드
+ */
+public enum FruitCatalogFormat {
+    JSONL, CSV, MARKDOWN;
+
+    /**
+     * 형식 이름 또는 파일 확장자로 형식 결정
+     *
+     * @param format   형식 이름 (jsonl, csv, markdown / md), 비어 있으면 파일명으로 판단
+     * @param fileName 업로드 파일명
+     * @throws IllegalArgumentException 지원하지 않는 형식
+     */
+    public static FruitCatalogFormat resolve(String format, String fileName) {
+        String value = format;
+        if (value == null || value.isBlank()) {
+            if (fileName == null || fileName.lastIndexOf('.') < 0) {
+                throw new IllegalArgumentException("파일 형식을 알 수 없습니다. format 파라미터를 지정하세요.");
+            }
+            value = fileName.substring(fileName.lastIndexOf('.') + 1);
+        }
+
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "jsonl", "ndjson" -> JSONL;
+            case "csv" -> CSV;
+            case "md", "markdown" -> MARKDOWN;
+            default -> throw new IllegalArgumentException("지원하지 않는 파일 형식입니다: " + value);
+        };
+    }
+}
@@ -0,0 +1,293 @@
+package kr.pe.tn.domain.fruit.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 과일 카탈로그 파일 읽기 (JSONL / CSV / Markdown)
+ *
+ * JSONL과 CSV는 한 줄(레코드)씩 읽어 바로 전달하므로 파일 전체를 메모리에 올리지 않습니다.
+ * Markdown도 한 줄씩 읽으며 "##" 제목 단위로 과일을 만듭니다.
+ * 형식이 잘못된 레코드는 건너뛰고 Sink.reject로 알립니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class FruitCatalogReader {
+
+    // "사과 (Apple)" 형태의 Markdown 제목
+    private static final Pattern MARKDOWN_TITLE = Pattern.compile("^(.+?)\\s*\\((.+)\\)\\s*$");
+
+    // ATX 제목 ("## 제목", 끝의 # 는 제외)
+    private static final Pattern MARKDOWN_HEADING = Pattern.compile("^(#{1,6})\\s+(.*?)(?:\\s+#+)?$");
+
+    // 수평선 (---, ***, ___)
+    private static final Pattern MARKDOWN_RULE = Pattern.compile("^([-*_])(\\s*\\1){2,}$");
+
+    // 목록 기호 ("- ", "* ", "+ ", "1. ")
+    private static final Pattern MARKDOWN_LIST_ITEM = Pattern.compile("^(?:[-*+]|\\d+[.)])\\s+");
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 읽은 레코드 처리 콜백
+     */
+    public interface Sink {
+
+        void accept(long recordNumber, Fruit fruit);
+
+        void reject(long recordNumber, String reason);
+    }
+
+    public void read(InputStream in, FruitCatalogFormat format, Sink sink) throws IOException {
+        switch (format) {
+            case JSONL -> readJsonLines(in, sink);
+            case CSV -> readCsv(in, sink);
+            case MARKDOWN -> readMarkdown(in, sink);
+        }
+    }
+
+    private void readJsonLines(InputStream in, Sink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                sink.accept(lineNumber, objectMapper.readValue(line, Fruit.class));
+            } catch (JsonProcessingException e) {
+                sink.reject(lineNumber, "JSON 형식 오류: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(InputStream in, Sink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        CsvRecordReader csv = new CsvRecordReader(reader);
+
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).strip().replace("\uFEFF", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("englishname")) {
+            throw new IllegalArgumentException("CSV 헤더에 name, englishName 컬럼이 필요합니다.");
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            sink.accept(csv.recordStartLine(), Fruit.builder()
+                    .name(column(record, columns, "name"))
+                    .englishName(column(record, columns, "englishname"))
+                    .benefits(column(record, columns, "benefits"))
+                    .nutrients(column(record, columns, "nutrients"))
+                    .description(column(record, columns, "description"))
+                    .season(column(record, columns, "season"))
+                    .origin(column(record, columns, "origin"))
+                    .build());
+        }
+    }
+
+    /**
+     * "## 과일명 (영문명)" 섹션마다 과일 하나, 바로 아래 "### 필드명" 섹션은 해당 과일의 필드
+     *
+     * 본문이 없는 제목도 섹션으로 인식해야 하므로 제목은 한 줄씩 직접 읽습니다.
+     * (MarkdownDocumentReader는 본문 문단이 있어야 Document를 만들어, 설명 없는 과일의 "### 필드"가 앞 과일에 붙었음)
+     * 코드 블록과 인용문은 건너뛰고, 레코드 번호는 "##" 제목의 줄 번호입니다.
+     */
+    private void readMarkdown(InputStream in, Sink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        MarkdownSection current = null;
+        StringBuilder field = null;
+        boolean codeBlock = false;
+
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String stripped = line.strip().replace("\uFEFF", "");
+            if (stripped.startsWith("```") || stripped.startsWith("~~~")) {
+                codeBlock = !codeBlock;
+                continue;
+            }
+            if (codeBlock || stripped.startsWith(">") || MARKDOWN_RULE.matcher(stripped).matches()) {
+                continue;
+            }
+
+            Matcher heading = MARKDOWN_HEADING.matcher(stripped);
+            if (heading.matches()) {
+                int level = heading.group(1).length();
+                String title = heading.group(2).strip();
+                if (level <= 2) {
+                    if (current != null) {
+                        emitMarkdownFruit(current, sink);
+                    }
+                    current = level == 2 ? new MarkdownSection(lineNumber, title) : null;
+                    field = current != null ? current.field("description") : null;
+                } else if (current == null) {
+                    sink.reject(lineNumber, "'## 과일명 (영문명)' 제목 없이 나온 하위 제목입니다: " + title);
+                    field = null;
+                } else {
+                    field = level == 3 ? current.field(title) : field;
+                }
+                continue;
+            }
+
+            if (field != null) {
+                if (stripped.isEmpty()) {
+                    if (!field.isEmpty() && field.charAt(field.length() - 1) != '\n') {
+                        field.append('\n');
+                    }
+                } else {
+                    if (!field.isEmpty() && field.charAt(field.length() - 1) != '\n') {
+                        field.append(' ');
+                    }
+                    field.append(MARKDOWN_LIST_ITEM.matcher(stripped).replaceFirst(""));
+                }
+            }
+        }
+        if (current != null) {
+            emitMarkdownFruit(current, sink);
+        }
+    }
+
+    private void emitMarkdownFruit(MarkdownSection section, Sink sink) {
+        Matcher matcher = MARKDOWN_TITLE.matcher(section.title());
+        if (!matcher.matches()) {
+            sink.reject(section.lineNumber(), "제목은 '과일명 (영문명)' 형식이어야 합니다: " + section.title());
+            return;
+        }
+        sink.accept(section.lineNumber(), Fruit.builder()
+                .name(matcher.group(1).strip())
+                .englishName(matcher.group(2).strip())
+                .benefits(section.value("효능"))
+                .nutrients(section.value("영양소"))
+                .description(section.value("description"))
+                .season(section.value("제철"))
+                .origin(section.value("원산지"))
+                .build());
+    }
+
+    /**
+     * 읽는 중인 "##" 과일 섹션 (필드명 -> 본문)
+     */
+    private record MarkdownSection(long lineNumber, String title, Map<String, StringBuilder> fields) {
+
+        private MarkdownSection(long lineNumber, String title) {
+            this(lineNumber, title, new HashMap<>());
+        }
+
+        StringBuilder field(String name) {
+            return fields.computeIfAbsent(name, key -> new StringBuilder());
+        }
+
+        String value(String name) {
+            StringBuilder value = fields.get(name);
+            return value == null ? null : emptyToNull(value.toString().strip());
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        return emptyToNull(record.get(index).strip());
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * RFC 4180 CSV 레코드 읽기 (따옴표 안의 쉼표, 줄바꿈, "" 이스케이프 지원)
+     */
+    private static class CsvRecordReader {
+
+        private final BufferedReader reader;
+        private long lineNumber = 0;
+        private long recordStartLine = 0;
+
+        private CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        long recordStartLine() {
+            return recordStartLine;
+        }
+
+        /**
+         * 다음 레코드 (파일 끝이면 null)
+         */
+        List<String> next() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            recordStartLine = lineNumber;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (quoted) {
+                        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else if (c == '"') {
+                            quoted = false;
+                        } else {
+                            field.append(c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (!quoted) {
+                    break;
+                }
+                // 따옴표 안의 줄바꿈: 다음 줄까지 이어서 읽기
+                line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                lineNumber++;
+                field.append('\n');
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
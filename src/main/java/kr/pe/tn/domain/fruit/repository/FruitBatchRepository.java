@@ -0,0 +1,54 @@
+package kr.pe.tn.domain.fruit.repository;
+
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 과일 정보 일괄 저장 Repository (JDBC batch)
+ *
+ * IDENTITY 키 전략에서는 JPA(Hibernate)가 INSERT를 배치로 묶지 못하므로
+ * 대량 등록은 JdbcTemplate.batchUpdate로 한 번에 전송합니다.
+ * (MySQL은 rewriteBatchedStatements=true 설정 시 multi-row INSERT로 변환)
+ */
+@Repository
+@RequiredArgsConstructor
+public class FruitBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO fruits "
+            + "(name, englishName, benefits, nutrients, description, season, origin, modDate) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 과일 목록을 하나의 JDBC 배치로 저장
+     */
+    public void insertAll(List<Fruit> fruits) {
+        Timestamp modDate = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, fruits, fruits.size(), (ps, fruit) -> {
+            ps.setString(1, fruit.getName());
+            ps.setString(2, fruit.getEnglishName());
+            ps.setString(3, fruit.getBenefits());
+            ps.setString(4, fruit.getNutrients());
+            ps.setString(5, fruit.getDescription());
+            ps.setString(6, fruit.getSeason());
+            ps.setString(7, fruit.getOrigin());
+            ps.setTimestamp(8, modDate);
+        });
+    }
+
+    /**
+     * 저장된 모든 과일 이름 (중복 등록 방지용)
+     */
+    public Set<String> findAllNames() {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT name FROM fruits", String.class));
+    }
+}
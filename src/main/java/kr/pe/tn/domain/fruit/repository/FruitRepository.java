@@ -1,6 +1,9 @@
 package kr.pe.tn.domain.fruit.repository;
 
+import kr.pe.tn.domain.fruit.dto.FruitDTO;
 import kr.pe.tn.domain.fruit.entity.Fruit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +18,17 @@ import java.util.List;
 @Repository
 public interface FruitRepository extends JpaRepository<Fruit, Long> {
 
+    /**
+     * 과일 목록 페이지 조회 (Summary projection, 설명 컬럼은 읽지 않음)
+     */
+    Page<FruitDTO.Summary> findSummaryBy(Pageable pageable);
+
+    /**
+     * 카탈로그 저장 상태 (추가/삭제는 과일 수와 가장 큰 id, 수정은 가장 최근 저장 시각으로 드러남)
+     */
+    @Query("SELECT COUNT(f) AS fruitCount, MAX(f.id) AS maxId, MAX(f.modDate) AS lastModified FROM Fruit f")
+    FruitDTO.CatalogState findCatalogState();
+
     /**
      * 과일 이름으로 검색 (부분 일치)
      */
@@ -0,0 +1,18 @@
+package kr.pe.tn.domain.fruit.search;
+
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 과일 정보가 저장(추가/수정)되었음을 알리는 이벤트
+ * 검색 색인 등 메모리 구조는 트랜잭션 커밋 후 이 이벤트를 받아 증분 갱신
+ */
+@Getter
+@RequiredArgsConstructor
+public class FruitCatalogChangedEvent {
+
+    private final List<Fruit> fruits; // 저장된 과일 목록
+}
@@ -0,0 +1,15 @@
+package kr.pe.tn.domain.fruit.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 과일 정보가 대량으로 저장되었음을 알리는 이벤트 (일괄 등록 등)
+ * 검색 색인 등 메모리 구조는 트랜잭션 커밋 후 이 이벤트를 받아 전체를 한 번만 다시 구성
+ */
+@Getter
+@RequiredArgsConstructor
+public class FruitCatalogReloadedEvent {
+
+    private final int insertedCount; // 새로 저장된 과일 수
+}
@@ -0,0 +1,22 @@
+package kr.pe.tn.domain.fruit.search;
+
+import kr.pe.tn.domain.fruit.entity.Fruit;
+
+import java.util.List;
+
+/**
+ * RAG 검색 단계(Retrieval) 구현체 공통 인터페이스
+ * fruit.rag.retriever 설정값과 name()이 일치하는 구현체가 사용됨
+ */
+public interface FruitRetriever {
+
+    /**
+     * 설정에서 구현체를 선택할 때 사용하는 이름 (예: lexical, vector)
+     */
+    String name();
+
+    /**
+     * 질문과 관련된 과일을 관련도 순으로 최대 limit 개 반환
+     */
+    List<Fruit> search(String question, int limit);
+}
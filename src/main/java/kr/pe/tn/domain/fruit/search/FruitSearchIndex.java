@@ -0,0 +1,310 @@
+package kr.pe.tn.domain.fruit.search;
+
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import kr.pe.tn.domain.fruit.repository.FruitRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 과일 정보 메모리 역색인 (Inverted Index, fruit.rag.retriever=lexical)
+ *
+ * 질문마다 DB에 LIKE 검색을 여러 번 보내는 대신,
+ * 이름/영문명/효능/영양소/설명을 토큰화한 역색인을 메모리에 유지하고 조회합니다.
+ *
+ * - 애플리케이션 시작 시 전체 과일로 색인 구축
+ * - 과일 저장 시 해당 과일만 증분 갱신 (upsert)
+ * - 모든 질문 토큰에 대해 필드 가중치를 반영한 BM25F 점수로 순위 결정
+ * - 조회는 read lock, 갱신은 write lock으로 보호
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FruitSearchIndex implements FruitRetriever {
+
+    private final FruitRepository fruitRepository;
+
+    // BM25 파라미터 (k1: 출현 빈도 포화 정도, b: 필드 길이 정규화 정도)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * 색인 대상 필드와 가중치 (이름 일치가 설명 일치보다 중요)
+     */
+    enum Field {
+        NAME(3.0, Fruit::getName),
+        ENGLISH_NAME(2.5, Fruit::getEnglishName),
+        BENEFITS(1.5, Fruit::getBenefits),
+        NUTRIENTS(1.5, Fruit::getNutrients),
+        DESCRIPTION(1.0, Fruit::getDescription);
+
+        private final double boost;
+        private final Function<Fruit, String> extractor;
+
+        Field(double boost, Function<Fruit, String> extractor) {
+            this.boost = boost;
+            this.extractor = extractor;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 색인된 과일 (id 순 정렬, 검색 결과가 없을 때 기본 목록으로 사용)
+    private final NavigableMap<Long, Fruit> fruits = new TreeMap<>();
+
+    // 역색인: 토큰 -> (과일 id -> 필드별 출현 횟수)
+    private final Map<String, Map<Long, int[]>> postings = new HashMap<>();
+
+    // 과일별 필드 길이 (토큰 수)
+    private final Map<Long, int[]> fieldLengths = new HashMap<>();
+
+    // 필드별 전체 토큰 수 합계 (평균 필드 길이 계산용)
+    private final long[] totalFieldLengths = new long[FIELDS.length];
+
+    // 과일별 색인 토큰 (갱신 시 기존 posting 제거용)
+    private final Map<Long, Set<String>> documentTokens = new HashMap<>();
+
+    private volatile boolean loaded = false;
+
+    /**
+     * 애플리케이션 시작 완료 후 색인 구축
+     * (FruitDataInitializer의 초기 데이터 저장 이후 실행됨)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild(fruitRepository.findAll());
+    }
+
+    /**
+     * 과일 저장 트랜잭션 커밋 후 색인 증분 갱신
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(FruitCatalogChangedEvent event) {
+        event.getFruits().forEach(this::upsert);
+    }
+
+    /**
+     * 일괄 등록 트랜잭션 커밋 후 색인 전체를 한 번만 재구성
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(FruitCatalogReloadedEvent event) {
+        rebuild(fruitRepository.findAll());
+    }
+
+    @Override
+    public String name() {
+        return "lexical";
+    }
+
+    /**
+     * 전체 색인 재구축
+     */
+    public void rebuild(Collection<Fruit> allFruits) {
+        lock.writeLock().lock();
+        try {
+            fruits.clear();
+            postings.clear();
+            fieldLengths.clear();
+            documentTokens.clear();
+            Arrays.fill(totalFieldLengths, 0L);
+            for (Fruit fruit : allFruits) {
+                addDocument(fruit);
+            }
+            loaded = true;
+            log.info("과일 검색 색인 구축 완료: 과일 {} 개, 토큰 {} 개", fruits.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 과일 하나의 색인 증분 갱신 (신규 추가 또는 수정)
+     */
+    public void upsert(Fruit fruit) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            removeDocument(fruit.getId());
+            addDocument(fruit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 질문과 관련된 과일 검색 (BM25F 점수 기준 상위 limit 개)
+     * 모든 질문 토큰의 점수를 합산하며, 일치하는 과일이 없으면 기본 목록을 반환
+     *
+     * @param question 사용자 질문
+     * @param limit    최대 반환 개수
+     */
+    @Override
+    public List<Fruit> search(String question, int limit) {
+        List<Fruit> matches = searchMatches(question, limit);
+        if (!matches.isEmpty()) {
+            return matches;
+        }
+
+        lock.readLock().lock();
+        try {
+            return fruits.values().stream().limit(limit).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 질문 토큰이 하나 이상 일치하는 과일만 BM25F 점수 순으로 반환 (일치하는 과일이 없으면 빈 목록)
+     * 하이브리드 검색에서 기본 목록이 순위 융합에 섞이지 않도록 사용
+     */
+    public List<Fruit> searchMatches(String question, int limit) {
+        ensureLoaded();
+        Set<String> queryTokens = new LinkedHashSet<>(FruitTokenizer.tokenize(question));
+
+        lock.readLock().lock();
+        try {
+            return topK(score(queryTokens), limit).stream()
+                    .map(fruits::get)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 질문 토큰별 BM25F 점수를 과일 단위로 합산
+     * 필드별 출현 횟수를 필드 길이로 정규화하고 가중치를 곱해 하나의 출현 빈도로 합친 뒤 포화 함수 적용
+     */
+    private Map<Long, Double> score(Set<String> queryTokens) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = fruits.size();
+        if (documentCount == 0) {
+            return scores;
+        }
+
+        double[] averageLengths = new double[FIELDS.length];
+        for (int f = 0; f < FIELDS.length; f++) {
+            averageLengths[f] = Math.max(1.0, (double) totalFieldLengths[f] / documentCount);
+        }
+
+        for (String token : queryTokens) {
+            Map<Long, int[]> posting = postings.get(token);
+            if (posting == null) {
+                continue;
+            }
+
+            int documentFrequency = posting.size();
+            double idf = Math.log(1.0 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+            for (Map.Entry<Long, int[]> entry : posting.entrySet()) {
+                int[] termFrequencies = entry.getValue();
+                int[] lengths = fieldLengths.get(entry.getKey());
+
+                double weightedFrequency = 0.0;
+                for (int f = 0; f < FIELDS.length; f++) {
+                    if (termFrequencies[f] == 0) {
+                        continue;
+                    }
+                    double normalization = 1.0 - B + B * (lengths[f] / averageLengths[f]);
+                    weightedFrequency += FIELDS[f].boost * termFrequencies[f] / normalization;
+                }
+
+                double termScore = idf * weightedFrequency / (K1 + weightedFrequency);
+                scores.merge(entry.getKey(), termScore, Double::sum);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * 점수 상위 k개 과일 id 선택 (크기 k의 최소 힙 사용, 동점은 id 오름차순)
+     */
+    private static List<Long> topK(Map<Long, Double> scores, int k) {
+        Comparator<Map.Entry<Long, Double>> byRank = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(k + 1, byRank);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > k) {
+                heap.poll(); // 현재 최하위 제거
+            }
+        }
+
+        List<Long> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(heap.poll().getKey());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * 요청이 시작 이벤트보다 먼저 들어온 경우를 대비한 지연 구축
+     */
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild(fruitRepository.findAll());
+                }
+            }
+        }
+    }
+
+    private void addDocument(Fruit fruit) {
+        Map<String, int[]> termFrequencies = new HashMap<>();
+        int[] lengths = new int[FIELDS.length];
+
+        for (int f = 0; f < FIELDS.length; f++) {
+            List<String> tokens = FruitTokenizer.tokenize(FIELDS[f].extractor.apply(fruit));
+            lengths[f] = tokens.size();
+            totalFieldLengths[f] += tokens.size();
+            for (String token : tokens) {
+                termFrequencies.computeIfAbsent(token, k -> new int[FIELDS.length])[f]++;
+            }
+        }
+
+        fruits.put(fruit.getId(), fruit);
+        fieldLengths.put(fruit.getId(), lengths);
+        documentTokens.put(fruit.getId(), termFrequencies.keySet());
+        termFrequencies.forEach((token, counts) -> postings
+                .computeIfAbsent(token, k -> new HashMap<>())
+                .put(fruit.getId(), counts));
+    }
+
+    private void removeDocument(Long fruitId) {
+        Set<String> tokens = documentTokens.remove(fruitId);
+        fruits.remove(fruitId);
+
+        int[] lengths = fieldLengths.remove(fruitId);
+        if (lengths != null) {
+            for (int f = 0; f < FIELDS.length; f++) {
+                totalFieldLengths[f] -= lengths[f];
+            }
+        }
+
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Long, int[]> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(fruitId);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package kr.pe.tn.domain.fruit.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 과일 검색용 토크나이저 (외부 형태소 분석기 없이 동작하는 경량 버전)
+ *
+ * 색인 구축과 질문 검색에 같은 규칙을 적용합니다.
+ * - 입력은 NFKC로 정규화 (풀어쓴 자모 "ㅅㅏㄱㅘ" 입력기 조합 결과, 전각 영문/숫자 등을 완성형/반각으로 통일)
+ * - 한글 어절은 끝에 붙은 조사를 떼어낸 어간과, 어간 기준 2글자 bigram을 토큰으로 생성
+ * - 영문/숫자는 소문자 단어 토큰, 한글 바로 뒤에 붙은 영문/숫자는 결합 토큰도 생성 (비타민C, 비타민B6)
+ * - 영문/숫자 바로 뒤에 붙은 조사(비타민C"가")는 버림
+ *
+ * 예: "비타민C가" -> [비타민, 비타, 타민, c, 비타민c]
+ *     "블루베리는" -> [블루베리, 블루, 루베, 베리]
+ */
+public final class FruitTokenizer {
+
+    /**
+     * 어절 끝에서 떼어낼 조사 (긴 것부터 검사)
+     */
+    private static final List<String> PARTICLES = List.of(
+            "에서는", "에게서", "으로는", "이라도", "이에요", "입니다",
+            "에서", "에게", "한테", "으로", "로는", "까지", "부터", "처럼", "보다", "마다", "이랑", "하고",
+            "이나", "이야", "예요", "에는", "과는", "와는", "은요", "는요",
+            "은", "는", "이", "가", "을", "를", "의", "에", "도", "로", "와", "과", "만", "랑", "요");
+
+    private static final Set<String> PARTICLE_SET = Set.copyOf(PARTICLES);
+
+    // 조사를 뗀 뒤 남아야 하는 최소 어간 길이 (사과 -> 사 + 과, 포도 -> 포 + 도 같은 오분리 방지)
+    private static final int MIN_STEM_LENGTH = 2;
+
+    private FruitTokenizer() {
+    }
+
+    /**
+     * 텍스트를 검색 토큰 목록으로 변환 (중복 포함, 출현 순서 유지)
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        int length = normalized.length();
+        int i = 0;
+        String previousHangul = null; // 바로 앞(공백 없이)에 붙은 한글 어간
+        boolean afterAlphanumeric = false; // 바로 앞(공백 없이)에 영문/숫자가 붙어 있는지
+
+        while (i < length) {
+            char c = normalized.charAt(i);
+            if (isHangul(c)) {
+                int start = i;
+                while (i < length && isHangul(normalized.charAt(i))) {
+                    i++;
+                }
+                String word = normalized.substring(start, i);
+                if (afterAlphanumeric && PARTICLE_SET.contains(word)) {
+                    previousHangul = null; // 비타민C"가"
+                } else {
+                    previousHangul = addHangulTokens(word, tokens);
+                }
+                afterAlphanumeric = false;
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(normalized.charAt(i))
+                        && !isHangul(normalized.charAt(i))) {
+                    i++;
+                }
+                String word = normalized.substring(start, i).toLowerCase(Locale.ROOT);
+                tokens.add(word);
+                if (previousHangul != null) {
+                    tokens.add(previousHangul + word); // 비타민 + c
+                }
+                previousHangul = null;
+                afterAlphanumeric = true;
+            } else {
+                previousHangul = null;
+                afterAlphanumeric = false;
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 한글 어절 토큰 생성: 조사를 뗀 어간 + 어간 기준 2글자 bigram
+     * 한 글자 어절(예: 배, 귤)은 그대로 사용
+     *
+     * @return 조사를 뗀 어간 (조사가 없으면 어절 전체)
+     */
+    private static String addHangulTokens(String word, List<String> tokens) {
+        String stem = stripParticle(word);
+        tokens.add(stem);
+        if (stem.length() > 2) {
+            for (int i = 0; i + 2 <= stem.length(); i++) {
+                tokens.add(stem.substring(i, i + 2));
+            }
+        }
+        return stem;
+    }
+
+    /**
+     * 어절 끝의 조사 제거 (남는 어간이 MIN_STEM_LENGTH 보다 짧아지면 제거하지 않음)
+     */
+    static String stripParticle(String word) {
+        for (String particle : PARTICLES) {
+            if (word.length() - particle.length() >= MIN_STEM_LENGTH && word.endsWith(particle)) {
+                return word.substring(0, word.length() - particle.length());
+            }
+        }
+        return word;
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣') // 완성형 한글
+                || (c >= 'ㄱ' && c <= 'ㆎ') // 호환용 자모
+                || (c >= 'ᄀ' && c <= 'ᇿ'); // 조합되지 않고 남은 첫가끝 자모
+    }
+}
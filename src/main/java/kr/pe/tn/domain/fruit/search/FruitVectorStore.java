@@ -0,0 +1,262 @@
+package kr.pe.tn.domain.fruit.search;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * 과일 임베딩 벡터 저장소 (off-heap, 메모리 매핑 파일)
+ *
+ * 모든 벡터를 하나의 연속된 off-heap 버퍼에 고정 길이 레코드로 저장합니다.
+ * 파일 경로가 주어지면 버퍼를 파일에 메모리 매핑하여 재시작 후에도 그대로 재사용하고,
+ * 경로가 없으면 direct buffer만 사용합니다.
+ * 파일은 한 프로세스만 쓸 수 있도록 잠그며, 다른 프로세스(같은 경로를 설정한 다른 노드)가 이미 잠갔으면
+ * 경고를 남기고 direct buffer로 시작합니다. (재시작 시 전체 재임베딩)
+ *
+ * 파일 구조 (little-endian):
+ * - 헤더 16 bytes: magic(int), 임베더 버전(int), 차원(int), 레코드 수(int)
+ * - 레코드: 과일 id(long), 내용 해시(long), 벡터(float * 차원)
+ *
+ * 동기화는 호출하는 쪽(VectorRetriever)에서 담당합니다.
+ */
+@Slf4j
+class FruitVectorStore implements Closeable {
+
+    private static final int MAGIC = 0x46525643; // "FRVC"
+    private static final int HEADER_BYTES = 16;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Path path;
+    private final int dimension;
+    private final int embedderVersion;
+    private final int recordBytes;
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private int capacity;
+    private int count;
+
+    // 과일 id -> 레코드 위치
+    private final Map<Long, Integer> slots = new HashMap<>();
+
+    FruitVectorStore(Path path, int dimension, int embedderVersion) {
+        this.path = path;
+        this.dimension = dimension;
+        this.embedderVersion = embedderVersion;
+        this.recordBytes = Long.BYTES * 2 + Float.BYTES * dimension;
+    }
+
+    /**
+     * 저장소 열기
+     * 기존 파일의 헤더(magic/버전/차원)가 일치하면 저장된 벡터를 그대로 사용하고, 아니면 비운 상태로 시작
+     */
+    void open() throws IOException {
+        if (path == null) {
+            remap(INITIAL_CAPACITY);
+            writeHeader();
+            return;
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (!tryLock()) {
+            log.warn("벡터 파일을 다른 프로세스가 사용 중이므로 메모리에만 보관합니다: {}", path);
+            channel.close();
+            channel = null;
+            remap(INITIAL_CAPACITY);
+            writeHeader();
+            return;
+        }
+
+        long fileSize = channel.size();
+        int storedCapacity = fileSize > HEADER_BYTES ? (int) ((fileSize - HEADER_BYTES) / recordBytes) : 0;
+        remap(Math.max(INITIAL_CAPACITY, storedCapacity));
+
+        if (fileSize >= HEADER_BYTES
+                && buffer.getInt(0) == MAGIC
+                && buffer.getInt(4) == embedderVersion
+                && buffer.getInt(8) == dimension
+                && buffer.getInt(12) <= storedCapacity) {
+            count = buffer.getInt(12);
+            for (int slot = 0; slot < count; slot++) {
+                slots.put(buffer.getLong(offset(slot)), slot);
+            }
+        } else {
+            count = 0;
+            writeHeader();
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    Set<Long> ids() {
+        return slots.keySet();
+    }
+
+    /**
+     * 저장된 내용 해시 조회 (없으면 null)
+     */
+    Long contentHash(long id) {
+        Integer slot = slots.get(id);
+        return slot == null ? null : buffer.getLong(offset(slot) + Long.BYTES);
+    }
+
+    /**
+     * 벡터 추가 또는 덮어쓰기
+     */
+    void put(long id, long contentHash, float[] vector) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            ensureCapacity(count + 1);
+            slot = count++;
+            slots.put(id, slot);
+            buffer.putInt(12, count);
+        }
+
+        int base = offset(slot);
+        buffer.putLong(base, id);
+        buffer.putLong(base + Long.BYTES, contentHash);
+        int vectorBase = base + Long.BYTES * 2;
+        for (int i = 0; i < dimension; i++) {
+            buffer.putFloat(vectorBase + i * Float.BYTES, vector[i]);
+        }
+    }
+
+    /**
+     * 벡터 삭제 (마지막 레코드를 빈 자리로 옮겨 연속성 유지)
+     */
+    void remove(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        int last = count - 1;
+        if (slot != last) {
+            long movedId = buffer.getLong(offset(last));
+            buffer.put(offset(slot), buffer.duplicate(), offset(last), recordBytes);
+            slots.put(movedId, slot);
+        }
+        count = last;
+        buffer.putInt(12, count);
+    }
+
+    /**
+     * 코사인 유사도 상위 k개 과일 id (벡터는 정규화되어 있으므로 내적으로 계산)
+     * 유사도가 0 이하인 레코드는 제외
+     */
+    List<Long> topK(float[] query, int k) {
+        PriorityQueue<double[]> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(entry -> entry[0]));
+
+        for (int slot = 0; slot < count; slot++) {
+            int vectorBase = offset(slot) + Long.BYTES * 2;
+            double dot = 0.0;
+            for (int i = 0; i < dimension; i++) {
+                dot += query[i] * buffer.getFloat(vectorBase + i * Float.BYTES);
+            }
+            if (dot <= 0.0) {
+                continue;
+            }
+            heap.offer(new double[] { dot, slot });
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+
+        List<Long> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(buffer.getLong(offset((int) heap.poll()[1])));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * 메모리 매핑된 변경 내용을 디스크에 반영
+     */
+    void flush() {
+        if (buffer instanceof MappedByteBuffer mapped) {
+            mapped.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * 파일 잠금 (채널을 닫으면 함께 해제)
+     */
+    private boolean tryLock() throws IOException {
+        try {
+            FileLock lock = channel.tryLock();
+            return lock != null;
+        } catch (OverlappingFileLockException e) {
+            // 같은 프로세스의 다른 저장소가 잠금
+            return false;
+        }
+    }
+
+    private int offset(int slot) {
+        return HEADER_BYTES + slot * recordBytes;
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, embedderVersion);
+        buffer.putInt(8, dimension);
+        buffer.putInt(12, count);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > capacity) {
+            remap(Math.max(required, capacity * 2));
+        }
+    }
+
+    /**
+     * 버퍼 용량 변경 (파일이면 더 큰 크기로 다시 매핑, 아니면 새 direct buffer로 복사)
+     */
+    private void remap(int newCapacity) {
+        long bytes = HEADER_BYTES + (long) newCapacity * recordBytes;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("벡터 저장소 용량을 초과했습니다: " + newCapacity);
+        }
+
+        ByteBuffer next;
+        if (channel != null) {
+            try {
+                next = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            } catch (IOException e) {
+                throw new IllegalStateException("벡터 파일 매핑 실패: " + path, e);
+            }
+        } else {
+            next = ByteBuffer.allocateDirect((int) bytes);
+            if (buffer != null) {
+                next.put(0, buffer, 0, HEADER_BYTES + count * recordBytes);
+            }
+        }
+
+        buffer = next.order(ByteOrder.LITTLE_ENDIAN);
+        capacity = newCapacity;
+    }
+}
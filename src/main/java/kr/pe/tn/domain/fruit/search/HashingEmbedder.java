@@ -0,0 +1,115 @@
+package kr.pe.tn.domain.fruit.search;
+
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 로컬 해싱 임베더 (Feature Hashing)
+ *
+ * 외부 임베딩 API 없이 동일 입력에 항상 같은 벡터를 생성합니다.
+ * FruitTokenizer 토큰(조사를 뗀 어간 + bigram)과 영문 문자 trigram을 해시하여
+ * 고정 차원 벡터의 부호 있는 버킷에 누적한 뒤 L2 정규화합니다.
+ * 정규화된 벡터끼리의 내적이 곧 코사인 유사도가 됩니다.
+ */
+@Component
+public class HashingEmbedder {
+
+    // 벡터 차원 수
+    public static final int DIMENSION = 256;
+
+    // 특징 추출 방식이 바뀌면 올려서 저장된 벡터 파일을 무효화
+    public static final int VERSION = 2;
+
+    // 과일 이름은 다른 필드보다 높은 가중치로 반영
+    private static final float NAME_WEIGHT = 2.0f;
+
+    /**
+     * 질문 등 일반 텍스트 임베딩
+     */
+    public float[] embed(String text) {
+        float[] vector = new float[DIMENSION];
+        accumulate(vector, text, 1.0f);
+        return normalize(vector);
+    }
+
+    /**
+     * 과일 정보 임베딩 (이름/영문명/효능/영양소/설명)
+     */
+    public float[] embed(Fruit fruit) {
+        float[] vector = new float[DIMENSION];
+        accumulate(vector, fruit.getName(), NAME_WEIGHT);
+        accumulate(vector, fruit.getEnglishName(), NAME_WEIGHT);
+        accumulate(vector, fruit.getBenefits(), 1.0f);
+        accumulate(vector, fruit.getNutrients(), 1.0f);
+        accumulate(vector, fruit.getDescription(), 1.0f);
+        return normalize(vector);
+    }
+
+    /**
+     * 임베딩 입력이 바뀌었는지 판단하기 위한 64비트 내용 해시 (FNV-1a)
+     */
+    public long contentHash(Fruit fruit) {
+        long hash = 0xcbf29ce484222325L;
+        for (String field : new String[] { fruit.getName(), fruit.getEnglishName(), fruit.getBenefits(),
+                fruit.getNutrients(), fruit.getDescription() }) {
+            String value = field == null ? "" : field;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= 0x1f; // 필드 구분자
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private void accumulate(float[] vector, String text, float weight) {
+        List<String> tokens = FruitTokenizer.tokenize(text);
+        for (String token : tokens) {
+            addFeature(vector, token, weight);
+
+            // 영문 단어는 철자 변형에 강하도록 문자 trigram 추가
+            if (token.length() > 3 && token.charAt(0) < 0x80) {
+                for (int i = 0; i + 3 <= token.length(); i++) {
+                    addFeature(vector, "#" + token.substring(i, i + 3), weight * 0.5f);
+                }
+            }
+        }
+    }
+
+    private void addFeature(float[] vector, String feature, float weight) {
+        int hash = mix(feature.hashCode());
+        int bucket = Math.floorMod(hash, DIMENSION);
+        float sign = (hash & 0x80000000) == 0 ? 1.0f : -1.0f;
+        vector[bucket] += sign * weight;
+    }
+
+    /**
+     * String.hashCode의 하위 비트 편향을 줄이기 위한 비트 혼합 (murmur3 finalizer)
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double sum = 0.0;
+        for (float v : vector) {
+            sum += v * v;
+        }
+        if (sum == 0.0) {
+            return vector;
+        }
+        float inverse = (float) (1.0 / Math.sqrt(sum));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inverse;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,231 @@
+package kr.pe.tn.domain.fruit.search;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * 키워드 + 벡터 하이브리드 과일 검색 (fruit.rag.retriever=hybrid)
+ *
+ * BM25F 역색인(FruitSearchIndex)과 임베딩 검색(VectorRetriever)을 병렬로 실행한 뒤
+ * Reciprocal Rank Fusion(RRF)으로 순위를 합칩니다.
+ * - 과일 점수 = Σ 1 / (k + 순위), 두 검색 결과에 모두 있으면 점수가 더해짐
+ * - 점수 척도가 다른 BM25 점수와 코사인 유사도를 정규화 없이 순위만으로 결합
+ * - 키워드 검색은 "비타민C" 같은 정확한 영양소명을, 벡터 검색은 "피로 회복"/"에너지 공급" 같은 표현 차이를 보완
+ *
+ * 지표:
+ * - fruit.rag.hybrid.search : 검색기별 소요 시간 (source=lexical/vector)
+ * - fruit.rag.hybrid.results : 최종 결과 수 (source=fused)와 그중 각 검색기 후보에 포함된 수 (source=lexical/vector/both)
+ *   검색기별 recall = results{source=lexical} / results{source=fused}
+ */
+@Slf4j
+@Component
+public class HybridRetriever implements FruitRetriever, MeterBinder {
+
+    private final FruitSearchIndex lexicalRetriever;
+    private final VectorRetriever vectorRetriever;
+    private final ExecutorService searchExecutor;
+
+    // RRF 순위 상수 (클수록 하위 순위의 영향이 커짐)
+    private final int rrfK;
+
+    // 각 검색기에서 가져올 후보 수 = limit * candidateFactor
+    private final int candidateFactor;
+
+    private final SourceStats lexicalStats = new SourceStats();
+    private final SourceStats vectorStats = new SourceStats();
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong overlapHits = new AtomicLong();
+
+    public HybridRetriever(FruitSearchIndex lexicalRetriever,
+            VectorRetriever vectorRetriever,
+            @Qualifier("fruitSearchExecutor") ExecutorService searchExecutor,
+            @Value("${fruit.rag.hybrid.rrf-k:60}") int rrfK,
+            @Value("${fruit.rag.hybrid.candidate-factor:4}") int candidateFactor) {
+        this.lexicalRetriever = lexicalRetriever;
+        this.vectorRetriever = vectorRetriever;
+        this.searchExecutor = searchExecutor;
+        this.rrfK = rrfK;
+        this.candidateFactor = Math.max(1, candidateFactor);
+    }
+
+    @Override
+    public String name() {
+        return "hybrid";
+    }
+
+    /**
+     * 두 검색기를 병렬 실행 후 RRF 점수 상위 limit 개 반환
+     * 두 검색기 모두 일치하는 과일이 없으면 키워드 검색의 기본 목록을 반환
+     */
+    @Override
+    public List<Fruit> search(String question, int limit) {
+        int candidates = limit * candidateFactor;
+
+        // 벡터 검색은 별도 스레드에서, 키워드 검색은 호출 스레드에서 실행
+        CompletableFuture<List<Fruit>> vectorFuture = CompletableFuture.supplyAsync(
+                () -> timed(vectorStats, vectorRetriever::searchMatches, question, candidates), searchExecutor);
+        List<Fruit> lexicalResults = timed(lexicalStats, lexicalRetriever::searchMatches, question, candidates);
+        List<Fruit> vectorResults = vectorFuture.join();
+
+        searches.incrementAndGet();
+        if (lexicalResults.isEmpty() && vectorResults.isEmpty()) {
+            return lexicalRetriever.search(question, limit);
+        }
+
+        List<Fruit> fused = fuse(lexicalResults, vectorResults, limit);
+        recordContribution(fused, lexicalResults, vectorResults);
+        return fused;
+    }
+
+    /**
+     * Reciprocal Rank Fusion (동점이면 키워드 검색 결과에 먼저 나온 과일 우선)
+     */
+    private List<Fruit> fuse(List<Fruit> lexicalResults, List<Fruit> vectorResults, int limit) {
+        Map<Long, Fruit> fruits = new LinkedHashMap<>();
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (List<Fruit> results : List.of(lexicalResults, vectorResults)) {
+            for (int rank = 0; rank < results.size(); rank++) {
+                Fruit fruit = results.get(rank);
+                fruits.putIfAbsent(fruit.getId(), fruit);
+                scores.merge(fruit.getId(), 1.0 / (rrfK + rank + 1), Double::sum);
+            }
+        }
+
+        List<Long> order = new ArrayList<>(fruits.keySet());
+        order.sort(Comparator.<Long>comparingDouble(scores::get).reversed());
+        return order.stream()
+                .limit(limit)
+                .map(fruits::get)
+                .toList();
+    }
+
+    /**
+     * 최종 결과에 각 검색기가 기여한 비율 기록 (검색기별 recall 근사치)
+     */
+    private void recordContribution(List<Fruit> fused, List<Fruit> lexicalResults, List<Fruit> vectorResults) {
+        Set<Long> lexicalIds = ids(lexicalResults);
+        Set<Long> vectorIds = ids(vectorResults);
+        for (Fruit fruit : fused) {
+            boolean lexical = lexicalIds.contains(fruit.getId());
+            boolean vector = vectorIds.contains(fruit.getId());
+            if (lexical && vector) {
+                overlapHits.incrementAndGet();
+            }
+            lexicalStats.record(lexical);
+            vectorStats.record(vector);
+        }
+    }
+
+    private static Set<Long> ids(List<Fruit> fruits) {
+        Set<Long> ids = new HashSet<>();
+        fruits.forEach(fruit -> ids.add(fruit.getId()));
+        return ids;
+    }
+
+    private static List<Fruit> timed(SourceStats stats, BiFunction<String, Integer, List<Fruit>> retriever,
+            String question, int limit) {
+        long start = System.nanoTime();
+        try {
+            return retriever.apply(question, limit);
+        } finally {
+            stats.recordLatency(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Micrometer 지표 등록 (검색기별 소요 시간, 최종 결과 기여 횟수)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindSource(registry, "lexical", lexicalStats);
+        bindSource(registry, "vector", vectorStats);
+        FunctionCounter.builder("fruit.rag.hybrid.results", lexicalStats.results, AtomicLong::get)
+                .description("하이브리드 검색 최종 결과 수")
+                .tag("source", "fused")
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.hybrid.results", overlapHits, AtomicLong::get)
+                .description("하이브리드 검색 최종 결과 수")
+                .tag("source", "both")
+                .register(registry);
+    }
+
+    private static void bindSource(MeterRegistry registry, String source, SourceStats stats) {
+        FunctionTimer.builder("fruit.rag.hybrid.search", stats,
+                        value -> value.calls.get(), value -> value.totalNanos.get(), TimeUnit.NANOSECONDS)
+                .description("하이브리드 검색의 검색기별 소요 시간")
+                .tag("source", source)
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.hybrid.results", stats.contributed, AtomicLong::get)
+                .description("하이브리드 검색 최종 결과 수")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    /**
+     * 하이브리드 검색 통계
+     * - latency: 검색기별 평균/최대 소요 시간 (ms)
+     * - recall: 최종 결과 중 해당 검색기의 후보에 포함된 비율
+     * - overlap: 최종 결과 중 두 검색기 모두에 포함된 비율
+     */
+    public Map<String, Object> stats() {
+        long hits = lexicalStats.results.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rrfK", rrfK);
+        stats.put("candidateFactor", candidateFactor);
+        stats.put("searches", searches.get());
+        stats.put("lexical", lexicalStats.toMap());
+        stats.put("vector", vectorStats.toMap());
+        stats.put("overlap", hits == 0 ? 0.0 : (double) overlapHits.get() / hits);
+        return stats;
+    }
+
+    /**
+     * 검색기별 소요 시간 및 최종 결과 기여 횟수
+     */
+    private static class SourceStats {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong results = new AtomicLong();
+        private final AtomicLong contributed = new AtomicLong();
+
+        void recordLatency(long nanos) {
+            calls.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        void record(boolean hit) {
+            results.incrementAndGet();
+            if (hit) {
+                contributed.incrementAndGet();
+            }
+        }
+
+        Map<String, Object> toMap() {
+            long count = calls.get();
+            long total = results.get();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("calls", count);
+            map.put("avgLatencyMs", count == 0 ? 0.0 : totalNanos.get() / 1_000_000.0 / count);
+            map.put("maxLatencyMs", maxNanos.get() / 1_000_000.0);
+            map.put("recall", total == 0 ? 0.0 : (double) contributed.get() / total);
+            return map;
+        }
+    }
+}
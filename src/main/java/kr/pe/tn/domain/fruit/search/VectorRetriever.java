@@ -0,0 +1,189 @@
+package kr.pe.tn.domain.fruit.search;
+
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import kr.pe.tn.domain.fruit.repository.FruitRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 임베딩 벡터 기반 과일 검색 (fruit.rag.retriever=vector)
+ *
+ * 과일마다 HashingEmbedder로 만든 벡터를 FruitVectorStore(off-heap)에 보관하고,
+ * 질문 벡터와의 코사인 유사도 상위 k개를 전수 비교(brute-force)로 찾습니다.
+ * 벡터 파일은 메모리 매핑되어 재시작 시 내용이 바뀐 과일만 다시 임베딩합니다.
+ */
+@Slf4j
+@Component
+public class VectorRetriever implements FruitRetriever, DisposableBean {
+
+    private final FruitRepository fruitRepository;
+    private final HashingEmbedder embedder;
+    private final FruitVectorStore store;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 과일 id -> 과일 (검색 결과 변환용)
+    private final NavigableMap<Long, Fruit> fruits = new TreeMap<>();
+
+    private volatile boolean loaded = false;
+
+    public VectorRetriever(FruitRepository fruitRepository,
+            HashingEmbedder embedder,
+            @Value("${fruit.rag.vector.index-path:}") String indexPath) throws IOException {
+        this.fruitRepository = fruitRepository;
+        this.embedder = embedder;
+        this.store = new FruitVectorStore(
+                indexPath.isBlank() ? null : Path.of(indexPath),
+                HashingEmbedder.DIMENSION,
+                HashingEmbedder.VERSION);
+        this.store.open();
+    }
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+
+    /**
+     * 애플리케이션 시작 완료 후 벡터 저장소 동기화
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild(fruitRepository.findAll());
+    }
+
+    /**
+     * 과일 저장 트랜잭션 커밋 후 해당 과일 벡터만 갱신
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(FruitCatalogChangedEvent event) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            event.getFruits().forEach(this::embedIfChanged);
+            store.flush();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 일괄 등록 트랜잭션 커밋 후 전체 동기화 (내용이 바뀐 과일만 임베딩)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(FruitCatalogReloadedEvent event) {
+        rebuild(fruitRepository.findAll());
+    }
+
+    /**
+     * 전체 과일 기준으로 저장소 동기화
+     * 저장된 내용 해시가 같은 과일은 다시 임베딩하지 않고, 더 이상 없는 과일은 제거
+     */
+    public void rebuild(Collection<Fruit> allFruits) {
+        lock.writeLock().lock();
+        try {
+            fruits.clear();
+            Set<Long> currentIds = new HashSet<>();
+            int embedded = 0;
+            for (Fruit fruit : allFruits) {
+                currentIds.add(fruit.getId());
+                if (embedIfChanged(fruit)) {
+                    embedded++;
+                }
+            }
+
+            List<Long> staleIds = store.ids().stream()
+                    .filter(id -> !currentIds.contains(id))
+                    .toList();
+            staleIds.forEach(store::remove);
+
+            store.flush();
+            loaded = true;
+            log.info("과일 벡터 색인 동기화 완료: 전체 {} 개, 신규 임베딩 {} 개, 제거 {} 개",
+                    store.size(), embedded, staleIds.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Fruit> search(String question, int limit) {
+        List<Fruit> matches = searchMatches(question, limit);
+        if (!matches.isEmpty()) {
+            return matches;
+        }
+
+        lock.readLock().lock();
+        try {
+            return fruits.values().stream().limit(limit).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 코사인 유사도가 0보다 큰 과일만 유사도 순으로 반환 (유사한 과일이 없으면 빈 목록)
+     * 하이브리드 검색에서 기본 목록이 순위 융합에 섞이지 않도록 사용
+     */
+    public List<Fruit> searchMatches(String question, int limit) {
+        ensureLoaded();
+        float[] query = embedder.embed(question);
+
+        lock.readLock().lock();
+        try {
+            return store.topK(query, limit).stream()
+                    .map(fruits::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        lock.writeLock().lock();
+        try {
+            store.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 내용이 바뀐 경우에만 임베딩 후 저장 (write lock 보유 상태에서 호출)
+     *
+     * @return 새로 임베딩했는지 여부
+     */
+    private boolean embedIfChanged(Fruit fruit) {
+        fruits.put(fruit.getId(), fruit);
+        long hash = embedder.contentHash(fruit);
+        Long storedHash = store.contentHash(fruit.getId());
+        if (storedHash != null && storedHash == hash) {
+            return false;
+        }
+        store.put(fruit.getId(), hash, embedder.embed(fruit));
+        return true;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild(fruitRepository.findAll());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package kr.pe.tn.domain.fruit.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import kr.pe.tn.domain.fruit.search.FruitCatalogChangedEvent;
+import kr.pe.tn.domain.fruit.search.FruitCatalogReloadedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Gemini 답변 캐시 (LRU + TTL)
+ *
+ * 같은 질문에 같은 과일이 검색되면 Gemini를 다시 호출하지 않고 저장된 답변을 재사용합니다.
+ * - 키: 정규화된 질문 + 검색된 과일 id 목록
+ * - 최대 개수를 넘으면 가장 오래 사용되지 않은 답변부터 제거 (LRU)
+ * - 저장 후 TTL이 지나면 만료
+ * - 키에 포함된 과일이 수정되면 해당 답변 무효화
+ * - 검색을 시작한 뒤 카탈로그가 바뀌었으면 저장하지 않음 (바뀌기 전 과일 정보로 만든 답변이 무효화 후에 저장되지 않도록)
+ *   검색 전에 version() 을 읽어 두었다가 put 에 넘기고, 카탈로그 변경 이벤트마다 버전이 올라갑니다.
+ */
+@Component
+public class FruitAnswerCache implements MeterBinder {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // 접근 순서 유지 LinkedHashMap (맨 앞이 가장 오래 사용되지 않은 항목)
+    private final LinkedHashMap<String, CachedAnswer> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // 과일 id -> 해당 과일이 포함된 캐시 키 (무효화용)
+    private final Map<Long, Set<String>> keysByFruit = new HashMap<>();
+
+    // 카탈로그 변경 횟수 (this 로 동기화)
+    private long version;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong stalePuts = new AtomicLong();
+
+    public FruitAnswerCache(
+            @Value("${fruit.rag.cache.max-size:500}") int maxSize,
+            @Value("${fruit.rag.cache.ttl:PT30M}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * 캐시 키 생성: 정규화된 질문 + 정렬된 과일 id
+     */
+    public static String key(String question, List<Fruit> fruits) {
+        String fruitIds = fruits.stream()
+                .map(Fruit::getId)
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        return normalizeQuestion(question) + "|" + fruitIds;
+    }
+
+    /**
+     * 질문 정규화: 유니코드 정규화(NFC), 소문자 변환, 공백 축약, 끝의 문장부호 제거
+     */
+    public static String normalizeQuestion(String question) {
+        if (question == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(question, Normalizer.Form.NFC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+        return normalized.replaceAll("[?!.~\\s]+$", "");
+    }
+
+    /**
+     * 캐시된 답변 조회 (없거나 만료되었으면 null)
+     */
+    public synchronized String get(String key) {
+        CachedAnswer cached = entries.get(key);
+        if (cached == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached.answer;
+    }
+
+    /**
+     * 현재 카탈로그 버전 (검색 시작 전에 읽어 put 에 전달)
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * 답변 저장 (최대 개수 초과 시 LRU 제거)
+     * 검색을 시작할 때 읽은 catalogVersion 이후 카탈로그가 바뀌었으면 저장하지 않음
+     */
+    public synchronized void put(String key, List<Fruit> fruits, String answer, long catalogVersion) {
+        if (catalogVersion != version) {
+            stalePuts.incrementAndGet();
+            return;
+        }
+        List<Long> fruitIds = fruits.stream().map(Fruit::getId).toList();
+        remove(key);
+        entries.put(key, new CachedAnswer(answer, fruitIds, System.currentTimeMillis() + ttlMillis));
+        fruitIds.forEach(id -> keysByFruit.computeIfAbsent(id, k -> new HashSet<>()).add(key));
+
+        Iterator<Map.Entry<String, CachedAnswer>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            Map.Entry<String, CachedAnswer> entry = eldest.next();
+            eldest.remove();
+            unlinkFruits(entry.getKey(), entry.getValue());
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * 과일 저장 트랜잭션 커밋 후 해당 과일이 포함된 답변 무효화
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(FruitCatalogChangedEvent event) {
+        version++;
+        for (Fruit fruit : event.getFruits()) {
+            Set<String> keys = keysByFruit.remove(fruit.getId());
+            if (keys == null) {
+                continue;
+            }
+            for (String key : new ArrayList<>(keys)) {
+                if (remove(key)) {
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * 과일 일괄 등록 커밋 후 버전만 올림 (검색 중이던 답변은 저장하지 않음, 새 과일은 기존 캐시 키에 없음)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogReloaded(FruitCatalogReloadedEvent event) {
+        version++;
+    }
+
+    /**
+     * 캐시 통계 (적중/미적중 횟수, 적중률, 현재 크기 등)
+     */
+    public synchronized Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("stalePuts", stalePuts.get());
+        return stats;
+    }
+
+    /**
+     * Micrometer 지표 등록 (조회 적중/실패, 제거/무효화 횟수, 카탈로그 변경으로 저장하지 않은 횟수, 현재 크기)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("fruit.rag.cache.requests", hits, AtomicLong::get)
+                .description("답변 캐시 조회 횟수")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.cache.requests", misses, AtomicLong::get)
+                .description("답변 캐시 조회 횟수")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.cache.evictions", evictions, AtomicLong::get)
+                .tag("cause", "size")
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.cache.evictions", invalidations, AtomicLong::get)
+                .tag("cause", "invalidation")
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.cache.stale-puts", stalePuts, AtomicLong::get)
+                .description("검색 후 카탈로그가 바뀌어 저장하지 않은 답변 수")
+                .register(registry);
+        Gauge.builder("fruit.rag.cache.size", this, cache -> cache.size())
+                .register(registry);
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean remove(String key) {
+        CachedAnswer removed = entries.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        unlinkFruits(key, removed);
+        return true;
+    }
+
+    private void unlinkFruits(String key, CachedAnswer cached) {
+        if (cached == null) {
+            return;
+        }
+        for (Long fruitId : cached.fruitIds) {
+            Set<String> keys = keysByFruit.get(fruitId);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByFruit.remove(fruitId);
+                }
+            }
+        }
+    }
+
+    /**
+     * 캐시 항목: 답변, 키에 포함된 과일 id, 만료 시각
+     */
+    private static class CachedAnswer {
+        private final String answer;
+        private final List<Long> fruitIds;
+        private final long expiresAt;
+
+        private CachedAnswer(String answer, List<Long> fruitIds, long expiresAt) {
+            this.answer = answer;
+            this.fruitIds = fruitIds;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
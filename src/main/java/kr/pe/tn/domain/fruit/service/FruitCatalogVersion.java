@@ -0,0 +1,89 @@
+package kr.pe.tn.domain.fruit.service;
+
+import kr.pe.tn.domain.fruit.dto.FruitDTO;
+import kr.pe.tn.domain.fruit.repository.FruitRepository;
+import kr.pe.tn.domain.fruit.search.FruitCatalogChangedEvent;
+import kr.pe.tn.domain.fruit.search.FruitCatalogReloadedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 과일 카탈로그 버전 (ETag 생성용)
+ *
+ * DB에 저장된 카탈로그 상태(과일 수, 가장 큰 id, 가장 최근 저장 시각)로 버전을 만들므로
+ * 여러 서버가 같은 DB를 사용하면 어느 서버에서 받은 ETag든 다른 서버에서도 그대로 비교할 수 있고, 재시작해도 바뀌지 않습니다.
+ *
+ * 요청마다 DB를 조회하지 않도록 refresh 동안 읽은 버전을 재사용합니다.
+ * 이 서버에서 저장/일괄 등록한 변경은 커밋 직후 바로 반영하고,
+ * 다른 서버에서 저장한 변경은 최대 refresh 만큼 늦게 반영됩니다. (그동안은 변경 전 ETag로 304 응답 가능)
+ */
+@Component
+public class FruitCatalogVersion {
+
+    private final FruitRepository fruitRepository;
+    private final long refreshNanos;
+
+    // 이 서버에서 커밋된 카탈로그 변경 횟수 (변경 전에 읽기 시작한 버전을 재사용하지 않도록)
+    private final AtomicLong changes = new AtomicLong();
+
+    private volatile Loaded loaded;
+
+    public FruitCatalogVersion(FruitRepository fruitRepository,
+            @Value("${fruit.catalog.version-refresh:2s}") Duration refresh) {
+        this.fruitRepository = fruitRepository;
+        this.refreshNanos = refresh.toNanos();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(FruitCatalogChangedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(FruitCatalogReloadedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    /**
+     * 현재 카탈로그 버전 기준 strong ETag (예: "fruits-14-14-6254f0a1b2c3-list-1-20")
+     *
+     * @param scope 응답 범위 (목록 페이지, 과일 id 등)
+     */
+    public String etag(String scope) {
+        return "\"fruits-" + version() + "-" + scope + "\"";
+    }
+
+    /**
+     * 카탈로그 버전 (refresh 가 지났거나 이 서버에서 변경했으면 DB에서 다시 읽음)
+     */
+    String version() {
+        Loaded current = loaded;
+        long generation = changes.get();
+        long now = System.nanoTime();
+        if (current == null || current.generation() != generation || now - current.loadedAt() > refreshNanos) {
+            current = new Loaded(format(fruitRepository.findCatalogState()), generation, now);
+            loaded = current;
+        }
+        return current.version();
+    }
+
+    private static String format(FruitDTO.CatalogState state) {
+        LocalDateTime lastModified = state.getLastModified();
+        long modifiedMicros = lastModified == null ? 0
+                : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return state.getFruitCount() + "-" + (state.getMaxId() == null ? 0 : state.getMaxId())
+                + "-" + Long.toHexString(modifiedMicros);
+    }
+
+    /**
+     * DB에서 읽은 버전 (읽기 시작할 때의 변경 횟수, 읽은 시각)
+     */
+    private record Loaded(String version, long generation, long loadedAt) {
+    }
+}
@@ -0,0 +1,335 @@
+package kr.pe.tn.domain.fruit.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import kr.pe.tn.domain.fruit.search.FruitCatalogChangedEvent;
+import kr.pe.tn.domain.fruit.search.FruitCatalogReloadedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 프롬프트 컨텍스트 구성기 (토큰 예산 관리)
+ *
+ * 검색 순위가 높은 과일부터 컨텍스트에 담고, 예상 토큰 수가 예산(max-tokens)을 넘지 않도록 합니다.
+ * - 설명은 과일당 max-description-tokens 까지만 사용하고 문장/어절 경계에서 자른 뒤 "…"을 붙임
+ * - 남은 예산이 부족하면 설명을 더 줄이고, 기본 정보도 담을 수 없으면 이후 과일은 제외 (첫 과일은 항상 포함)
+ * - 예상 토큰 수는 문자 종류별 근사치 (한글/한자 1글자 = 1토큰, 그 외 4글자 = 1토큰)
+ *
+ * 과일별 조각(기본 정보 + 설명)과 예상 토큰 수는 처음 사용할 때 한 번 만들어 캐시하고,
+ * 과일 저장/일괄 등록 이벤트를 받을 때만 다시 만듭니다. 요청마다 하는 일은 조각을 이어 붙이는 것뿐이며,
+ * 같은 과일은 항상 같은 문자열이 되므로 프롬프트 앞부분이 요청 간에 안정적으로 유지됩니다.
+ */
+@Slf4j
+@Component
+public class FruitContextBuilder implements MeterBinder {
+
+    private static final String EMPTY_CONTEXT = "현재 데이터베이스에 저장된 과일 정보가 없습니다.";
+    private static final String HEADER = "다음은 과일 데이터베이스에서 검색한 정보입니다:\n\n";
+    private static final String ELLIPSIS = "…";
+
+    private final int maxTokens;
+    private final int maxDescriptionTokens;
+
+    private final AtomicLong prompts = new AtomicLong();
+    private final AtomicLong promptTokens = new AtomicLong();
+    private final AtomicLong maxPromptTokens = new AtomicLong();
+    private final AtomicLong truncatedDescriptions = new AtomicLong();
+    private final AtomicLong droppedFruits = new AtomicLong();
+
+    // 과일 id -> 미리 만들어 둔 컨텍스트 조각 (과일 저장/일괄 등록 시에만 갱신)
+    private final ConcurrentHashMap<Long, Fragment> fragments = new ConcurrentHashMap<>();
+    private final AtomicLong fragmentHits = new AtomicLong();
+    private final AtomicLong fragmentMisses = new AtomicLong();
+
+    public FruitContextBuilder(
+            @Value("${fruit.rag.context.max-tokens:1500}") int maxTokens,
+            @Value("${fruit.rag.context.max-description-tokens:200}") int maxDescriptionTokens) {
+        this.maxTokens = maxTokens;
+        this.maxDescriptionTokens = maxDescriptionTokens;
+    }
+
+    /**
+     * 검색 순위 순서의 과일 목록으로 예산 안의 컨텍스트 구성
+     */
+    public String build(List<Fruit> rankedFruits) {
+        if (rankedFruits.isEmpty()) {
+            return EMPTY_CONTEXT;
+        }
+
+        StringBuilder context = new StringBuilder(HEADER);
+        int remaining = maxTokens - estimateTokens(HEADER);
+        int included = 0;
+
+        for (Fruit fruit : rankedFruits) {
+            Fragment fragment = fragment(fruit);
+            if (fragment.tokens() <= remaining) {
+                // 대부분의 경우: 미리 만들어 둔 조각을 그대로 이어 붙임
+                context.append(fragment.text());
+                remaining -= fragment.tokens();
+                if (fragment.truncated()) {
+                    truncatedDescriptions.incrementAndGet();
+                }
+                included++;
+                continue;
+            }
+
+            if (fragment.summaryTokens() > remaining && included > 0) {
+                break; // 가장 관련도 높은 과일은 예산이 부족해도 기본 정보만큼은 포함
+            }
+
+            // 남은 예산에 맞춰 설명만 더 줄임
+            int descriptionBudget = Math.max(0, remaining - fragment.summaryTokens());
+            String description = truncate(nullToEmpty(fruit.getDescription()), descriptionBudget);
+
+            context.append(fragment.summary()).append("설명: ").append(description).append("\n\n");
+            remaining -= fragment.summaryTokens() + estimateTokens(description);
+            included++;
+        }
+
+        if (included < rankedFruits.size()) {
+            droppedFruits.addAndGet(rankedFruits.size() - included);
+            log.debug("컨텍스트 예산 초과로 과일 {} 개 제외", rankedFruits.size() - included);
+        }
+        return context.toString();
+    }
+
+    /**
+     * 과일별 컨텍스트 조각 조회 (없거나 과일 내용과 다르면 새로 만들어 캐시)
+     *
+     * 과일 저장 직전에 검색된 이전 내용의 과일로 조각을 만드는 요청이 onCatalogChanged 이후에 끝나면
+     * 이전 내용의 조각이 다시 캐시될 수 있으므로, 조각을 쓸 때마다 만든 원본 과일의 값과 비교합니다.
+     * (같은 과일 객체의 필드는 같은 문자열 인스턴스라 대부분 참조 비교로 끝남)
+     */
+    private Fragment fragment(Fruit fruit) {
+        if (fruit.getId() == null) {
+            return newFragment(fruit);
+        }
+        Fragment cached = fragments.get(fruit.getId());
+        if (cached != null && cached.isFrom(fruit)) {
+            fragmentHits.incrementAndGet();
+            return cached;
+        }
+        fragmentMisses.incrementAndGet();
+        return fragments.compute(fruit.getId(),
+                (id, current) -> current != null && current.isFrom(fruit) ? current : newFragment(fruit));
+    }
+
+    /**
+     * 과일 하나의 컨텍스트 조각 생성 (설명은 max-description-tokens 까지)
+     */
+    private Fragment newFragment(Fruit fruit) {
+        String summary = summary(fruit);
+        int summaryTokens = estimateTokens(summary) + estimateTokens("설명: \n\n");
+
+        String fullDescription = nullToEmpty(fruit.getDescription());
+        String description = abbreviate(fullDescription, maxDescriptionTokens);
+        String text = summary + "설명: " + description + "\n\n";
+
+        return new Fragment(fruit, text, summaryTokens + estimateTokens(description), summary, summaryTokens,
+                !description.equals(fullDescription));
+    }
+
+    /**
+     * 과일 저장 트랜잭션 커밋 후 해당 과일 조각만 다시 만들도록 제거
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(FruitCatalogChangedEvent event) {
+        event.getFruits().forEach(fruit -> {
+            if (fruit.getId() != null) {
+                fragments.remove(fruit.getId());
+            }
+        });
+    }
+
+    /**
+     * 일괄 등록 트랜잭션 커밋 후 전체 조각 제거
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(FruitCatalogReloadedEvent event) {
+        fragments.clear();
+    }
+
+    /**
+     * 미리 만들어 둔 과일별 컨텍스트 조각 (불변)
+     *
+     * @param source        조각을 만든 과일 (캐시된 조각이 현재 과일 내용과 같은지 확인용)
+     * @param text          컨텍스트에 그대로 붙이는 전체 조각 (기본 정보 + 설명)
+     * @param tokens        전체 조각의 예상 토큰 수
+     * @param summary       설명을 제외한 기본 정보 (예산이 부족해 설명을 더 줄일 때 사용)
+     * @param summaryTokens 기본 정보 + "설명: " 구분자의 예상 토큰 수
+     * @param truncated     설명이 max-description-tokens 로 축약되었는지 여부
+     */
+    private record Fragment(Fruit source, String text, int tokens, String summary, int summaryTokens,
+            boolean truncated) {
+
+        /**
+         * 조각에 들어간 필드가 모두 같은 과일인지
+         */
+        boolean isFrom(Fruit fruit) {
+            return source == fruit
+                    || (Objects.equals(source.getName(), fruit.getName())
+                            && Objects.equals(source.getEnglishName(), fruit.getEnglishName())
+                            && Objects.equals(source.getBenefits(), fruit.getBenefits())
+                            && Objects.equals(source.getNutrients(), fruit.getNutrients())
+                            && Objects.equals(source.getSeason(), fruit.getSeason())
+                            && Objects.equals(source.getOrigin(), fruit.getOrigin())
+                            && Objects.equals(source.getDescription(), fruit.getDescription()));
+        }
+    }
+
+    /**
+     * 최종 프롬프트 예상 토큰 수 기록 (통계용, 대화 이력 턴 포함)
+     */
+    public void recordPrompt(long tokens) {
+        prompts.incrementAndGet();
+        promptTokens.addAndGet(tokens);
+        maxPromptTokens.accumulateAndGet(tokens, Math::max);
+    }
+
+    /**
+     * 컨텍스트 예산 통계 (예산, 평균/최대 예상 프롬프트 토큰 수, 설명 축약/과일 제외 횟수)
+     */
+    public Map<String, Object> stats() {
+        long count = prompts.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxTokens", maxTokens);
+        stats.put("maxDescriptionTokens", maxDescriptionTokens);
+        stats.put("prompts", count);
+        stats.put("avgPromptTokens", count == 0 ? 0.0 : (double) promptTokens.get() / count);
+        stats.put("maxPromptTokens", maxPromptTokens.get());
+        stats.put("truncatedDescriptions", truncatedDescriptions.get());
+        stats.put("droppedFruits", droppedFruits.get());
+        stats.put("cachedFragments", fragments.size());
+        stats.put("fragmentHits", fragmentHits.get());
+        stats.put("fragmentMisses", fragmentMisses.get());
+        return stats;
+    }
+
+    /**
+     * Micrometer 지표 등록 (조각 캐시 적중/실패, 설명 축약/과일 제외 횟수)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("fruit.rag.context.fragments", fragmentHits, AtomicLong::get)
+                .description("과일별 컨텍스트 조각 조회 횟수")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.context.fragments", fragmentMisses, AtomicLong::get)
+                .description("과일별 컨텍스트 조각 조회 횟수")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.context.truncated.descriptions", truncatedDescriptions, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.context.dropped.fruits", droppedFruits, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("fruit.rag.context.max.tokens", () -> maxTokens)
+                .register(registry);
+    }
+
+    /**
+     * 예상 토큰 수 (한글/한자 등 CJK 문자는 1글자 1토큰, 그 외는 4글자 1토큰으로 근사)
+     */
+    public static int estimateTokens(CharSequence text) {
+        int cjk = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (isWide(text.charAt(i))) {
+                cjk++;
+            } else {
+                other++;
+            }
+        }
+        return cjk + (other + 3) / 4;
+    }
+
+    /**
+     * 설명을 제외한 과일 기본 정보 (이름, 효능, 영양소, 제철, 원산지)
+     */
+    private static String summary(Fruit fruit) {
+        return new StringBuilder(128)
+                .append("과일명: ").append(fruit.getName()).append(" (").append(fruit.getEnglishName()).append(")\n")
+                .append("효능: ").append(fruit.getBenefits()).append('\n')
+                .append("영양소: ").append(fruit.getNutrients()).append('\n')
+                .append("제철: ").append(fruit.getSeason()).append('\n')
+                .append("원산지: ").append(fruit.getOrigin()).append('\n')
+                .toString();
+    }
+
+    /**
+     * 설명 자르기 (축약 횟수 통계 기록)
+     */
+    private String truncate(String text, int budget) {
+        if (estimateTokens(text) <= budget) {
+            return text;
+        }
+        truncatedDescriptions.incrementAndGet();
+        return abbreviate(text, budget);
+    }
+
+    /**
+     * 예상 토큰 수가 budget 이하가 되도록 자르기
+     * 가능하면 마지막 문장 끝(. ! ?) 또는 공백에서 자르고 "…"을 붙임
+     */
+    public static String abbreviate(String text, int budget) {
+        if (estimateTokens(text) <= budget) {
+            return text;
+        }
+        if (budget <= 1) {
+            return budget == 1 ? ELLIPSIS : "";
+        }
+
+        // budget - 1 (말줄임표 몫) 토큰 안에 들어가는 가장 긴 접두사 길이
+        int limit = budget - 1;
+        int cjk = 0;
+        int other = 0;
+        int end = 0;
+        while (end < text.length()) {
+            char c = text.charAt(end);
+            int nextCjk = cjk + (isWide(c) ? 1 : 0);
+            int nextOther = other + (isWide(c) ? 0 : 1);
+            if (nextCjk + (nextOther + 3) / 4 > limit) {
+                break;
+            }
+            cjk = nextCjk;
+            other = nextOther;
+            end++;
+        }
+
+        // 잘린 부분의 뒤쪽 30% 안에 문장 끝이나 공백이 있으면 그 위치에서 자름
+        int floor = end * 7 / 10;
+        int cut = end;
+        for (int i = end - 1; i >= floor; i--) {
+            char c = text.charAt(i);
+            if (c == '.' || c == '!' || c == '?') {
+                cut = i + 1;
+                break;
+            }
+            if (Character.isWhitespace(c) && cut == end) {
+                cut = i;
+            }
+        }
+        return text.substring(0, cut).stripTrailing() + ELLIPSIS;
+    }
+
+    private static boolean isWide(char c) {
+        return (c >= 0xAC00 && c <= 0xD7A3) // 한글 음절
+                || (c >= 0x3130 && c <= 0x318F) // 한글 호환 자모
+                || (c >= 0x4E00 && c <= 0x9FFF); // CJK 통합 한자
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
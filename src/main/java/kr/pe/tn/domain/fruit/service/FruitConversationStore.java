@@ -0,0 +1,297 @@
+package kr.pe.tn.domain.fruit.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 과일 AI 대화 세션 저장소 (멀티턴 질문용)
+ *
+ * 세션마다 최근 대화(max-turns)를 링 버퍼로 원문 보관하고, 밀려난 대화는 한 줄 요약으로 바꿔
+ * summary-max-tokens 안에서 유지하므로 대화가 길어져도 프롬프트 크기가 일정합니다.
+ * 직전 대화에서 검색된 과일 이름도 기억하여 "그 중에", "그거" 같은 후속 질문에 사용합니다.
+ *
+ * - 대화를 이어가겠다고 요청(conversation=true)하거나 후속 질문(sessionId)을 보낼 때만 세션을 만들고,
+ *   한 번만 묻는 질문은 저장하지 않는 일회용 대화(id 없음)로 처리
+ * - 세션 id는 서버가 발급하고 발급받은 사용자만 사용 (모르는 id, 만료된 id, 다른 사용자의 id로 요청하면 새 세션 발급)
+ * - 마지막 사용 후 ttl 이 지난 세션은 주기적으로 제거
+ * - 세션 수가 max-sessions 에 도달하면 가장 오래 사용하지 않은 세션부터 제거
+ *   (접근 순서 LinkedHashMap 이므로 O(1), 세션 목록은 잠금 안에서만 변경하므로 max-sessions 를 넘지 않음)
+ */
+@Slf4j
+@Component
+public class FruitConversationStore implements MeterBinder {
+
+    private final int maxTurns;
+    private final int turnMaxTokens;
+    private final int summaryMaxTokens;
+    private final int rememberedFruits;
+    private final int maxSessions;
+    private final long ttlMillis;
+
+    // 세션 id -> 대화 (접근 순서, 가장 오래 사용하지 않은 세션이 맨 앞), this 로 동기화
+    private final LinkedHashMap<String, Conversation> sessions = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Conversation> eldest) {
+            if (size() > maxSessions) {
+                evicted.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong summarizedTurns = new AtomicLong();
+
+    public FruitConversationStore(
+            @Value("${fruit.rag.conversation.max-turns:4}") int maxTurns,
+            @Value("${fruit.rag.conversation.turn-max-tokens:200}") int turnMaxTokens,
+            @Value("${fruit.rag.conversation.summary-max-tokens:300}") int summaryMaxTokens,
+            @Value("${fruit.rag.conversation.remembered-fruits:5}") int rememberedFruits,
+            @Value("${fruit.rag.conversation.max-sessions:10000}") int maxSessions,
+            @Value("${fruit.rag.conversation.ttl:30m}") Duration ttl) {
+        this.maxTurns = maxTurns;
+        this.turnMaxTokens = turnMaxTokens;
+        this.summaryMaxTokens = summaryMaxTokens;
+        this.rememberedFruits = rememberedFruits;
+        this.maxSessions = maxSessions;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * 대화 열기
+     *
+     * @param sessionId 이전 응답의 세션 id (첫 질문이면 null)
+     * @param owner     요청한 사용자 (세션을 발급받은 사용자만 이어서 사용)
+     * @param create    세션이 없을 때 새로 만들지 (false 이고 sessionId도 없으면 저장하지 않는 일회용 대화)
+     */
+    public Conversation open(String sessionId, String owner, boolean create) {
+        long now = System.currentTimeMillis();
+        if (sessionId == null && !create) {
+            return new Conversation(null, owner, now);
+        }
+
+        synchronized (this) {
+            if (sessionId != null) {
+                Conversation conversation = sessions.get(sessionId);
+                if (conversation != null && conversation.isExpired(now)) {
+                    sessions.remove(sessionId);
+                    expired.incrementAndGet();
+                } else if (conversation != null && Objects.equals(conversation.owner, owner)) {
+                    conversation.touch(now);
+                    return conversation;
+                } else if (conversation != null) {
+                    log.debug("다른 사용자의 과일 AI 대화 세션 요청, 새 세션 발급: {}", sessionId);
+                }
+            }
+
+            Conversation conversation = new Conversation(UUID.randomUUID().toString(), owner, now);
+            sessions.put(conversation.getId(), conversation);
+            created.incrementAndGet();
+            return conversation;
+        }
+    }
+
+    /**
+     * 마지막 사용 후 ttl 이 지난 세션 제거
+     */
+    @Scheduled(fixedDelayString = "${fruit.rag.conversation.eviction-interval:1m}")
+    public synchronized void evictExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Iterator<Conversation> it = sessions.values().iterator(); it.hasNext(); ) {
+            if (it.next().isExpired(now)) {
+                it.remove();
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            expired.addAndGet(removed);
+            log.debug("만료된 과일 AI 대화 세션 {} 개 제거", removed);
+        }
+    }
+
+    private synchronized int sessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * 세션 통계 (현재 세션 수, 생성/만료/용량 초과 제거 수, 요약된 대화 수)
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", sessionCount());
+        stats.put("maxSessions", maxSessions);
+        stats.put("maxTurns", maxTurns);
+        stats.put("created", created.get());
+        stats.put("expired", expired.get());
+        stats.put("evicted", evicted.get());
+        stats.put("summarizedTurns", summarizedTurns.get());
+        return stats;
+    }
+
+    /**
+     * Micrometer 지표 등록 (현재 세션 수, 생성/만료/용량 초과 제거 수, 요약된 대화 수)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("fruit.rag.conversation.sessions", this, FruitConversationStore::sessionCount)
+                .description("현재 대화 세션 수")
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.conversation.created", created, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.conversation.removed", expired, AtomicLong::get)
+                .tag("cause", "expired")
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.conversation.removed", evicted, AtomicLong::get)
+                .tag("cause", "capacity")
+                .register(registry);
+        FunctionCounter.builder("fruit.rag.conversation.summarized.turns", summarizedTurns, AtomicLong::get)
+                .register(registry);
+    }
+
+    /**
+     * 대화 한 턴 (답변은 turn-max-tokens 로 축약하여 보관)
+     */
+    public record Turn(String question, String answer) {
+    }
+
+    /**
+     * 프롬프트 구성 시점의 대화 이력 스냅샷
+     *
+     * @param summary      링 버퍼에서 밀려난 이전 대화 요약 (없으면 빈 문자열)
+     * @param turns        최근 대화 (오래된 순)
+     * @param recentFruits 직전 대화들에서 검색된 과일 이름 (최근 순)
+     */
+    public record History(String summary, List<Turn> turns, List<String> recentFruits) {
+
+        public boolean isEmpty() {
+            return turns.isEmpty() && summary.isEmpty();
+        }
+
+        /**
+         * 후속 질문 검색어: 직전 질문을 덧붙여 대명사("그 중에", "그거")만 있는 질문도 같은 주제로 검색
+         */
+        public String searchQuery(String question) {
+            return turns.isEmpty() ? question : turns.get(turns.size() - 1).question() + " " + question;
+        }
+
+        /**
+         * 최근 대화(turns) 부분의 예상 토큰 수 (통계용, 요약은 프롬프트 본문에 포함되므로 제외)
+         */
+        public int estimateTurnTokens() {
+            int tokens = 0;
+            for (Turn turn : turns) {
+                tokens += FruitContextBuilder.estimateTokens(turn.question())
+                        + FruitContextBuilder.estimateTokens(turn.answer());
+            }
+            return tokens;
+        }
+    }
+
+    /**
+     * 세션 하나의 대화 상태 (세션 단위로 동기화)
+     */
+    public class Conversation {
+
+        // 저장하지 않는 일회용 대화이면 null
+        @Getter
+        private final String id;
+
+        private final String owner;
+
+        private final ArrayDeque<Turn> turns = new ArrayDeque<>();
+
+        // 요약 줄 (오래된 순), 예산 초과 시 앞에서부터 제거
+        private final ArrayDeque<String> summaryLines = new ArrayDeque<>();
+        private int summaryTokens = 0;
+
+        // 최근 검색된 과일 이름 (삽입 순서 = 오래된 순)
+        private final LinkedHashSet<String> fruits = new LinkedHashSet<>();
+
+        private volatile long lastAccess;
+
+        private Conversation(String id, String owner, long now) {
+            this.id = id;
+            this.owner = owner;
+            this.lastAccess = now;
+        }
+
+        public synchronized History history() {
+            List<String> recentFruits = fruits.reversed().stream().toList();
+            return new History(String.join("\n", summaryLines), List.copyOf(turns), recentFruits);
+        }
+
+        /**
+         * 대화 한 턴 기록 (링 버퍼가 가득 차면 가장 오래된 턴을 요약으로 이동)
+         */
+        public synchronized void record(String question, String answer, List<String> fruitNames) {
+            turns.addLast(new Turn(question, FruitContextBuilder.abbreviate(answer, turnMaxTokens)));
+            while (turns.size() > maxTurns) {
+                summarize(turns.removeFirst());
+            }
+
+            for (String name : fruitNames) {
+                fruits.remove(name);
+                fruits.add(name);
+            }
+            while (fruits.size() > rememberedFruits) {
+                fruits.removeFirst();
+            }
+            touch(System.currentTimeMillis());
+        }
+
+        /**
+         * 밀려난 턴을 "질문 / 답변 첫 문장" 한 줄로 요약
+         */
+        private void summarize(Turn turn) {
+            String line = "- 질문: " + FruitContextBuilder.abbreviate(turn.question(), 40)
+                    + " / 답변: " + FruitContextBuilder.abbreviate(firstSentence(turn.answer()), 60);
+            summaryLines.addLast(line);
+            summaryTokens += FruitContextBuilder.estimateTokens(line);
+            while (summaryTokens > summaryMaxTokens && summaryLines.size() > 1) {
+                summaryTokens -= FruitContextBuilder.estimateTokens(summaryLines.removeFirst());
+            }
+            summarizedTurns.incrementAndGet();
+        }
+
+        private void touch(long now) {
+            lastAccess = now;
+        }
+
+        private boolean isExpired(long now) {
+            return now - lastAccess > ttlMillis;
+        }
+    }
+
+    private static String firstSentence(String text) {
+        String flattened = text.replaceAll("\\s+", " ").trim();
+        for (int i = 0; i < flattened.length(); i++) {
+            char c = flattened.charAt(i);
+            if (c == '.' || c == '!' || c == '?') {
+                return flattened.substring(0, i + 1);
+            }
+        }
+        return flattened;
+    }
+}
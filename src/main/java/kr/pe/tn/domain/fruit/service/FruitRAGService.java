@@ -1,21 +1,51 @@
 package kr.pe.tn.domain.fruit.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kr.pe.tn.domain.common.dto.PageRequestDTO;
+import kr.pe.tn.domain.common.dto.PageResponseDTO;
 import kr.pe.tn.domain.fruit.dto.FruitDTO;
 import kr.pe.tn.domain.fruit.entity.Fruit;
+import kr.pe.tn.domain.fruit.gemini.GeminiApiException;
+import kr.pe.tn.domain.fruit.gemini.GeminiCircuitBreaker;
+import kr.pe.tn.domain.fruit.gemini.GeminiCircuitOpenException;
+import kr.pe.tn.domain.fruit.gemini.GeminiClient;
+import kr.pe.tn.domain.fruit.gemini.GeminiDTO;
+import kr.pe.tn.domain.fruit.gemini.GeminiRateLimitException;
+import kr.pe.tn.domain.fruit.gemini.GeminiRateLimiter;
 import kr.pe.tn.domain.fruit.repository.FruitRepository;
+import kr.pe.tn.domain.fruit.search.FruitCatalogChangedEvent;
+import kr.pe.tn.domain.fruit.search.FruitRetriever;
+import kr.pe.tn.domain.fruit.search.HybridRetriever;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -23,9 +53,15 @@ import java.util.stream.Collectors;
  * 
  * 동작 방식:
  * 1. 사용자 질문 수신
- * 2. 데이터베이스에서 관련 과일 정보 검색 (Retrieval)
+ * 2. 메모리 검색기(역색인 또는 벡터)에서 관련 과일 정보 검색 (Retrieval)
  * 3. 검색된 정보를 Gemini AI에 컨텍스트로 제공
  * 4. Gemini AI가 컨텍스트 기반으로 답변 생성 (Generation)
+ *
+ * 지표:
+ * - fruit.rag.stage : 단계별 소요 시간 (stage=retrieval/context/prompt/generation)
+ * - fruit.rag.answers : 질문 처리 전체 시간 (mode=async/stream, outcome=generated/cached/degraded/failed/aborted/rejected)
+ * - fruit.rag.prompt.tokens, fruit.rag.response.tokens : 토큰 수 (source=gemini: 응답의 usageMetadata, estimate: 추정치)
+ * 요청 단위 로그는 fruit.rag.log.sample-rate 비율만 key=value 한 줄로 남깁니다. (질문 원문은 남기지 않음)
  */
 @Slf4j
 @Service
@@ -34,188 +70,575 @@ import java.util.stream.Collectors;
 public class FruitRAGService {
 
     private final FruitRepository fruitRepository;
-    private final ObjectMapper objectMapper;
-
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
+    private final List<FruitRetriever> fruitRetrievers;
+    private final FruitAnswerCache answerCache;
+    private final FruitContextBuilder contextBuilder;
+    private final FruitConversationStore conversationStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Gemini 2.5 Flash Lite 모델 사용 (RPM: 10, TPM: 250K, RPD: 20)
-    private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1/models/gemini-2.5-flash-lite:generateContent";
+    private final GeminiClient geminiClient;
+    private final GeminiRateLimiter geminiRateLimiter;
+    private final GeminiCircuitBreaker geminiCircuitBreaker;
+
+    // 스트리밍 답변 전송용 가상 스레드 Executor
+    private final ExecutorService geminiExecutor;
+
+    // 질문 처리 전용 Executor (스레드 수, 대기열 크기 제한)
+    private final ThreadPoolExecutor fruitRagExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    // 검색 방식 선택 (lexical: BM25 역색인, vector: 임베딩 코사인 유사도)
+    @Value("${fruit.rag.retriever:lexical}")
+    private String retrieverName;
+
+    // 요청 단위 구조화 로그를 남길 비율 (0.0 ~ 1.0)
+    @Value("${fruit.rag.log.sample-rate:0.05}")
+    private double logSampleRate;
+
+    // 컨텍스트로 사용할 최대 과일 수
+    private static final int MAX_RELATED_FRUITS = 5;
+
+    // 정규화된 질문 -> 처리 중인 답변 (같은 질문이 동시에 들어오면 하나의 처리 결과를 공유)
+    private final ConcurrentHashMap<String, CompletableFuture<FruitDTO.AnswerResponse>> inFlightAnswers = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedRequests = new AtomicLong();
 
     /**
-     * RAG 기반 질문 답변 생성
+     * RAG 기반 질문 답변 생성 (비동기)
+     *
+     * 검색 -> 컨텍스트 구성 -> Gemini sendAsync 순서로 fruitRagExecutor와 HttpClient Executor에서 진행되므로
+     * 요청 스레드(Tomcat)는 응답을 기다리지 않고 바로 반환됩니다.
+     *
+     * 정규화된 질문이 같은 요청이 이미 처리 중이면 새로 검색/생성하지 않고
+     * 먼저 들어온 요청의 결과(AnswerResponse)를 함께 받습니다. (single-flight)
+     * 이전 대화가 있는 세션의 질문은 답변이 대화 이력에 따라 달라지므로 같은 세션 안에서만 병합합니다.
      * 
-     * @param questionRequest 사용자 질문
-     * @return AI가 생성한 답변 및 관련 과일 정보
+     * @param questionRequest 사용자 질문 (sessionId가 있으면 해당 세션의 대화 이력을 이어서 사용)
+     * @return AI가 생성한 답변 및 관련 과일 정보 (fruitRagExecutor 포화 시 RejectedExecutionException으로 완료)
      */
-    public FruitDTO.AnswerResponse answerQuestion(FruitDTO.QuestionRequest questionRequest) {
+    public CompletableFuture<FruitDTO.AnswerResponse> answerQuestion(FruitDTO.QuestionRequest questionRequest) {
         String question = questionRequest.getQuestion();
+        FruitConversationStore.Conversation conversation = openConversation(questionRequest);
+        FruitConversationStore.History history = conversation.history();
+
+        String flightKey = history.isEmpty()
+                ? FruitAnswerCache.normalizeQuestion(question)
+                : conversation.getId() + "|" + FruitAnswerCache.normalizeQuestion(question);
+
+        CompletableFuture<FruitDTO.AnswerResponse> flight = new CompletableFuture<>();
+        CompletableFuture<FruitDTO.AnswerResponse> inFlight = inFlightAnswers.putIfAbsent(flightKey, flight);
+        if (inFlight != null) {
+            coalescedRequests.incrementAndGet();
+            log.debug("처리 중인 동일 질문의 답변을 공유합니다: {}", flightKey);
+            return inFlight.thenApply(shared -> forConversation(shared, question, conversation));
+        }
 
-        // 1단계: Retrieval - 관련 과일 정보 검색
-        List<Fruit> relatedFruits = retrieveRelatedFruits(question);
-
-        // 2단계: 검색된 정보를 컨텍스트로 구성
-        String context = buildContext(relatedFruits);
-
-        // 3단계: Generation - Gemini AI로 답변 생성
-        String aiAnswer = generateAnswerWithGemini(question, context);
+        generateResponse(question, history).whenComplete((response, error) -> {
+            inFlightAnswers.remove(flightKey, flight);
+            if (error != null) {
+                flight.completeExceptionally(unwrap(error));
+            } else {
+                flight.complete(response);
+            }
+        });
+        return flight.thenApply(shared -> forConversation(shared, question, conversation));
+    }
 
-        // 4단계: 응답 구성
+    /**
+     * 공유된 답변을 요청한 세션의 응답으로 변환하고 대화 이력에 기록 (안내 답변은 기록하지 않음)
+     */
+    private FruitDTO.AnswerResponse forConversation(FruitDTO.AnswerResponse shared, String question,
+            FruitConversationStore.Conversation conversation) {
+        if (!shared.isDegraded()) {
+            conversation.record(question, shared.getAnswer(), shared.getRelatedFruits().stream()
+                    .map(FruitDTO.Response::getName)
+                    .toList());
+        }
         return FruitDTO.AnswerResponse.builder()
                 .question(question)
-                .answer(aiAnswer)
-                .relatedFruits(relatedFruits.stream()
-                        .map(FruitDTO.Response::from)
-                        .collect(Collectors.toList()))
+                .answer(shared.getAnswer())
+                .relatedFruits(shared.getRelatedFruits())
+                .sessionId(conversation.getId())
+                .degraded(shared.isDegraded())
                 .build();
     }
 
     /**
-     * 질문에서 키워드를 추출하여 관련 과일 검색
+     * 검색 -> 캐시 확인 -> 답변 생성 -> 응답 구성
      */
-    private List<Fruit> retrieveRelatedFruits(String question) {
-        // 간단한 키워드 추출 (실제로는 더 정교한 NLP 기법 사용 가능)
-        String[] keywords = question.split(" ");
+    private CompletableFuture<FruitDTO.AnswerResponse> generateResponse(String question,
+            FruitConversationStore.History history) {
+        long started = System.nanoTime();
+        CompletableFuture<Retrieval> retrieval;
+        try {
+            // 1~2단계: Retrieval + 캐시 확인 (fruitRagExecutor)
+            retrieval = CompletableFuture.supplyAsync(() -> retrieve(question, history), fruitRagExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("과일 AI 질문 대기열 초과로 요청 거절");
+            recordAnswer("async", "rejected", started, 0, history);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return retrieval
+                // 3~4단계: 컨텍스트 구성 + Generation (캐시에 없을 때만)
+                .thenCompose(result -> result.cachedAnswer() != null
+                        ? CompletableFuture.completedFuture(new Answer(result.cachedAnswer(), false))
+                        : generateAnswer(question, history, result))
+                // 5단계: 응답 구성
+                .thenCombine(retrieval, (answer, result) -> {
+                    String outcome = result.cachedAnswer() != null ? "cached" : answer.degraded() ? "degraded" : "generated";
+                    recordAnswer("async", outcome, started, result.relatedFruits().size(), history);
+                    return FruitDTO.AnswerResponse.builder()
+                            .question(question)
+                            .answer(answer.text())
+                            .relatedFruits(result.relatedFruits().stream()
+                                    .map(FruitDTO.Response::from)
+                                    .collect(Collectors.toList()))
+                            .degraded(answer.degraded())
+                            .build();
+                })
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        recordAnswer("async", "failed", started, 0, history);
+                    }
+                });
+    }
+
+    /**
+     * 관련 과일 검색 후 같은 질문 + 같은 검색 결과의 캐시된 답변 조회
+     * 이전 대화가 있으면 직전 질문을 덧붙여 검색하고, 답변이 대화 이력에 따라 달라지므로 캐시는 사용하지 않음
+     */
+    private Retrieval retrieve(String question, FruitConversationStore.History history) {
+        long catalogVersion = answerCache.version();
+        List<Fruit> relatedFruits = retrieveRelatedFruits(history.searchQuery(question));
+        if (!history.isEmpty()) {
+            return new Retrieval(relatedFruits, null, null, catalogVersion);
+        }
+        String cacheKey = FruitAnswerCache.key(question, relatedFruits);
+        return new Retrieval(relatedFruits, cacheKey, answerCache.get(cacheKey), catalogVersion);
+    }
+
+    /**
+     * 검색 결과와 캐시 조회 결과 (cacheKey는 캐시를 사용하지 않으면 null, cachedAnswer는 캐시에 없으면 null,
+     * catalogVersion은 검색 시작 시 카탈로그 버전)
+     */
+    private record Retrieval(List<Fruit> relatedFruits, String cacheKey, String cachedAnswer, long catalogVersion) {
+    }
+
+    /**
+     * 생성된 답변 (degraded: Gemini 대신 검색 결과 안내 또는 오류 안내로 대체됨)
+     */
+    private record Answer(String text, boolean degraded) {
+    }
 
-        List<Fruit> results = fruitRepository.findAll(); // 기본적으로 모든 과일 가져오기
+    /**
+     * RAG 기반 스트리밍 답변 (Server-Sent Events)
+     *
+     * 이벤트 순서:
+     * - fruits : 검색된 관련 과일 목록 (검색 직후 바로 전송)
+     * - answer : Gemini가 생성하는 답변 조각 {"text": "..."} (여러 번)
+     * - done : 답변 완료 {"cached": true/false, "sessionId": "..."} (후속 질문 시 sessionId를 그대로 전달)
+     * - error : 답변 생성 실패 {"message": "..."}
+     *
+     * 호출 한도를 넘었거나 Gemini 회로가 열려 있으면 검색 결과만으로 만든 안내 답변을 answer로 보내고 done {"cached": false, "degraded": true, "sessionId": "..."}로 끝냅니다.
+     *
+     * Gemini 호출은 geminiExecutor(가상 스레드)에서 진행되므로 요청 스레드는 바로 반환됩니다.
+     */
+    public void streamAnswer(FruitDTO.QuestionRequest questionRequest, SseEmitter emitter) {
+        String question = questionRequest.getQuestion();
+        FruitConversationStore.Conversation conversation = openConversation(questionRequest);
+        FruitConversationStore.History history = conversation.history();
+        long started = System.nanoTime();
+
+        // 1단계: Retrieval - 관련 과일 정보를 먼저 전송 (검색 중 카탈로그가 바뀌면 답변을 캐시하지 않도록 버전 기록)
+        long catalogVersion = answerCache.version();
+        List<Fruit> relatedFruits = retrieveRelatedFruits(history.searchQuery(question));
+        List<String> fruitNames = relatedFruits.stream().map(Fruit::getName).toList();
+        if (!sendEvent(emitter, "fruits", relatedFruits.stream().map(FruitDTO.Response::from).toList())) {
+            recordAnswer("stream", "aborted", started, relatedFruits.size(), history);
+            return;
+        }
 
-        // 키워드로 필터링
-        for (String keyword : keywords) {
-            List<Fruit> keywordResults = fruitRepository.searchByKeyword(keyword);
-            if (!keywordResults.isEmpty()) {
-                results = keywordResults;
-                break; // 첫 번째 매칭되는 키워드 사용
+        // 2단계: 캐시된 답변이 있으면 한 번에 전송 (이전 대화가 없는 질문만)
+        String cacheKey = history.isEmpty() ? FruitAnswerCache.key(question, relatedFruits) : null;
+        String cachedAnswer = cacheKey != null ? answerCache.get(cacheKey) : null;
+        if (cachedAnswer != null) {
+            conversation.record(question, cachedAnswer, fruitNames);
+            recordAnswer("stream", "cached", started, relatedFruits.size(), history);
+            if (sendEvent(emitter, "answer", Map.of("text", cachedAnswer))
+                    && sendEvent(emitter, "done", doneEvent(true, false, conversation))) {
+                emitter.complete();
             }
+            return;
         }
 
-        return results.stream().limit(5).collect(Collectors.toList()); // 최대 5개만 반환
+        // 3단계: Generation - 생성되는 답변 조각을 바로 브라우저로 전달
+        geminiExecutor.execute(() -> {
+            try {
+                String answer = streamAnswerWithGemini(question, buildContext(relatedFruits), history, text -> {
+                    if (!sendEvent(emitter, "answer", Map.of("text", text))) {
+                        throw new StreamAbortedException();
+                    }
+                });
+                if (cacheKey != null) {
+                    answerCache.put(cacheKey, relatedFruits, answer, catalogVersion);
+                }
+                conversation.record(question, answer, fruitNames);
+                recordAnswer("stream", "generated", started, relatedFruits.size(), history);
+                if (sendEvent(emitter, "done", doneEvent(false, false, conversation))) {
+                    emitter.complete();
+                }
+            } catch (StreamAbortedException e) {
+                log.debug("클라이언트 연결 종료로 스트리밍 중단: {}", conversation.getId());
+                recordAnswer("stream", "aborted", started, relatedFruits.size(), history);
+            } catch (GeminiRateLimitException | GeminiCircuitOpenException e) {
+                recordAnswer("stream", "degraded", started, relatedFruits.size(), history);
+                if (sendEvent(emitter, "answer", Map.of("text", fallbackAnswer(relatedFruits, e)))
+                        && sendEvent(emitter, "done",
+                                doneEvent(false, true, conversation))) {
+                    emitter.complete();
+                }
+            } catch (GeminiApiException | IllegalStateException e) {
+                recordAnswer("stream", "degraded", started, relatedFruits.size(), history);
+                if (sendEvent(emitter, "error", Map.of("message", errorMessage(e)))) {
+                    emitter.complete();
+                }
+            } catch (RuntimeException e) {
+                log.error("스트리밍 답변 생성 중 예외 발생", e);
+                recordAnswer("stream", "failed", started, relatedFruits.size(), history);
+                emitter.completeWithError(e);
+            }
+        });
     }
 
     /**
-     * 검색된 과일 정보를 AI가 이해할 수 있는 컨텍스트로 구성
+     * 요청한 사용자의 대화 열기 (대화 세션을 요청했거나 후속 질문일 때만 세션 저장)
      */
-    private String buildContext(List<Fruit> fruits) {
-        if (fruits.isEmpty()) {
-            return "현재 데이터베이스에 저장된 과일 정보가 없습니다.";
+    private FruitConversationStore.Conversation openConversation(FruitDTO.QuestionRequest questionRequest) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String owner = authentication != null ? authentication.getName() : null;
+        return conversationStore.open(questionRequest.getSessionId(), owner, questionRequest.isConversation());
+    }
+
+    /**
+     * done 이벤트 데이터 (일회용 질문이면 sessionId 생략)
+     */
+    private static Map<String, Object> doneEvent(boolean cached, boolean degraded,
+            FruitConversationStore.Conversation conversation) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("cached", cached);
+        if (degraded) {
+            data.put("degraded", true);
         }
+        if (conversation.getId() != null) {
+            data.put("sessionId", conversation.getId());
+        }
+        return data;
+    }
 
-        StringBuilder context = new StringBuilder();
-        context.append("다음은 과일 데이터베이스에서 검색한 정보입니다:\n\n");
+    /**
+     * SSE 이벤트 전송 (클라이언트 연결이 끊어졌으면 false)
+     */
+    private boolean sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 실패 ({}): {}", name, e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
 
-        for (Fruit fruit : fruits) {
-            context.append(String.format(
-                    "과일명: %s (%s)\n" +
-                            "효능: %s\n" +
-                            "영양소: %s\n" +
-                            "설명: %s\n" +
-                            "제철: %s\n" +
-                            "원산지: %s\n\n",
-                    fruit.getName(),
-                    fruit.getEnglishName(),
-                    fruit.getBenefits(),
-                    fruit.getNutrients(),
-                    fruit.getDescription(),
-                    fruit.getSeason(),
-                    fruit.getOrigin()));
+    /**
+     * 스트리밍 도중 클라이언트 연결이 끊어졌을 때 Gemini 수신을 멈추기 위한 예외
+     */
+    private static class StreamAbortedException extends RuntimeException {
+        private StreamAbortedException() {
+            super(null, null, false, false);
         }
+    }
 
-        return context.toString();
+    /**
+     * 설정된 검색기(FruitRetriever)로 질문과 관련된 과일 검색
+     */
+    private List<Fruit> retrieveRelatedFruits(String question) {
+        FruitRetriever retriever = activeRetriever();
+        long started = System.nanoTime();
+        List<Fruit> fruits = retriever.search(question, MAX_RELATED_FRUITS);
+        stageTimer("retrieval").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return fruits;
+    }
+
+    private FruitRetriever activeRetriever() {
+        return fruitRetrievers.stream()
+                .filter(retriever -> retriever.name().equals(retrieverName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("알 수 없는 검색 방식입니다: " + retrieverName));
+    }
+
+    /**
+     * 검색된 과일 정보를 AI가 이해할 수 있는 컨텍스트로 구성 (토큰 예산 안에서 검색 순위 순으로)
+     */
+    private String buildContext(List<Fruit> fruits) {
+        long started = System.nanoTime();
+        String context = contextBuilder.build(fruits);
+        stageTimer("context").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return context;
     }
 
     /**
-     * Gemini AI API를 호출하여 답변 생성
+     * Gemini 답변 비동기 생성 후 캐시에 저장, 실패 시 사용자 안내 메시지로 완료
+     * 호출 한도 초과 또는 회로 열림(Gemini 장애) 시에는 검색된 과일 정보만으로 구성한 답변으로 완료 (캐시하지 않음)
      */
-    private String generateAnswerWithGemini(String question, String context) {
+    private CompletableFuture<Answer> generateAnswer(String question, FruitConversationStore.History history,
+            Retrieval retrieval) {
+        CompletableFuture<String> answer;
         try {
-            // API 키 확인
-            if (geminiApiKey == null || geminiApiKey.isEmpty() || geminiApiKey.startsWith("${")) {
-                log.error("Gemini API 키가 설정되지 않았습니다. application.properties를 확인하세요.");
-                return "죄송합니다. AI 서비스 설정이 올바르지 않습니다. 관리자에게 문의하세요.";
+            answer = generateAnswerWithGemini(question, buildContext(retrieval.relatedFruits()), history);
+        } catch (RuntimeException e) {
+            answer = CompletableFuture.failedFuture(e);
+        }
+
+        return answer.handle((text, error) -> {
+            if (error == null) {
+                if (retrieval.cacheKey() != null) {
+                    answerCache.put(retrieval.cacheKey(), retrieval.relatedFruits(), text, retrieval.catalogVersion());
+                }
+                return new Answer(text, false);
+            }
+            Throwable cause = unwrap(error);
+            if (cause instanceof GeminiRateLimitException || cause instanceof GeminiCircuitOpenException) {
+                return new Answer(fallbackAnswer(retrieval.relatedFruits(), (GeminiApiException) cause), true);
+            }
+            if (cause instanceof GeminiApiException || cause instanceof IllegalStateException) {
+                return new Answer(errorMessage((RuntimeException) cause), true);
             }
+            throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+        });
+    }
 
-            log.info("=== Gemini API 호출 시작 ===");
-            log.info("질문: {}", question);
-
-            // 프롬프트 구성: 컨텍스트 + 질문
-            String prompt = String.format(
-                    "당신은 과일 효능 전문가입니다. 다음 정보를 바탕으로 사용자의 질문에 친절하고 정확하게 답변해주세요.\\n\\n" +
-                            "%s\\n" +
-                            "질문: %s\\n\\n" +
-                            "답변은 한국어로 작성하고, 위 데이터베이스 정보를 기반으로 구체적으로 설명해주세요.",
-                    context,
-                    question);
-
-            // Gemini API 요청 본문 구성
-            String requestBody = String.format("""
-                    {
-                        "contents": [{
-                            "parts": [{
-                                "text": "%s"
-                            }]
-                        }]
-                    }
-                    """, prompt.replace("\"", "\\\"").replace("\n", "\\n"));
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
 
-            log.debug("요청 본문 길이: {} bytes", requestBody.length());
+    /**
+     * AI 없이 검색 결과만으로 구성한 답변 (호출 한도 초과, Gemini 장애 등 Gemini를 사용할 수 없을 때)
+     */
+    private String fallbackAnswer(List<Fruit> relatedFruits, GeminiApiException cause) {
+        log.warn("검색 결과 기반 답변으로 대체: {}", cause.getMessage());
+
+        StringBuilder answer = new StringBuilder();
+        if (cause instanceof GeminiCircuitOpenException) {
+            answer.append("현재 AI 서비스 응답이 원활하지 않아 검색된 과일 정보로 대신 안내해 드립니다. 잠시 후 다시 질문해 주세요.\n\n");
+        } else {
+            answer.append("현재 AI 답변 요청이 많아 검색된 과일 정보로 대신 안내해 드립니다. 잠시 후 다시 질문해 주세요.\n\n");
+        }
+        if (relatedFruits.isEmpty()) {
+            answer.append("관련된 과일 정보를 찾지 못했습니다.");
+            return answer.toString();
+        }
+        for (Fruit fruit : relatedFruits) {
+            answer.append(String.format("- %s (%s): %s\n", fruit.getName(), fruit.getEnglishName(), fruit.getBenefits()));
+        }
+        return answer.toString();
+    }
 
-            // HTTP 클라이언트로 Gemini API 호출
-            HttpClient client = HttpClient.newHttpClient();
-            String apiUrl = GEMINI_API_URL + "?key=" + geminiApiKey;
+    /**
+     * Gemini 호출 실패를 사용자 안내 메시지로 변환
+     */
+    private String errorMessage(RuntimeException e) {
+        if (e instanceof GeminiApiException apiException) {
+            if (apiException.getStatusCode() > 0) {
+                // 상세한 에러 메시지 반환
+                return String.format("죄송합니다. AI 답변 생성 중 오류가 발생했습니다. (상태 코드: %d)\\n" +
+                        "관리자에게 문의하세요.", apiException.getStatusCode());
+            }
+            return String.format("죄송합니다. AI 답변 생성 중 오류가 발생했습니다.\\n" +
+                    "오류 내용: %s\\n" +
+                    "관리자에게 문의하세요.", apiException.getMessage());
+        }
+        return "죄송합니다. AI 서비스 설정이 올바르지 않습니다. 관리자에게 문의하세요.";
+    }
 
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(apiUrl))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
+    /**
+     * Gemini AI API를 비동기로 호출하여 답변 생성
+     *
+     * @return 답변 (API 호출 실패, 빈 응답은 GeminiApiException으로 완료)
+     * @throws GeminiApiException   호출 한도 초과, 회로 열림 (호출 전 즉시 거절)
+     * @throws IllegalStateException API 키 미설정
+     */
+    private CompletableFuture<String> generateAnswerWithGemini(String question, String context,
+            FruitConversationStore.History history) {
+        Prompt prompt = buildRequest(question, context, history);
+
+        // 공유 HttpClient로 Gemini API 비동기 호출
+        long started = System.nanoTime();
+        return geminiClient.generateContentAsync(prompt.request()).thenApply(response -> {
+            stageTimer("generation").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            String answer = response.text();
+            if (answer.isEmpty()) {
+                throw new GeminiApiException(0, "Gemini 응답에 답변이 없습니다.");
+            }
+            recordTokens(prompt, response.usageMetadata(), answer);
+            return answer;
+        });
+    }
 
-            log.info("Gemini API 호출 중...");
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Gemini 스트리밍 API를 호출하여 생성되는 텍스트 조각을 onText로 전달
+     *
+     * @return 전체 답변
+     * @throws GeminiApiException   API 호출 실패 (상태 코드 오류, 네트워크 오류)
+     * @throws IllegalStateException API 키 미설정
+     */
+    private String streamAnswerWithGemini(String question, String context, FruitConversationStore.History history,
+            Consumer<String> onText) {
+        Prompt prompt = buildRequest(question, context, history);
+
+        StringBuilder answer = new StringBuilder();
+        long started = System.nanoTime();
+        geminiClient.streamGenerateContent(prompt.request(), text -> {
+            answer.append(text);
+            onText.accept(text);
+        });
+        stageTimer("generation").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        recordTokens(prompt, null, answer);
+        return answer.toString();
+    }
 
-            log.info("Gemini API 응답 상태 코드: {}", response.statusCode());
-            log.debug("Gemini API 응답 본문: {}", response.body());
+    /**
+     * 프롬프트(컨텍스트 + 질문)를 담은 Gemini 요청 DTO 구성
+     * 이전 대화가 있으면 최근 대화는 user/model 턴으로, 요약과 직전에 언급된 과일은 프롬프트 앞부분에 넣음
+     * JSON 이스케이프는 GeminiClient의 ObjectMapper 직렬화가 담당
+     */
+    private Prompt buildRequest(String question, String context, FruitConversationStore.History history) {
+        // API 키 확인
+        if (!geminiClient.isConfigured()) {
+            log.error("Gemini API 키가 설정되지 않았습니다. application.properties를 확인하세요.");
+            throw new IllegalStateException("Gemini API 키가 설정되지 않았습니다.");
+        }
 
-            // 응답 파싱
-            if (response.statusCode() == 200) {
-                String answer = parseGeminiResponse(response.body());
-                log.info("=== Gemini API 호출 성공 ===");
-                return answer;
-            } else {
-                log.error("Gemini API 호출 실패 - 상태 코드: {}", response.statusCode());
-                log.error("응답 본문: {}", response.body());
+        long started = System.nanoTime();
 
-                // 상세한 에러 메시지 반환
-                return String.format("죄송합니다. AI 답변 생성 중 오류가 발생했습니다. (상태 코드: %d)\\n" +
-                        "관리자에게 문의하세요.", response.statusCode());
+        // 프롬프트 구성: (이전 대화 요약 + 언급된 과일) + 컨텍스트 + 질문
+        StringBuilder promptBuilder = new StringBuilder(context.length() + question.length() + 512)
+                .append("당신은 과일 효능 전문가입니다. 다음 정보를 바탕으로 사용자의 질문에 친절하고 정확하게 답변해주세요.\n");
+        if (!history.isEmpty()) {
+            promptBuilder.append("질문이 이전 대화에 이어지는 내용이면 이전 대화를 참고해 답변해주세요.\n");
+        }
+        promptBuilder.append('\n');
+        if (!history.summary().isEmpty()) {
+            promptBuilder.append("이전 대화 요약:\n").append(history.summary()).append("\n\n");
+        }
+        if (!history.recentFruits().isEmpty()) {
+            promptBuilder.append("이전 대화에서 언급된 과일: ").append(String.join(", ", history.recentFruits())).append("\n\n");
+        }
+        String prompt = promptBuilder
+                .append(context).append('\n')
+                .append("질문: ").append(question).append("\n\n")
+                .append("답변은 한국어로 작성하고, 위 데이터베이스 정보를 기반으로 구체적으로 설명해주세요.")
+                .toString();
+        int estimatedTokens = FruitContextBuilder.estimateTokens(prompt) + history.estimateTurnTokens();
+        contextBuilder.recordPrompt(estimatedTokens);
+
+        GeminiDTO.Request request;
+        if (history.turns().isEmpty()) {
+            request = GeminiDTO.Request.ofPrompt(prompt);
+        } else {
+            List<GeminiDTO.Content> turns = new ArrayList<>(history.turns().size() * 2);
+            for (FruitConversationStore.Turn turn : history.turns()) {
+                turns.add(new GeminiDTO.Content("user", List.of(new GeminiDTO.Part(turn.question()))));
+                turns.add(new GeminiDTO.Content("model", List.of(new GeminiDTO.Part(turn.answer()))));
             }
+            request = GeminiDTO.Request.ofConversation(turns, prompt);
+        }
+        stageTimer("prompt").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return new Prompt(request, estimatedTokens);
+    }
 
-        } catch (Exception e) {
-            log.error("=== Gemini API 호출 중 예외 발생 ===", e);
-            log.error("예외 타입: {}", e.getClass().getName());
-            log.error("예외 메시지: {}", e.getMessage());
+    /**
+     * Gemini 요청과 프롬프트 예상 토큰 수 (Gemini가 집계한 토큰 수가 없을 때 지표에 사용)
+     */
+    private record Prompt(GeminiDTO.Request request, int estimatedTokens) {
+    }
 
-            return String.format("죄송합니다. AI 답변 생성 중 오류가 발생했습니다.\\n" +
-                    "오류 내용: %s\\n" +
-                    "관리자에게 문의하세요.", e.getMessage());
+    private Timer stageTimer(String stage) {
+        return Timer.builder("fruit.rag.stage")
+                .description("RAG 단계별 소요 시간")
+                .tag("stage", stage)
+                .tag("retriever", retrieverName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 프롬프트/답변 토큰 수 기록 (usageMetadata가 없으면 글자 수 기반 추정치)
+     */
+    private void recordTokens(Prompt prompt, GeminiDTO.UsageMetadata usage, CharSequence answer) {
+        if (usage != null && usage.promptTokenCount() != null) {
+            tokenSummary("fruit.rag.prompt.tokens", "gemini").record(usage.promptTokenCount());
+        } else {
+            tokenSummary("fruit.rag.prompt.tokens", "estimate").record(prompt.estimatedTokens());
+        }
+        if (usage != null && usage.candidatesTokenCount() != null) {
+            tokenSummary("fruit.rag.response.tokens", "gemini").record(usage.candidatesTokenCount());
+        } else {
+            tokenSummary("fruit.rag.response.tokens", "estimate").record(FruitContextBuilder.estimateTokens(answer.toString()));
+        }
+    }
+
+    private DistributionSummary tokenSummary(String name, String source) {
+        return DistributionSummary.builder(name)
+                .baseUnit("tokens")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 질문 처리 결과 기록 (전체 소요 시간 지표 + 샘플링된 구조화 로그)
+     */
+    private void recordAnswer(String mode, String outcome, long startedNanos, int relatedFruits,
+            FruitConversationStore.History history) {
+        long elapsedNanos = System.nanoTime() - startedNanos;
+        Timer.builder("fruit.rag.answers")
+                .description("과일 AI 질문 처리 시간")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            log.info("event=fruit_rag_answer mode={} outcome={} retriever={} fruits={} historyTurns={} elapsedMs={}",
+                    mode, outcome, retrieverName, relatedFruits, history.turns().size(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
         }
     }
 
     /**
-     * Gemini API 응답에서 텍스트 추출
+     * RAG 파이프라인 운영 통계 (답변 캐시 적중률, 프롬프트 크기, Gemini 호출 한도/회로 상태, 중복 요청 병합 수 등)
      */
-    private String parseGeminiResponse(String responseBody) {
-        try {
-            JsonNode root = objectMapper.readTree(responseBody);
-            return root.path("candidates")
-                    .get(0)
-                    .path("content")
-                    .path("parts")
-                    .get(0)
-                    .path("text")
-                    .asText();
-        } catch (Exception e) {
-            log.error("Gemini 응답 파싱 실패", e);
-            return "응답 파싱 중 오류가 발생했습니다.";
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("retriever", retrieverName);
+        if (activeRetriever() instanceof HybridRetriever hybridRetriever) {
+            stats.put("hybridRetrieval", hybridRetriever.stats());
         }
+        stats.put("answerCache", answerCache.stats());
+        stats.put("promptContext", contextBuilder.stats());
+        stats.put("conversations", conversationStore.stats());
+        stats.put("geminiRateLimit", geminiRateLimiter.stats());
+        stats.put("geminiCircuit", geminiCircuitBreaker.stats());
+        stats.put("executor", Map.of(
+                "active", fruitRagExecutor.getActiveCount(),
+                "poolSize", fruitRagExecutor.getPoolSize(),
+                "queued", fruitRagExecutor.getQueue().size(),
+                "completed", fruitRagExecutor.getCompletedTaskCount()));
+        stats.put("singleFlight", Map.of(
+                "inFlight", inFlightAnswers.size(),
+                "coalesced", coalescedRequests.get()));
+        return stats;
     }
 
     /**
@@ -227,12 +650,35 @@ public class FruitRAGService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 과일 목록 페이지 조회 (설명 제외 projection)
+     */
+    public PageResponseDTO<FruitDTO.Summary> getFruitPage(PageRequestDTO pageRequestDTO) {
+        Page<FruitDTO.Summary> result = fruitRepository.findSummaryBy(pageRequestDTO.getPageable("id"));
+
+        return PageResponseDTO.<FruitDTO.Summary>withAll()
+                .dtoList(result.getContent())
+                .total((int) result.getTotalElements())
+                .pageRequestDTO(pageRequestDTO)
+                .build();
+    }
+
+    /**
+     * 과일 상세 조회
+     */
+    public FruitDTO.Response getFruit(Long id) {
+        return fruitRepository.findById(id)
+                .map(FruitDTO.Response::from)
+                .orElseThrow(() -> new NoSuchElementException("과일 정보를 찾을 수 없습니다: " + id));
+    }
+
     /**
      * 과일 정보 저장 (관리자용)
      */
     @Transactional
     public FruitDTO.Response saveFruit(Fruit fruit) {
         Fruit saved = fruitRepository.save(fruit);
+        eventPublisher.publishEvent(new FruitCatalogChangedEvent(List.of(saved))); // 커밋 후 검색 색인 갱신
         return FruitDTO.Response.from(saved);
     }
 }
@@ -0,0 +1,77 @@
+package kr.pe.tn.handler;
+
+import kr.pe.tn.domain.chat.cluster.ChatClusterBroker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * 서버 내부용 STOMP 목적지 보호 (clientInboundChannel 인터셉터)
+ *
+ * 다른 서버로 넘기는 귓속말(unresolved-user)과 relay 모드 사용자 목록(user-registry), 접속자 현황(chat-presence)은 /topic 아래에 있지만
+ * 서버끼리만 주고받는 목적지이므로, 클라이언트의 SUBSCRIBE / SEND 는 거절합니다.
+ * 와일드카드 구독/전송은 모두 거절합니다. 클라이언트는 채팅방 목적지(/topic/{roomId})만 구독하면 되고,
+ * relay 모드에서는 외부 브로커(RabbitMQ)가 # / * 를 자체 와일드카드로 해석하므로 (/topic/# 로 모든 내부 목적지 수신)
+ * Ant 패턴 비교만으로는 막을 수 없기 때문입니다.
+ */
+@Slf4j
+@Component
+public class ChatDestinationGuard implements ChannelInterceptor {
+
+    // relay 모드: 이 서버에 없는 사용자의 귓속말을 다른 서버로 넘기는 목적지
+    public static final String RELAY_UNRESOLVED_USER_DESTINATION = "/topic/unresolved-user";
+
+    // relay 모드: 서버별 접속 사용자 목록을 주고받는 목적지
+    public static final String RELAY_USER_REGISTRY_DESTINATION = "/topic/user-registry";
+
+    // relay 모드: 서버별 접속자 현황 변경/전체 목록을 주고받는 목적지 (ChatRelayPresence)
+    public static final String RELAY_PRESENCE_DESTINATION = "/topic/chat-presence";
+
+    private static final Set<String> INTERNAL_DESTINATIONS = Set.of(
+            ChatClusterBroker.UNRESOLVED_USER_DESTINATION,
+            RELAY_UNRESOLVED_USER_DESTINATION,
+            RELAY_USER_REGISTRY_DESTINATION,
+            RELAY_PRESENCE_DESTINATION);
+
+    // Ant 패턴(*, ?, {}) 과 AMQP 토픽 와일드카드(#, *)
+    private static final String WILDCARD_CHARS = "*?#{}";
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        StompCommand command = accessor.getCommand();
+        if (command != StompCommand.SUBSCRIBE && command != StompCommand.SEND) {
+            return message;
+        }
+
+        String destination = accessor.getDestination();
+        if (destination != null && isRejected(destination)) {
+            log.warn("내부 목적지 접근 거절: {} {} (session {})", command, destination, accessor.getSessionId());
+            throw new MessageDeliveryException(message, "접근할 수 없는 목적지입니다: " + destination);
+        }
+        return message;
+    }
+
+    /**
+     * 거절할 목적지: 와일드카드(Ant 패턴 또는 브로커 와일드카드 # *) 또는 내부 목적지
+     */
+    boolean isRejected(String destination) {
+        for (int i = 0; i < destination.length(); i++) {
+            if (WILDCARD_CHARS.indexOf(destination.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return INTERNAL_DESTINATIONS.contains(destination);
+    }
+}
@@ -0,0 +1,129 @@
+package kr.pe.tn.handler;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket 세션별 전송 대기열 설정 및 지표 (느린 클라이언트 처리)
+ *
+ * STOMP 핸들러가 받는 세션을 ChatOutboundSession으로 감싸 세션마다 전송 대기열(queue-capacity 개, buffer-size 바이트)과
+ * 전송 스레드를 둡니다. 대기열이 넘치거나 send-time-limit 을 넘기면 입장/퇴장 알림부터 건너뛰고, 그래도 안 되면 연결을 끊습니다.
+ * 입장/퇴장 알림은 보낼 때 SKIPPABLE_HEADER 헤더로 표시합니다. (skippableHeaders())
+ */
+@Component
+public class ChatOutboundQueues implements WebSocketHandlerDecoratorFactory, MeterBinder {
+
+    // 대기열이 넘칠 때 건너뛰어도 되는 메시지 표시 (STOMP MESSAGE 프레임 헤더)
+    public static final String SKIPPABLE_HEADER = "x-chat-skippable";
+
+    final int queueCapacity;
+    final long bufferSizeLimit;
+    final long sendTimeLimitNanos;
+
+    private final ConcurrentHashMap<String, ChatOutboundSession> sessions = new ConcurrentHashMap<>();
+
+    final AtomicLong sent = new AtomicLong();
+    final AtomicLong skipped = new AtomicLong();
+    final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong closedByBuffer = new AtomicLong();
+    private final AtomicLong closedByTime = new AtomicLong();
+
+    public ChatOutboundQueues(
+            @Value("${chat.outbound.queue-capacity:1000}") int queueCapacity,
+            @Value("${chat.outbound.buffer-size:512KB}") DataSize bufferSize,
+            @Value("${chat.outbound.send-time-limit:10s}") Duration sendTimeLimit) {
+        this.queueCapacity = queueCapacity;
+        this.bufferSizeLimit = bufferSize.toBytes();
+        this.sendTimeLimitNanos = sendTimeLimit.toNanos();
+    }
+
+    /**
+     * 건너뛰어도 되는 메시지로 표시하는 전송 헤더 (SimpMessagingTemplate.convertAndSend 에 함께 전달)
+     */
+    public static Map<String, Object> skippableHeaders() {
+        return Map.of(SKIPPABLE_HEADER, "true");
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new QueueingHandler(handler);
+    }
+
+    void slowConsumer(String reason) {
+        ("time".equals(reason) ? closedByTime : closedByBuffer).incrementAndGet();
+    }
+
+    /**
+     * Micrometer 지표 등록 (세션 수, 전체/최대 대기 메시지 수, 전송/건너뜀/누락 수, 느린 클라이언트 연결 종료 수)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("chat.outbound.sessions", sessions, Map::size)
+                .register(registry);
+        Gauge.builder("chat.outbound.queue.depth", sessions,
+                        map -> map.values().stream().mapToInt(ChatOutboundSession::depth).sum())
+                .tag("stat", "total")
+                .register(registry);
+        Gauge.builder("chat.outbound.queue.depth", sessions,
+                        map -> map.values().stream().mapToInt(ChatOutboundSession::depth).max().orElse(0))
+                .tag("stat", "max")
+                .register(registry);
+        FunctionCounter.builder("chat.outbound.messages", sent, AtomicLong::get)
+                .tag("result", "sent")
+                .register(registry);
+        FunctionCounter.builder("chat.outbound.messages", skipped, AtomicLong::get)
+                .tag("result", "skipped")
+                .register(registry);
+        FunctionCounter.builder("chat.outbound.messages", dropped, AtomicLong::get)
+                .tag("result", "dropped")
+                .register(registry);
+        FunctionCounter.builder("chat.outbound.slow-consumers", closedByBuffer, AtomicLong::get)
+                .tag("reason", "buffer")
+                .register(registry);
+        FunctionCounter.builder("chat.outbound.slow-consumers", closedByTime, AtomicLong::get)
+                .tag("reason", "time")
+                .register(registry);
+    }
+
+    /**
+     * 연결 시 세션을 전송 대기열로 감싸고, 종료 시 전송 스레드 정리
+     */
+    private class QueueingHandler extends WebSocketHandlerDecorator {
+
+        private QueueingHandler(WebSocketHandler delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+            ChatOutboundSession outbound = new ChatOutboundSession(session, ChatOutboundQueues.this);
+            sessions.put(session.getId(), outbound);
+            outbound.start();
+            super.afterConnectionEstablished(outbound);
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+            ChatOutboundSession outbound = sessions.remove(session.getId());
+            if (outbound != null) {
+                outbound.stop();
+            }
+            super.afterConnectionClosed(outbound != null ? outbound : session, closeStatus);
+        }
+    }
+}
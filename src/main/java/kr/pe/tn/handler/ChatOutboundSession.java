@@ -0,0 +1,215 @@
+package kr.pe.tn.handler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WebSocket 세션별 전송 대기열
+ *
+ * sendMessage()는 대기열에 넣고 바로 반환하고, 세션 전용 virtual thread 하나가 순서대로 실제 전송합니다.
+ * 느린 클라이언트는 자기 전송 스레드만 기다리게 하므로 clientOutboundChannel 스레드와 같은 채팅방의 다른 사용자는 영향을 받지 않습니다.
+ *
+ * 대기열이 가득 차면 (메시지 수 또는 바이트)
+ * 1. 가장 오래된 입장/퇴장 알림(SKIPPABLE_HEADER 헤더가 있는 메시지)부터 건너뛰고
+ * 2. 그래도 자리가 없으면 새 메시지가 입장/퇴장 알림이면 그 메시지를 건너뛰고, 아니면 느린 클라이언트로 보고 연결을 끊습니다.
+ * 전송 하나가 send-time-limit 보다 오래 걸리거나 가장 오래된 대기 메시지가 그보다 오래 기다려도 연결을 끊습니다.
+ */
+@Slf4j
+final class ChatOutboundSession extends WebSocketSessionDecorator {
+
+    private static final String SKIPPABLE_HEADER_LINE = "\n" + ChatOutboundQueues.SKIPPABLE_HEADER + ":true\n";
+
+    private final ChatOutboundQueues queues;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<Queued> queue = new ArrayDeque<>();
+    private int queuedBytes;
+    private boolean closed;
+
+    // 진행 중인 전송 시작 시각 (전송 중이 아니면 0)
+    private volatile long writeStartedAt;
+
+    ChatOutboundSession(WebSocketSession delegate, ChatOutboundQueues queues) {
+        super(delegate);
+        this.queues = queues;
+    }
+
+    void start() {
+        Thread.ofVirtual().name("chat-outbound-" + getId()).start(this::sendLoop);
+    }
+
+    /**
+     * 전송 대기열에 추가 (기다리지 않음)
+     */
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        long now = System.nanoTime();
+        int bytes = message.getPayloadLength();
+        boolean skippable = isSkippable(message);
+        String overflow = null;
+
+        lock.lock();
+        try {
+            if (closed) {
+                queues.dropped.incrementAndGet();
+                return;
+            }
+            if (isTooSlow(now)) {
+                overflow = "time";
+            } else {
+                while (isFull(bytes) && skipOldestSkippable()) {
+                    queues.skipped.incrementAndGet();
+                }
+                if (!isFull(bytes)) {
+                    queue.addLast(new Queued(message, bytes, skippable, now));
+                    queuedBytes += bytes;
+                    notEmpty.signal();
+                    return;
+                }
+                if (skippable) {
+                    queues.skipped.incrementAndGet();
+                    return;
+                }
+                overflow = "buffer";
+            }
+            closed = true;
+            queues.dropped.addAndGet(queue.size() + 1L);
+            queue.clear();
+            queuedBytes = 0;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        terminate(overflow);
+    }
+
+    /**
+     * 현재 대기 메시지 수
+     */
+    int depth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 연결 종료 후 전송 스레드 정리
+     */
+    void stop() {
+        lock.lock();
+        try {
+            closed = true;
+            queues.dropped.addAndGet(queue.size());
+            queue.clear();
+            queuedBytes = 0;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sendLoop() {
+        while (true) {
+            Queued next;
+            lock.lock();
+            try {
+                while (queue.isEmpty() && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+                next = queue.pollFirst();
+                queuedBytes -= next.bytes();
+                writeStartedAt = System.nanoTime();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                getDelegate().sendMessage(next.message());
+                queues.sent.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                log.debug("WebSocket 전송 실패 ({}): {}", getId(), e.getMessage());
+                stop();
+                return;
+            } finally {
+                writeStartedAt = 0;
+            }
+        }
+    }
+
+    private boolean isTooSlow(long now) {
+        long started = writeStartedAt;
+        if (started != 0 && now - started > queues.sendTimeLimitNanos) {
+            return true;
+        }
+        Queued oldest = queue.peekFirst();
+        return oldest != null && now - oldest.enqueuedAt() > queues.sendTimeLimitNanos;
+    }
+
+    private boolean isFull(int bytes) {
+        return queue.size() >= queues.queueCapacity || queuedBytes + bytes > queues.bufferSizeLimit;
+    }
+
+    private boolean skipOldestSkippable() {
+        for (Iterator<Queued> it = queue.iterator(); it.hasNext(); ) {
+            Queued queued = it.next();
+            if (queued.skippable()) {
+                it.remove();
+                queuedBytes -= queued.bytes();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 느린 클라이언트 연결 종료 (닫기도 느린 연결에서 막힐 수 있으므로 별도 스레드에서)
+     */
+    private void terminate(String reason) {
+        queues.slowConsumer(reason);
+        log.warn("느린 WebSocket 클라이언트 연결 종료: {} ({})", getId(), reason);
+        Thread.ofVirtual().name("chat-outbound-close-" + getId()).start(() -> {
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException | RuntimeException e) {
+                log.debug("WebSocket 연결 종료 실패 ({}): {}", getId(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 건너뛰어도 되는 메시지: 보낼 때 SKIPPABLE_HEADER 로 표시한 STOMP MESSAGE 프레임 (채팅방 입장/퇴장 알림)
+     */
+    static boolean isSkippable(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage text)) {
+            return false;
+        }
+        String frame = text.getPayload();
+        if (!frame.startsWith("MESSAGE\n")) {
+            return false;
+        }
+        // 헤더 영역(명령 줄 다음부터 빈 줄까지)에서만 찾음
+        int headersEnd = frame.indexOf("\n\n");
+        int header = frame.indexOf(SKIPPABLE_HEADER_LINE, "MESSAGE".length());
+        return header >= 0 && header < headersEnd;
+    }
+
+    private record Queued(WebSocketMessage<?> message, int bytes, boolean skippable, long enqueuedAt) {
+    }
+}
@@ -1,9 +1,11 @@
 package kr.pe.tn.handler;
 
 import kr.pe.tn.domain.chat.dto.ChatMessage;
+import kr.pe.tn.domain.chat.presence.ChatPresenceRegistry;
 import kr.pe.tn.domain.chat.service.ChatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
@@ -14,14 +16,21 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 /**
  * WebSocket 이벤트 리스너
  * 사용자 연결/해제 이벤트 처리
+ * 연결 해제 이벤트 없이 응답이 끊긴 세션(ChatPresenceRegistry lease 만료)도 같은 방법으로 퇴장 처리합니다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class WebSocketEventListener {
+public class WebSocketEventListener implements InitializingBean {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final ChatService chatService;
+    private final ChatPresenceRegistry presenceRegistry;
+
+    @Override
+    public void afterPropertiesSet() {
+        presenceRegistry.onSessionExpired(this::handleExpiredSession);
+    }
 
     /**
      * WebSocket 연결 이벤트
@@ -45,12 +54,32 @@ public class WebSocketEventListener {
         if (username != null && roomId != null) {
             log.info("[{}] 사용자 연결 해제: {}", roomId, username);
 
-            // 채팅방에서 사용자 제거
-            chatService.removeUser(roomId, username);
+            // 채팅방에서 사용자 제거 (lease 만료로 이미 퇴장 처리한 세션이면 퇴장 메시지를 다시 보내지 않음)
+            if (chatService.removeUser(roomId, username, headerAccessor.getSessionId())) {
+                sendLeave(roomId, username);
+            }
+        }
+    }
 
-            // 퇴장 메시지 생성 및 전송
-            ChatMessage leaveMessage = ChatMessage.createLeave(username, roomId);
-            messagingTemplate.convertAndSend("/topic/" + roomId, leaveMessage);
+    /**
+     * 응답 없는 세션 제거 (ChatPresenceRegistry lease 만료)
+     * 접속자 현황에서는 이미 제거됐으므로 채팅방 참여자에서 빼고 퇴장 메시지 전송
+     */
+    void handleExpiredSession(ChatPresenceRegistry.ExpiredSession session) {
+        if (session.roomId() == null) {
+            return;
         }
+        log.info("[{}] 응답 없는 사용자 퇴장: {}", session.roomId(), session.username());
+        chatService.leaveRoom(session.roomId(), session.username(), session.sessionId());
+        sendLeave(session.roomId(), session.username());
+    }
+
+    /**
+     * 퇴장 메시지 생성 및 전송
+     */
+    private void sendLeave(String roomId, String username) {
+        ChatMessage leaveMessage = ChatMessage.createLeave(username, roomId);
+        messagingTemplate.convertAndSend("/topic/" + roomId, leaveMessage, ChatOutboundQueues.skippableHeaders());
+        chatService.recordMessage(roomId, leaveMessage);
     }
 }
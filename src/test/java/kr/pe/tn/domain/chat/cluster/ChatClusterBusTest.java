@@ -0,0 +1,133 @@
+package kr.pe.tn.domain.chat.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 노드 간 메시지 버스 (localhost 두 노드 loopback, 공유 비밀 접속 인증)
+ */
+class ChatClusterBusTest {
+
+    private static final String SECRET = "test-secret";
+
+    private final List<ChatClusterBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (ChatClusterBus bus : buses) {
+            bus.destroy();
+        }
+    }
+
+    /**
+     * 두 노드가 서로를 피어로 연결하고 보낸 순서대로, 보낸 노드 id 와 함께 프레임을 주고받음
+     */
+    @Test
+    void twoNodesExchangeFramesInOrder() throws Exception {
+        int portA = freePort();
+        int portB = freePort();
+        ChatClusterBus nodeA = start("node-a", portA, SECRET, portB);
+        ChatClusterBus nodeB = start("node-b", portB, SECRET, portA);
+
+        BlockingQueue<ChatClusterBus.Frame> receivedByB = new LinkedBlockingQueue<>();
+        BlockingQueue<ChatClusterBus.Frame> receivedByA = new LinkedBlockingQueue<>();
+        nodeB.subscribe("chat", receivedByB::add);
+        nodeA.subscribe("chat", receivedByA::add);
+
+        for (int i = 0; i < 100; i++) {
+            nodeA.publish("chat", ("a-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        nodeB.publish("chat", "b-0".getBytes(StandardCharsets.UTF_8));
+        nodeA.publish("other", "ignored".getBytes(StandardCharsets.UTF_8));
+
+        for (int i = 0; i < 100; i++) {
+            ChatClusterBus.Frame frame = receivedByB.poll(5, TimeUnit.SECONDS);
+            assertThat(frame).isNotNull();
+            assertThat(frame.origin()).isEqualTo("node-a");
+            assertThat(new String(frame.body(), StandardCharsets.UTF_8)).isEqualTo("a-" + i);
+        }
+        ChatClusterBus.Frame fromB = receivedByA.poll(5, TimeUnit.SECONDS);
+        assertThat(fromB).isNotNull();
+        assertThat(fromB.origin()).isEqualTo("node-b");
+
+        await(() -> (long) nodeB.stats().get("received") == 101);
+        assertThat(receivedByB).isEmpty();
+        assertThat(nodeB.stats()).containsEntry("rejected", 0L);
+    }
+
+    /**
+     * 공유 비밀이 다른 노드와 인증 없이 프레임을 보내는 연결은 프레임 전달 전에 끊음
+     */
+    @Test
+    void rejectsPeersWithoutTheSharedSecret() throws Exception {
+        int portB = freePort();
+        ChatClusterBus nodeB = start("node-b", portB, SECRET);
+        BlockingQueue<ChatClusterBus.Frame> receivedByB = new LinkedBlockingQueue<>();
+        nodeB.subscribe("chat", receivedByB::add);
+
+        ChatClusterBus intruder = start("intruder", freePort(), "wrong-secret", portB);
+        intruder.publish("chat", "spoofed".getBytes(StandardCharsets.UTF_8));
+
+        // 인증 응답 없이 바로 프레임을 쓰는 연결
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), portB)) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            byte[] frame = "raw".getBytes(StandardCharsets.UTF_8);
+            out.writeInt(frame.length);
+            out.write(frame);
+            out.flush();
+        }
+
+        await(() -> (long) nodeB.stats().get("rejected") >= 2);
+        assertThat(receivedByB.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(nodeB.stats()).containsEntry("received", 0L);
+    }
+
+    @Test
+    void requiresSecret() {
+        assertThatThrownBy(() -> new ChatClusterBus("node", "127.0.0.1", 0, List.of(), "", 10, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private ChatClusterBus start(String nodeId, int port, String secret, int... peerPorts) throws IOException {
+        List<String> peers = new ArrayList<>();
+        for (int peerPort : peerPorts) {
+            peers.add("127.0.0.1:" + peerPort);
+        }
+        ChatClusterBus bus = new ChatClusterBus(nodeId, "127.0.0.1", port, peers, secret, 1000,
+                Duration.ofMillis(100));
+        bus.afterPropertiesSet();
+        buses.add(bus);
+        return bus;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,114 @@
+package kr.pe.tn.domain.chat.cluster;
+
+import kr.pe.tn.domain.chat.presence.ChatPresenceRegistry;
+import kr.pe.tn.handler.ChatDestinationGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * relay 모드 접속자 현황 복제 (브로커 내부 목적지로 주고받은 변경/전체 목록을 다른 서버에 반영)
+ */
+class ChatRelayPresenceTest {
+
+    private static final Duration LONG_LEASE = Duration.ofMinutes(10);
+
+    // 외부 브로커 대신 보낸 프레임을 모든 서버(보낸 서버 포함)에 전달
+    private final List<ChatRelayPresence> nodes = new ArrayList<>();
+
+    private ChatPresenceRegistry registryA;
+    private ChatPresenceRegistry registryB;
+    private StompBrokerRelayMessageHandler relayA;
+
+    @BeforeEach
+    void setUp() {
+        registryA = new ChatPresenceRegistry(LONG_LEASE, LONG_LEASE);
+        registryB = new ChatPresenceRegistry(LONG_LEASE, LONG_LEASE);
+        relayA = mock(StompBrokerRelayMessageHandler.class);
+        nodes.add(node(registryA, relayA));
+        nodes.add(node(registryB, mock(StompBrokerRelayMessageHandler.class)));
+    }
+
+    /**
+     * 시스템 연결 구독에 내부 목적지 추가 (relay 기본 구독은 유지)
+     */
+    @Test
+    void subscribesToPresenceDestination() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, MessageHandler>> subscriptions = ArgumentCaptor.forClass(Map.class);
+        verify(relayA).setSystemSubscriptions(subscriptions.capture());
+        assertThat(subscriptions.getValue()).containsKey(ChatDestinationGuard.RELAY_PRESENCE_DESTINATION);
+    }
+
+    /**
+     * 한 서버의 접속/해제가 다른 서버의 온라인 사용자 목록에 반영되고, 자기 자신이 보낸 프레임은 무시
+     */
+    @Test
+    void replicatesChangesToOtherNodes() {
+        registryA.connect("alice", "public", "s1");
+        registryB.connect("bob", "public", "s2");
+
+        assertThat(registryA.onlineUsers()).containsExactlyInAnyOrder("alice", "bob");
+        assertThat(registryB.onlineUsers()).containsExactlyInAnyOrder("alice", "bob");
+
+        // 자기 프레임을 반영했다면 다른 서버 접속자로도 남아 있음
+        registryA.disconnect("s1");
+        assertThat(registryA.isOnline("alice")).isFalse();
+        assertThat(registryB.isOnline("alice")).isFalse();
+        assertThat(registryB.isOnline("bob")).isTrue();
+    }
+
+    /**
+     * 나중에 시작한 서버도 전체 목록 동기화로 이미 접속 중인 사용자를 받음
+     */
+    @Test
+    void syncRestoresMissedChanges() {
+        registryA.connect("alice", "public", "s1");
+        ChatPresenceRegistry registryC = new ChatPresenceRegistry(LONG_LEASE, LONG_LEASE);
+        ChatRelayPresence nodeC = node(registryC, mock(StompBrokerRelayMessageHandler.class));
+        nodes.add(nodeC);
+
+        nodeC.publishSync();
+
+        assertThat(registryC.isOnline("alice")).isTrue();
+    }
+
+    private ChatRelayPresence node(ChatPresenceRegistry registry, StompBrokerRelayMessageHandler relay) {
+        SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+        doAnswer(invocation -> {
+            byte[] body = invocation.getArgument(1);
+            Map<String, Object> headers = invocation.getArgument(2);
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            accessor.setDestination(invocation.getArgument(0));
+            headers.forEach((name, value) -> accessor.setNativeHeader(name, (String) value));
+            for (ChatRelayPresence node : List.copyOf(nodes)) {
+                node.receive(MessageBuilder.createMessage(body, accessor.getMessageHeaders()));
+            }
+            return null;
+        }).when(template).convertAndSend(eq(ChatDestinationGuard.RELAY_PRESENCE_DESTINATION), any(Object.class),
+                anyMap());
+
+        ChatRelayPresence presence = new ChatRelayPresence(template, relay, registry);
+        presence.afterSingletonsInstantiated();
+        return presence;
+    }
+}
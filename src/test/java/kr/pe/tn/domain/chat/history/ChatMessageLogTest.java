@@ -0,0 +1,195 @@
+package kr.pe.tn.domain.chat.history;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import kr.pe.tn.domain.chat.dto.ChatHistoryDTO;
+import kr.pe.tn.domain.chat.dto.ChatMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 메시지 로그 이전 메시지 조회 (전송 시간 커서 before / hasMore 페이지 이동, 노드를 바꿔 가며 조회)
+ */
+class ChatMessageLogTest {
+
+    private static final String ROOM_ID = "public";
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @TempDir
+    Path dir;
+
+    private ChatMessageLog messageLog;
+    private ChatMessageLog otherNodeLog;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (messageLog != null) {
+            messageLog.destroy();
+        }
+        if (otherNodeLog != null) {
+            otherNodeLog.destroy();
+        }
+    }
+
+    /**
+     * nextBefore 로 끝까지 이동하면 모든 메시지를 한 번씩 오래된 순으로 받고, 마지막 페이지는 hasMore=false
+     */
+    @Test
+    void pagesBackwardsWithBeforeUntilHasMoreIsFalse() throws Exception {
+        messageLog = open(dir, DataSize.ofMegabytes(1), 4);
+        int total = 10;
+        appendAll(messageLog, total);
+
+        ChatHistoryDTO latest = messageLog.history(ROOM_ID, null, 4);
+        assertThat(contents(latest)).containsExactly("message-6", "message-7", "message-8", "message-9");
+        assertThat(latest.getMessages()).extracting(ChatMessage::getOffset).containsExactly(6L, 7L, 8L, 9L);
+        assertThat(latest.isHasMore()).isTrue();
+        assertThat(latest.getNextBefore()).isEqualTo(sentAt(6));
+
+        List<String> all = new ArrayList<>(contents(latest));
+        ChatHistoryDTO page = latest;
+        while (page.isHasMore()) {
+            page = messageLog.history(ROOM_ID, page.getNextBefore(), 4);
+            all.addAll(0, contents(page));
+        }
+        assertThat(page.getNextBefore()).isNull();
+        assertThat(all).hasSize(total);
+        for (int i = 0; i < total; i++) {
+            assertThat(all.get(i)).isEqualTo("message-" + i);
+        }
+    }
+
+    /**
+     * 오래된 세그먼트가 삭제된 뒤에는 보관 중인 가장 오래된 메시지에서 hasMore=false
+     */
+    @Test
+    void hasMoreStopsAtOldestRetainedSegment() throws Exception {
+        messageLog = open(dir, DataSize.ofBytes(1024), 2);
+        appendAll(messageLog, 30);
+
+        ChatHistoryDTO page = messageLog.history(ROOM_ID, null, 100);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getMessages()).isNotEmpty().hasSizeLessThan(30);
+        assertThat(page.getMessages().get(page.getMessages().size() - 1).getContent()).isEqualTo("message-29");
+
+        String oldest = page.getMessages().get(0).getContent();
+        long oldestSentAt = sentAt(Integer.parseInt(oldest.substring("message-".length())));
+        assertThat(messageLog.history(ROOM_ID, oldestSentAt, 10).getMessages()).isEmpty();
+    }
+
+    /**
+     * 노드마다 복제된 메시지의 기록 순서(오프셋)가 달라도 한 노드의 nextBefore 로 다른 노드에서 이어서 조회하면
+     * 빠지거나 겹치는 메시지 없이 전송 시간 순서대로 받음
+     */
+    @Test
+    void cursorContinuesOnAnotherNode() throws Exception {
+        messageLog = open(dir.resolve("node-a"), DataSize.ofMegabytes(1), 4);
+        otherNodeLog = open(dir.resolve("node-b"), DataSize.ofMegabytes(1), 4);
+        int total = 20;
+
+        // node-a 는 전송 순서대로, node-b 는 인접한 메시지가 뒤바뀐 순서로 기록 (복제 지연)
+        for (int i = 0; i < total; i++) {
+            append(messageLog, i);
+            append(otherNodeLog, i % 2 == 0 ? i + 1 : i - 1);
+        }
+        awaitAppended(messageLog, total);
+        awaitAppended(otherNodeLog, total);
+
+        List<String> all = new ArrayList<>();
+        ChatHistoryDTO page = messageLog.history(ROOM_ID, null, 3);
+        all.addAll(0, contents(page));
+        boolean onNodeA = false;
+        while (page.isHasMore()) {
+            page = (onNodeA ? messageLog : otherNodeLog).history(ROOM_ID, page.getNextBefore(), 3);
+            all.addAll(0, contents(page));
+            onNodeA = !onNodeA;
+        }
+
+        assertThat(all).hasSize(total);
+        for (int i = 0; i < total; i++) {
+            assertThat(all.get(i)).isEqualTo("message-" + i);
+        }
+    }
+
+    /**
+     * 전송 시간이 같은 메시지는 페이지 경계에서 나뉘지 않고 한 페이지에 함께 담김
+     */
+    @Test
+    void messagesWithTheSameTimestampStayOnOnePage() throws Exception {
+        messageLog = open(dir, DataSize.ofMegabytes(1), 4);
+        for (int i = 0; i < 5; i++) {
+            assertThat(messageLog.append(ROOM_ID, message("same-" + i, BASE_TIME), false)).isTrue();
+        }
+        assertThat(messageLog.append(ROOM_ID, message("later", BASE_TIME.plusSeconds(1)), false)).isTrue();
+        awaitAppended(messageLog, 6);
+
+        ChatHistoryDTO latest = messageLog.history(ROOM_ID, null, 3);
+        assertThat(contents(latest)).containsExactly("same-0", "same-1", "same-2", "same-3", "same-4", "later");
+        assertThat(latest.isHasMore()).isFalse();
+    }
+
+    @Test
+    void unknownRoomHasNoHistory() throws Exception {
+        messageLog = open(dir, DataSize.ofMegabytes(1), 4);
+
+        ChatHistoryDTO history = messageLog.history("nobody-here", null, 10);
+        assertThat(history.getMessages()).isEmpty();
+        assertThat(history.isHasMore()).isFalse();
+    }
+
+    private ChatMessageLog open(Path logDir, DataSize segmentSize, int maxSegments) throws Exception {
+        ChatMessageLog log = new ChatMessageLog(JsonMapper.builder().findAndAddModules().build(), logDir,
+                segmentSize, maxSegments, 1000, Duration.ofMillis(10), 16);
+        log.afterPropertiesSet();
+        return log;
+    }
+
+    /**
+     * message-0 부터 순서대로 1초 간격 전송 시간으로 기록하고 기록 스레드가 모두 기록할 때까지 대기
+     */
+    private static void appendAll(ChatMessageLog log, int count) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            append(log, i);
+        }
+        awaitAppended(log, count);
+    }
+
+    private static void append(ChatMessageLog log, int i) {
+        assertThat(log.append(ROOM_ID, message("message-" + i, BASE_TIME.plusSeconds(i)), false)).isTrue();
+    }
+
+    private static ChatMessage message(String content, LocalDateTime timestamp) {
+        ChatMessage message = ChatMessage.createNormal(content, "tester", "tester", ROOM_ID);
+        message.setTimestamp(timestamp);
+        return message;
+    }
+
+    private static void awaitAppended(ChatMessageLog log, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while ((long) log.stats().get("appended") < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(log.stats()).containsEntry("appended", (long) count);
+    }
+
+    /**
+     * message-i 의 전송 시간 커서 (epoch 마이크로초)
+     */
+    private static long sentAt(int i) {
+        return BASE_TIME.plusSeconds(i).toEpochSecond(ZoneOffset.UTC) * 1_000_000;
+    }
+
+    private static List<String> contents(ChatHistoryDTO history) {
+        return history.getMessages().stream().map(ChatMessage::getContent).toList();
+    }
+}
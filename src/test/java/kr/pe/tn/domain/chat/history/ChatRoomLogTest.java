@@ -0,0 +1,131 @@
+package kr.pe.tn.domain.chat.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 메시지 로그 세그먼트 (잘린 꼬리 레코드 복구, 세그먼트 교체/삭제, 오프셋 범위 조회)
+ */
+class ChatRoomLogTest {
+
+    // 1024 bytes 세그먼트에 100 bytes 본문(+ 헤더 8 bytes) 레코드 9 개
+    private static final int SEGMENT_BYTES = 1024;
+    private static final int PAYLOAD_BYTES = 100;
+    private static final int RECORDS_PER_SEGMENT = SEGMENT_BYTES / (PAYLOAD_BYTES + 8);
+
+    @TempDir
+    Path dir;
+
+    /**
+     * 마지막 레코드 본문이 온전히 기록되지 않은 채 종료되면 재시작 시 그 레코드만 버리고 같은 오프셋부터 이어서 기록
+     */
+    @Test
+    void recoverDropsTornLastRecord() throws IOException {
+        try (ChatRoomLog roomLog = ChatRoomLog.open(dir, SEGMENT_BYTES, 4)) {
+            for (int i = 0; i < 3; i++) {
+                roomLog.append(payload(i));
+            }
+        }
+
+        // 세 번째 레코드 본문 일부 손상 (색인은 기록됐지만 본문은 중간까지만 기록된 상황)
+        Path segmentFile = dir.resolve("%020d.log".formatted(0));
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[PAYLOAD_BYTES / 2]), 2L * (PAYLOAD_BYTES + 8) + 8 + PAYLOAD_BYTES / 2);
+        }
+
+        try (ChatRoomLog roomLog = ChatRoomLog.open(dir, SEGMENT_BYTES, 4)) {
+            assertThat(roomLog.nextOffset()).isEqualTo(2);
+            assertThat(offsets(roomLog.readBefore(Long.MAX_VALUE, 10))).containsExactly(0L, 1L);
+
+            assertThat(roomLog.append(payload(2))).isEqualTo(2);
+            List<ChatRoomLog.Record> records = roomLog.readBefore(Long.MAX_VALUE, 10);
+            assertThat(offsets(records)).containsExactly(0L, 1L, 2L);
+            assertThat(text(records.get(2))).startsWith("message-2 ");
+        }
+    }
+
+    /**
+     * 세그먼트가 가득 차면 다음 오프셋으로 새 세그먼트를 만들고, 경계를 걸친 조회도 순서대로 읽음
+     */
+    @Test
+    void rollAcrossSegmentBoundary() throws IOException {
+        try (ChatRoomLog roomLog = ChatRoomLog.open(dir, SEGMENT_BYTES, 4)) {
+            int total = RECORDS_PER_SEGMENT + 3;
+            for (int i = 0; i < total; i++) {
+                assertThat(roomLog.append(payload(i))).isEqualTo(i);
+            }
+
+            assertThat(segmentFiles()).containsExactly(
+                    "%020d.log".formatted(0), "%020d.log".formatted(RECORDS_PER_SEGMENT));
+
+            long before = RECORDS_PER_SEGMENT + 2;
+            List<ChatRoomLog.Record> records = roomLog.readBefore(before, 4);
+            assertThat(offsets(records)).containsExactly(before - 4, before - 3, before - 2, before - 1);
+            for (ChatRoomLog.Record record : records) {
+                assertThat(text(record)).startsWith("message-" + record.offset() + " ");
+            }
+        }
+
+        // 다시 열어도 마지막 세그먼트부터 이어서 기록
+        try (ChatRoomLog roomLog = ChatRoomLog.open(dir, SEGMENT_BYTES, 4)) {
+            assertThat(roomLog.nextOffset()).isEqualTo(RECORDS_PER_SEGMENT + 3);
+        }
+    }
+
+    /**
+     * 세그먼트 수가 max-segments 를 넘으면 가장 오래된 세그먼트 파일부터 삭제하고 시작 오프셋을 옮김
+     */
+    @Test
+    void deletesOldestSegmentsPastMaxSegments() throws IOException {
+        try (ChatRoomLog roomLog = ChatRoomLog.open(dir, SEGMENT_BYTES, 2)) {
+            int total = RECORDS_PER_SEGMENT * 3 + 1;
+            for (int i = 0; i < total; i++) {
+                roomLog.append(payload(i));
+            }
+
+            assertThat(segmentFiles()).containsExactly(
+                    "%020d.log".formatted(RECORDS_PER_SEGMENT * 2), "%020d.log".formatted(RECORDS_PER_SEGMENT * 3));
+            assertThat(roomLog.startOffset()).isEqualTo(RECORDS_PER_SEGMENT * 2);
+
+            // 삭제된 범위는 조회 결과에서 빠짐
+            List<ChatRoomLog.Record> records = roomLog.readBefore(Long.MAX_VALUE, total);
+            assertThat(records).hasSize(RECORDS_PER_SEGMENT + 1);
+            assertThat(records.get(0).offset()).isEqualTo(RECORDS_PER_SEGMENT * 2);
+            assertThat(roomLog.readBefore(RECORDS_PER_SEGMENT, 10)).isEmpty();
+        }
+    }
+
+    private static byte[] payload(int i) {
+        String prefix = "message-" + i + " ";
+        return (prefix + "x".repeat(PAYLOAD_BYTES - prefix.length())).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(ChatRoomLog.Record record) {
+        return new String(record.payload(), StandardCharsets.UTF_8);
+    }
+
+    private static List<Long> offsets(List<ChatRoomLog.Record> records) {
+        return records.stream().map(ChatRoomLog.Record::offset).toList();
+    }
+
+    private List<String> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".log"))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package kr.pe.tn.domain.chat.presence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 접속자 현황 (여러 세션/서버 합산, 다른 서버 변경/전체 목록 반영, lease 만료)
+ */
+class ChatPresenceRegistryTest {
+
+    private static final Duration LONG_LEASE = Duration.ofMinutes(10);
+
+    /**
+     * 사용자의 첫 세션 접속과 마지막 세션 해제에서만 온라인/오프라인 변경 알림
+     */
+    @Test
+    void localChangesOnlyOnFirstAndLastSession() {
+        ChatPresenceRegistry registry = new ChatPresenceRegistry(LONG_LEASE, LONG_LEASE);
+        List<ChatPresenceRegistry.Change> changes = new ArrayList<>();
+        registry.onLocalChange(changes::add);
+
+        registry.connect("alice", "public", "s1");
+        registry.connect("alice", "anonymous", "s2");
+        assertThat(registry.isOnline("alice")).isTrue();
+        assertThat(registry.localUsers()).containsExactly("alice");
+
+        assertThat(registry.disconnect("s1")).isTrue();
+        assertThat(registry.isOnline("alice")).isTrue();
+        assertThat(registry.disconnect("s2")).isTrue();
+        assertThat(registry.disconnect("s2")).isFalse();
+        assertThat(registry.isOnline("alice")).isFalse();
+
+        assertThat(changes).containsExactly(
+                new ChatPresenceRegistry.Change("alice", true),
+                new ChatPresenceRegistry.Change("alice", false));
+    }
+
+    /**
+     * 다른 서버의 변경(delta)은 서버별로 합산하여, 모든 서버에서 오프라인이 될 때 오프라인
+     */
+    @Test
+    void remoteDeltasAreCountedPerNode() {
+        ChatPresenceRegistry registry = new ChatPresenceRegistry(LONG_LEASE, LONG_LEASE);
+        registry.connect("alice", "public", "s1");
+
+        registry.applyRemote("node-b", "alice", true);
+        registry.applyRemote("node-b", "alice", true);
+        registry.applyRemote("node-c", "bob", true);
+        assertThat(registry.onlineUsers()).containsExactlyInAnyOrder("alice", "bob");
+        assertThat(registry.localUsers()).containsExactly("alice");
+
+        registry.disconnect("s1");
+        assertThat(registry.isOnline("alice")).isTrue();
+        registry.applyRemote("node-b", "alice", false);
+        assertThat(registry.isOnline("alice")).isFalse();
+
+        // 중복 오프라인 변경은 다른 서버의 접속에 영향 없음
+        registry.applyRemote("node-b", "bob", false);
+        assertThat(registry.isOnline("bob")).isTrue();
+    }
+
+    /**
+     * 전체 목록(sync)으로 교체하면 놓친 온라인/오프라인 변경을 복구
+     */
+    @Test
+    void syncReplacesRemoteUsers() {
+        ChatPresenceRegistry registry = new ChatPresenceRegistry(LONG_LEASE, LONG_LEASE);
+        assertThat(registry.isKnownNode("node-b")).isFalse();
+
+        registry.replaceRemote("node-b", Set.of("alice", "bob"));
+        assertThat(registry.isKnownNode("node-b")).isTrue();
+        assertThat(registry.onlineUsers()).containsExactlyInAnyOrder("alice", "bob");
+
+        registry.applyRemote("node-c", "bob", true);
+        registry.replaceRemote("node-b", Set.of("carol"));
+        assertThat(registry.onlineUsers()).containsExactlyInAnyOrder("bob", "carol");
+    }
+
+    /**
+     * session-lease 동안 활동이 없는 세션은 제거하고 입장했던 채팅방과 함께 알림, 활동한 세션은 유지
+     */
+    @Test
+    void expiredSessionsAreRemovedAndReported() throws InterruptedException {
+        ChatPresenceRegistry registry = new ChatPresenceRegistry(Duration.ofMillis(50), LONG_LEASE);
+        List<ChatPresenceRegistry.ExpiredSession> expired = new ArrayList<>();
+        List<ChatPresenceRegistry.Change> changes = new ArrayList<>();
+        registry.onSessionExpired(expired::add);
+        registry.onLocalChange(changes::add);
+
+        registry.connect("alice", "public", "s1");
+        registry.connect("bob", "anonymous", "s2");
+        Thread.sleep(100);
+        registry.touch("s2");
+        registry.expire();
+
+        assertThat(expired).containsExactly(new ChatPresenceRegistry.ExpiredSession("alice", "public", "s1"));
+        assertThat(changes).contains(new ChatPresenceRegistry.Change("alice", false));
+        assertThat(registry.onlineUsers()).containsExactly("bob");
+
+        // 만료 후 늦게 도착한 연결 해제는 이미 제거된 세션
+        assertThat(registry.disconnect("s1")).isFalse();
+    }
+
+    /**
+     * node-lease 동안 소식이 없는 서버의 접속자는 모두 제거
+     */
+    @Test
+    void silentNodesExpire() throws InterruptedException {
+        ChatPresenceRegistry registry = new ChatPresenceRegistry(LONG_LEASE, Duration.ofMillis(50));
+        registry.connect("alice", "public", "s1");
+        registry.replaceRemote("node-b", Set.of("alice", "bob"));
+        registry.replaceRemote("node-c", Set.of("carol"));
+
+        Thread.sleep(100);
+        registry.replaceRemote("node-c", Set.of("carol"));
+        registry.expire();
+
+        assertThat(registry.isKnownNode("node-b")).isFalse();
+        assertThat(registry.onlineUsers()).containsExactlyInAnyOrder("alice", "carol");
+    }
+}
@@ -0,0 +1,86 @@
+package kr.pe.tn.domain.chat.service;
+
+import kr.pe.tn.domain.chat.dto.ChatRoom;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 참여자 동시 입장/퇴장 (인원 수와 스냅샷이 실제 참여자와 일치)
+ */
+class ChatRoomMembershipTest {
+
+    private static final int THREADS = 8;
+    private static final int USERS_PER_THREAD = 200;
+
+    /**
+     * 여러 스레드가 같은 사용자들의 세션으로 동시에 입장/퇴장해도 남은 참여자 수와 인원 수가 일치
+     */
+    @Test
+    void concurrentJoinAndLeaveKeepCountConsistent() throws Exception {
+        ChatRoomMembership room = ChatRoomMembership.publicRoom();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < USERS_PER_THREAD; i++) {
+                        // 사용자마다 스레드 수만큼의 세션 (여러 탭), 짝수 사용자는 모든 세션이 다시 퇴장
+                        String username = "user-" + i;
+                        String sessionId = username + "-session-" + thread;
+                        room.join(username, sessionId);
+                        if (i % 2 == 0) {
+                            room.leave(username, sessionId);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ChatRoom snapshot = room.snapshot();
+        assertThat(room.userCount()).isEqualTo(USERS_PER_THREAD / 2);
+        assertThat(snapshot.getUserCount()).isEqualTo(USERS_PER_THREAD / 2);
+        assertThat(snapshot.getParticipants())
+                .hasSize(USERS_PER_THREAD / 2)
+                .allSatisfy(username -> assertThat(Integer.parseInt(username.substring("user-".length())) % 2)
+                        .isEqualTo(1));
+    }
+
+    /**
+     * 여러 탭으로 입장한 사용자는 마지막 세션이 나갈 때만 참여자에서 빠지고, 같은 세션의 중복 입장/퇴장은 무시
+     */
+    @Test
+    void lastSessionLeaves() {
+        ChatRoomMembership room = ChatRoomMembership.publicRoom();
+        room.join("alice", "s1");
+        room.join("alice", "s1");
+        room.join("alice", "s2");
+        assertThat(room.userCount()).isEqualTo(1);
+
+        room.leave("alice", "s1");
+        room.leave("alice", "s1");
+        assertThat(room.userCount()).isEqualTo(1);
+        assertThat(room.snapshot().getParticipants()).containsExactly("alice");
+
+        room.leave("alice", "s2");
+        assertThat(room.userCount()).isZero();
+        assertThat(room.snapshot().getParticipants()).isEmpty();
+    }
+}
@@ -0,0 +1,349 @@
+package kr.pe.tn.domain.fruit.eval;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.pe.tn.domain.fruit.dto.FruitDTO;
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import kr.pe.tn.domain.fruit.gemini.GeminiCircuitBreaker;
+import kr.pe.tn.domain.fruit.gemini.GeminiClient;
+import kr.pe.tn.domain.fruit.gemini.GeminiRateLimiter;
+import kr.pe.tn.domain.fruit.ingest.FruitCatalogFormat;
+import kr.pe.tn.domain.fruit.ingest.FruitCatalogReader;
+import kr.pe.tn.domain.fruit.repository.FruitRepository;
+import kr.pe.tn.domain.fruit.search.FruitRetriever;
+import kr.pe.tn.domain.fruit.search.FruitSearchIndex;
+import kr.pe.tn.domain.fruit.search.HashingEmbedder;
+import kr.pe.tn.domain.fruit.search.HybridRetriever;
+import kr.pe.tn.domain.fruit.search.VectorRetriever;
+import kr.pe.tn.domain.fruit.service.FruitAnswerCache;
+import kr.pe.tn.domain.fruit.service.FruitContextBuilder;
+import kr.pe.tn.domain.fruit.service.FruitConversationStore;
+import kr.pe.tn.domain.fruit.service.FruitRAGService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 과일 RAG 오프라인 평가 및 지연 시간 벤치마크
+ *
+ * DB와 실제 Gemini API 없이 초기 과일 데이터(fruits/initial-fruits.jsonl)로 검색기를 구성하고,
+ * 정답 과일 id가 붙은 질문 세트(fruit-eval/golden-questions.jsonl)로 검색 품질을,
+ * 로컬 스텁 Gemini 서버를 상대로 answerQuestion 전체 경로의 지연 시간을 측정합니다.
+ *
+ * 검색 품질은 검색기별 recall@k / MRR 하한(현재 값보다 조금 낮게)과 하이브리드 recall >= 키워드 recall 을
+ * 확인하므로 검색/임베딩/RRF 변경으로 품질이 떨어지면 실패합니다. 하한은 기본 k(5)에서만 확인합니다.
+ * 지연 시간 부하 재생은 benchmark 태그로 기본 빌드에서 제외됩니다.
+ *
+ * 시스템 프로퍼티로 조정
+ * (예: mvn test -Dtest=FruitRagEvaluationTest -Dtest.excluded-groups= -Drag.eval.requests=2000)
+ * - rag.eval.k: recall@k 의 k (기본 5)
+ * - rag.eval.requests: 부하 재생 요청 수 (기본 200)
+ * - rag.eval.concurrency: 동시 요청 수 (기본 16)
+ * - rag.eval.gemini-delay-ms: 스텁 Gemini 응답 지연 (기본 50)
+ * - rag.eval.cache-size: 답변 캐시 크기 (기본 0, 캐시 없이 측정)
+ * - rag.eval.retriever: 부하 재생에 사용할 검색기 (기본 hybrid)
+ */
+@Slf4j
+class FruitRagEvaluationTest {
+
+    private static final int DEFAULT_K = 5;
+    private static final int K = Integer.getInteger("rag.eval.k", DEFAULT_K);
+    private static final int REQUESTS = Integer.getInteger("rag.eval.requests", 200);
+    private static final int CONCURRENCY = Integer.getInteger("rag.eval.concurrency", 16);
+    private static final long GEMINI_DELAY_MS = Long.getLong("rag.eval.gemini-delay-ms", 50);
+    private static final int CACHE_SIZE = Integer.getInteger("rag.eval.cache-size", 0);
+    private static final String RETRIEVER = System.getProperty("rag.eval.retriever", "hybrid");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // 검색기별 recall@5 / MRR 하한 (현재 값에서 0.03 정도 여유)
+    // 현재: lexical 0.950 / 0.838, vector 0.817 / 0.717, hybrid 0.950 / 0.804
+    private static final Map<String, Quality> QUALITY_FLOORS = Map.of(
+            "lexical", new Quality(0.92, 0.80),
+            "vector", new Quality(0.78, 0.68),
+            "hybrid", new Quality(0.92, 0.77));
+
+    private static List<GoldenQuestion> goldenQuestions;
+    private static FruitRepository fruitRepository;
+    private static List<FruitRetriever> retrievers;
+    private static VectorRetriever vectorRetriever;
+    private static HybridRetriever hybridRetriever;
+    private static ExecutorService searchExecutor;
+
+    /**
+     * 정답 세트 한 줄 (질문, 관련 과일 id)
+     */
+    record GoldenQuestion(String question, List<Long> expectedIds) {
+    }
+
+    /**
+     * 검색 품질 (recall@k, MRR)
+     */
+    record Quality(double recall, double mrr) {
+    }
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        List<Fruit> fruits = loadFruits();
+        goldenQuestions = loadGoldenQuestions();
+
+        fruitRepository = mock(FruitRepository.class);
+        when(fruitRepository.findAll()).thenReturn(fruits);
+
+        searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        FruitSearchIndex lexicalRetriever = new FruitSearchIndex(fruitRepository);
+        vectorRetriever = new VectorRetriever(fruitRepository, new HashingEmbedder(), "");
+        hybridRetriever = new HybridRetriever(lexicalRetriever, vectorRetriever, searchExecutor, 60, 4);
+        retrievers = List.of(lexicalRetriever, vectorRetriever, hybridRetriever);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        vectorRetriever.destroy();
+        searchExecutor.shutdownNow();
+    }
+
+    /**
+     * 검색기별 recall@k, MRR 이 하한 이상이고 하이브리드 recall 이 키워드 검색 이상
+     */
+    @Test
+    void retrievalQuality() {
+        log.info("검색 품질 (질문 {} 개, k={})", goldenQuestions.size(), K);
+        Map<String, Quality> qualities = new HashMap<>();
+        for (FruitRetriever retriever : retrievers) {
+            double recallSum = 0.0;
+            double reciprocalRankSum = 0.0;
+            for (GoldenQuestion golden : goldenQuestions) {
+                List<Long> resultIds = retriever.search(golden.question(), K).stream()
+                        .map(Fruit::getId)
+                        .toList();
+
+                long found = golden.expectedIds().stream().filter(resultIds::contains).count();
+                recallSum += (double) found / golden.expectedIds().size();
+
+                for (int rank = 0; rank < resultIds.size(); rank++) {
+                    if (golden.expectedIds().contains(resultIds.get(rank))) {
+                        reciprocalRankSum += 1.0 / (rank + 1);
+                        break;
+                    }
+                }
+            }
+
+            double recall = recallSum / goldenQuestions.size();
+            double mrr = reciprocalRankSum / goldenQuestions.size();
+            log.info("  {}: recall@{}={} MRR={}", retriever.name(), K,
+                    String.format("%.3f", recall), String.format("%.3f", mrr));
+
+            qualities.put(retriever.name(), new Quality(recall, mrr));
+        }
+
+        if (K == DEFAULT_K) {
+            QUALITY_FLOORS.forEach((name, floor) -> {
+                Quality quality = qualities.get(name);
+                assertThat(quality.recall()).as(name + " recall@" + K).isGreaterThanOrEqualTo(floor.recall());
+                assertThat(quality.mrr()).as(name + " MRR").isGreaterThanOrEqualTo(floor.mrr());
+            });
+        }
+        assertThat(qualities.get("hybrid").recall()).as("hybrid recall@" + K + " >= lexical")
+                .isGreaterThanOrEqualTo(qualities.get("lexical").recall());
+    }
+
+    /**
+     * 하이브리드 검색의 검색기별 소요 시간 / 최종 결과 기여 지표
+     */
+    @Test
+    void hybridSourceMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        hybridRetriever.bindTo(meterRegistry);
+        long before = (long) meterRegistry.get("fruit.rag.hybrid.search").tag("source", "vector").functionTimer().count();
+
+        for (GoldenQuestion golden : goldenQuestions) {
+            hybridRetriever.search(golden.question(), K);
+        }
+
+        for (String source : List.of("lexical", "vector")) {
+            assertThat(meterRegistry.get("fruit.rag.hybrid.search").tag("source", source).functionTimer().count())
+                    .isGreaterThanOrEqualTo(before + goldenQuestions.size());
+        }
+        double fused = meterRegistry.get("fruit.rag.hybrid.results").tag("source", "fused").functionCounter().count();
+        double lexical = meterRegistry.get("fruit.rag.hybrid.results").tag("source", "lexical").functionCounter().count();
+        double vector = meterRegistry.get("fruit.rag.hybrid.results").tag("source", "vector").functionCounter().count();
+        double both = meterRegistry.get("fruit.rag.hybrid.results").tag("source", "both").functionCounter().count();
+        log.info("하이브리드 검색 기여: lexical={} vector={} both={} / fused={}", lexical, vector, both, fused);
+
+        assertThat(fused).isPositive();
+        assertThat(lexical + vector - both).isEqualTo(fused);
+    }
+
+    /**
+     * 스텁 Gemini 서버를 상대로 answerQuestion 부하 재생 후 p50/p95/p99 지연 시간 (benchmark 태그)
+     */
+    @Test
+    @Tag("benchmark")
+    void answerLatency() throws Exception {
+        ThreadPoolExecutor fruitRagExecutor = new ThreadPoolExecutor(8, 8, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(100));
+        ExecutorService geminiExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        try (StubGeminiServer stub = new StubGeminiServer(Duration.ofMillis(GEMINI_DELAY_MS))) {
+            FruitRAGService service = newService(stub, fruitRagExecutor, geminiExecutor, meterRegistry);
+
+            long[] latencies = new long[REQUESTS];
+            List<CompletableFuture<FruitDTO.AnswerResponse>> responses = new ArrayList<>(REQUESTS);
+            Semaphore slots = new Semaphore(CONCURRENCY);
+
+            long started = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                FruitDTO.QuestionRequest request = new FruitDTO.QuestionRequest();
+                request.setQuestion(goldenQuestions.get(i % goldenQuestions.size()).question());
+
+                slots.acquire();
+                int index = i;
+                long requestStarted = System.nanoTime();
+                responses.add(service.answerQuestion(request).whenComplete((response, error) -> {
+                    latencies[index] = System.nanoTime() - requestStarted;
+                    slots.release();
+                }));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+            long elapsed = System.nanoTime() - started;
+
+            Arrays.sort(latencies);
+            log.info("답변 지연 시간 (검색기 {}, 요청 {} 개, 동시 {} 개, 스텁 지연 {}ms, 캐시 {})",
+                    RETRIEVER, REQUESTS, CONCURRENCY, GEMINI_DELAY_MS, CACHE_SIZE);
+            log.info("  p50={}ms p95={}ms p99={}ms max={}ms, 처리량 {}/s, Gemini 호출 {} 회",
+                    millis(percentile(latencies, 50)), millis(percentile(latencies, 95)),
+                    millis(percentile(latencies, 99)), millis(latencies[latencies.length - 1]),
+                    String.format("%.1f", REQUESTS / (elapsed / 1e9)), stub.generateCalls());
+            log.info("  {}", service.getStats().get("singleFlight"));
+            for (Timer stage : meterRegistry.find("fruit.rag.stage").timers()) {
+                log.info("  단계 {}: 평균 {}ms, 최대 {}ms ({} 회)", stage.getId().getTag("stage"),
+                        String.format("%.2f", stage.mean(TimeUnit.MILLISECONDS)),
+                        String.format("%.2f", stage.max(TimeUnit.MILLISECONDS)), stage.count());
+            }
+
+            for (CompletableFuture<FruitDTO.AnswerResponse> response : responses) {
+                assertThat(response.join().getAnswer()).isEqualTo(StubGeminiServer.ANSWER);
+            }
+        } finally {
+            fruitRagExecutor.shutdownNow();
+            geminiExecutor.shutdownNow();
+        }
+    }
+
+    private static FruitRAGService newService(StubGeminiServer stub, ThreadPoolExecutor fruitRagExecutor,
+            ExecutorService geminiExecutor, SimpleMeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(geminiExecutor)
+                .build();
+        // 호출 한도는 측정 대상이 아니므로 충분히 크게 설정
+        GeminiRateLimiter rateLimiter = new GeminiRateLimiter(1_000_000, 1_000_000_000, 1_000_000,
+                CONCURRENCY, REQUESTS, Duration.ofSeconds(30));
+        GeminiCircuitBreaker circuitBreaker = new GeminiCircuitBreaker(5, Duration.ofSeconds(10), 3,
+                Duration.ofSeconds(30));
+        GeminiClient geminiClient = new GeminiClient(httpClient, OBJECT_MAPPER, rateLimiter, circuitBreaker,
+                meterRegistry, "stub-key", stub.baseUrl(), "stub-model", Duration.ofSeconds(30));
+
+        FruitRAGService service = new FruitRAGService(
+                fruitRepository,
+                retrievers,
+                new FruitAnswerCache(CACHE_SIZE, Duration.ofMinutes(30)),
+                new FruitContextBuilder(1500, 200),
+                new FruitConversationStore(4, 200, 300, 5, 10_000, Duration.ofMinutes(30)),
+                event -> {
+                },
+                geminiClient,
+                rateLimiter,
+                circuitBreaker,
+                geminiExecutor,
+                fruitRagExecutor,
+                meterRegistry);
+        ReflectionTestUtils.setField(service, "retrieverName", RETRIEVER);
+        return service;
+    }
+
+    /**
+     * 초기 과일 데이터에 저장 순서대로 id 부여 (1부터)
+     */
+    private static List<Fruit> loadFruits() throws IOException {
+        List<Fruit> fruits = new ArrayList<>();
+        try (InputStream in = new ClassPathResource("fruits/initial-fruits.jsonl").getInputStream()) {
+            new FruitCatalogReader(OBJECT_MAPPER).read(in, FruitCatalogFormat.JSONL, new FruitCatalogReader.Sink() {
+                @Override
+                public void accept(long recordNumber, Fruit fruit) {
+                    fruits.add(Fruit.builder()
+                            .id((long) fruits.size() + 1)
+                            .name(fruit.getName())
+                            .englishName(fruit.getEnglishName())
+                            .benefits(fruit.getBenefits())
+                            .nutrients(fruit.getNutrients())
+                            .description(fruit.getDescription())
+                            .season(fruit.getSeason())
+                            .origin(fruit.getOrigin())
+                            .build());
+                }
+
+                @Override
+                public void reject(long recordNumber, String reason) {
+                    throw new IllegalStateException("초기 과일 데이터 오류 (" + recordNumber + "): " + reason);
+                }
+            });
+        }
+        return fruits;
+    }
+
+    private static List<GoldenQuestion> loadGoldenQuestions() throws IOException {
+        List<GoldenQuestion> questions = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource("fruit-eval/golden-questions.jsonl").getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    questions.add(OBJECT_MAPPER.readValue(line, GoldenQuestion.class));
+                }
+            }
+        }
+        return questions;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1e6);
+    }
+}
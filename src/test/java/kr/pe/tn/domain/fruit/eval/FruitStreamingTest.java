@@ -0,0 +1,216 @@
+package kr.pe.tn.domain.fruit.eval;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kr.pe.tn.domain.fruit.dto.FruitDTO;
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import kr.pe.tn.domain.fruit.gemini.GeminiCircuitBreaker;
+import kr.pe.tn.domain.fruit.gemini.GeminiClient;
+import kr.pe.tn.domain.fruit.gemini.GeminiDTO;
+import kr.pe.tn.domain.fruit.gemini.GeminiRateLimiter;
+import kr.pe.tn.domain.fruit.repository.FruitRepository;
+import kr.pe.tn.domain.fruit.search.FruitSearchIndex;
+import kr.pe.tn.domain.fruit.service.FruitAnswerCache;
+import kr.pe.tn.domain.fruit.service.FruitContextBuilder;
+import kr.pe.tn.domain.fruit.service.FruitConversationStore;
+import kr.pe.tn.domain.fruit.service.FruitRAGService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 스트리밍 답변 경로 (GeminiClient.streamGenerateContent, FruitRAGService.streamAnswer)
+ *
+ * 스텁 Gemini 서버가 SSE 이벤트를 중간에서 나누어 chunked 로 보내는 상황에서
+ * 텍스트 조각이 순서대로, 도착하는 대로 전달되고 SSE 이벤트가 fruits -> answer... -> done 순서로 끝나는지 확인합니다.
+ */
+class FruitStreamingTest {
+
+    private static final Duration STUB_DELAY = Duration.ofMillis(100);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private StubGeminiServer stub;
+    private ExecutorService geminiExecutor;
+    private ThreadPoolExecutor fruitRagExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private GeminiRateLimiter rateLimiter;
+    private GeminiCircuitBreaker circuitBreaker;
+    private GeminiClient geminiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = new StubGeminiServer(STUB_DELAY);
+        geminiExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        fruitRagExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(10));
+        meterRegistry = new SimpleMeterRegistry();
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(geminiExecutor)
+                .build();
+        rateLimiter = new GeminiRateLimiter(1_000, 1_000_000, 1_000, 4, 10, Duration.ofSeconds(5));
+        circuitBreaker = new GeminiCircuitBreaker(5, Duration.ofSeconds(10), 3, Duration.ofSeconds(30));
+        geminiClient = new GeminiClient(httpClient, OBJECT_MAPPER, rateLimiter, circuitBreaker,
+                meterRegistry, "stub-key", stub.baseUrl(), "stub-model", Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+        geminiExecutor.shutdownNow();
+        fruitRagExecutor.shutdownNow();
+    }
+
+    /**
+     * data 줄이 나뉘어 도착해도 조각을 순서대로, 스트림이 끝나기 전에 하나씩 전달
+     */
+    @Test
+    void streamGenerateContentDeliversChunksInOrderAsTheyArrive() {
+        List<String> chunks = new ArrayList<>();
+        List<Long> arrivals = new ArrayList<>();
+
+        long started = System.nanoTime();
+        geminiClient.streamGenerateContent(GeminiDTO.Request.ofPrompt("사과 효능"), text -> {
+            chunks.add(text);
+            arrivals.add(System.nanoTime());
+        });
+        long finished = System.nanoTime();
+
+        assertThat(chunks).containsExactlyElementsOf(StubGeminiServer.STREAM_CHUNKS);
+        // 첫 조각은 나머지 조각의 전송 지연(조각마다 2 * STUB_DELAY)을 기다리지 않고 도착
+        assertThat(finished - arrivals.get(0)).isGreaterThanOrEqualTo(STUB_DELAY.toNanos() * 3);
+        assertThat(arrivals.get(0) - started).isLessThan(finished - started);
+        assertThat(stub.generateCalls()).isEqualTo(1);
+    }
+
+    /**
+     * fruits 이벤트 -> 답변 조각(answer) 순서대로 -> done 이벤트 후 complete
+     */
+    @Test
+    void streamAnswerSendsFruitsThenAnswerChunksThenDone() throws InterruptedException {
+        FruitRAGService service = newService();
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        FruitDTO.QuestionRequest request = new FruitDTO.QuestionRequest();
+        request.setQuestion("사과 효능이 뭐야?");
+        request.setConversation(true);
+        service.streamAnswer(request, emitter);
+
+        assertThat(emitter.completed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<String> names = emitter.events.stream().map(SentEvent::name).toList();
+        List<String> expected = new ArrayList<>();
+        expected.add("fruits");
+        StubGeminiServer.STREAM_CHUNKS.forEach(chunk -> expected.add("answer"));
+        expected.add("done");
+        assertThat(names).containsExactlyElementsOf(expected);
+
+        List<?> fruits = (List<?>) emitter.events.get(0).data();
+        assertThat(fruits).isNotEmpty();
+        assertThat(((FruitDTO.Response) fruits.get(0)).getName()).isEqualTo("사과");
+
+        List<Object> texts = emitter.events.subList(1, names.size() - 1).stream()
+                .map(event -> (Object) ((Map<?, ?>) event.data()).get("text"))
+                .toList();
+        assertThat(texts).containsExactlyElementsOf(StubGeminiServer.STREAM_CHUNKS);
+
+        Map<?, ?> done = (Map<?, ?>) emitter.events.get(names.size() - 1).data();
+        assertThat(done.get("cached")).isEqualTo(false);
+        assertThat(done.get("sessionId")).isNotNull();
+        assertThat(emitter.eventsAtCompletion).isEqualTo(emitter.events.size());
+    }
+
+    private FruitRAGService newService() {
+        FruitRepository fruitRepository = mock(FruitRepository.class);
+        when(fruitRepository.findAll()).thenReturn(List.of(
+                fruit(1L, "사과", "Apple", "식이섬유가 풍부해 장 건강에 좋습니다."),
+                fruit(2L, "바나나", "Banana", "칼륨이 많아 혈압 조절에 도움을 줍니다."),
+                fruit(3L, "키위", "Kiwi", "비타민 C가 풍부해 면역력 강화에 좋습니다.")));
+
+        FruitRAGService service = new FruitRAGService(
+                fruitRepository,
+                List.of(new FruitSearchIndex(fruitRepository)),
+                new FruitAnswerCache(0, Duration.ofMinutes(30)),
+                new FruitContextBuilder(1500, 200),
+                new FruitConversationStore(4, 200, 300, 5, 10_000, Duration.ofMinutes(30)),
+                event -> {
+                },
+                geminiClient,
+                rateLimiter,
+                circuitBreaker,
+                geminiExecutor,
+                fruitRagExecutor,
+                meterRegistry);
+        ReflectionTestUtils.setField(service, "retrieverName", "lexical");
+        return service;
+    }
+
+    private static Fruit fruit(long id, String name, String englishName, String benefits) {
+        return Fruit.builder()
+                .id(id)
+                .name(name)
+                .englishName(englishName)
+                .benefits(benefits)
+                .nutrients("")
+                .description(name + " 설명")
+                .season("")
+                .origin("")
+                .build();
+    }
+
+    record SentEvent(String name, Object data) {
+    }
+
+    /**
+     * 보낸 이벤트(이름, 데이터)와 complete 시점을 기록하는 SseEmitter
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<SentEvent> events = new ArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile int eventsAtCompletion = -1;
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) {
+            String name = null;
+            Object data = null;
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text && MediaType.TEXT_PLAIN.isCompatibleWith(part.getMediaType())) {
+                    int start = text.indexOf("event:");
+                    if (start >= 0) {
+                        name = text.substring(start + "event:".length(), text.indexOf('\n', start));
+                    }
+                } else {
+                    data = part.getData();
+                }
+            }
+            events.add(new SentEvent(name, data));
+        }
+
+        @Override
+        public synchronized void complete() {
+            eventsAtCompletion = events.size();
+            completed.countDown();
+        }
+    }
+}
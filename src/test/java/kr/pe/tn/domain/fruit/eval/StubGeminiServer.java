@@ -0,0 +1,114 @@
+package kr.pe.tn.domain.fruit.eval;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 Gemini API 스텁 서버 (테스트 전용)
+ *
+ * generateContent 요청마다 지정한 지연 후 고정 답변을 돌려주고, 모델 조회(GET)에는 바로 200을 응답합니다.
+ * 실제 Gemini 호출 한도를 쓰지 않고 FruitRAGService 전체 경로의 지연 시간을 측정하는 데 사용합니다.
+ *
+ * streamGenerateContent 요청에는 STREAM_CHUNKS를 text/event-stream 으로 chunked 전송합니다.
+ * 각 data 줄을 두 번에 나누어 보내고 조각 사이마다 지연을 두어, 클라이언트가 줄 단위로 다시 조립하고
+ * 도착하는 대로 전달하는지 확인할 수 있습니다.
+ */
+class StubGeminiServer implements AutoCloseable {
+
+    static final String ANSWER = "스텁 답변입니다.";
+
+    static final List<String> STREAM_CHUNKS = List.of("스텁 ", "스트리밍 ", "답변입니다.");
+
+    private static final byte[] RESPONSE_BODY = ("{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":\""
+            + ANSWER + "\"}]},\"finishReason\":\"STOP\"}]}").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration delay;
+    private final AtomicLong generateCalls = new AtomicLong();
+
+    StubGeminiServer(Duration delay) throws IOException {
+        this.delay = delay;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/v1/models/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    long generateCalls() {
+        return generateCalls.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+            if ("GET".equals(exchange.getRequestMethod())) {
+                send(exchange, "{}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            generateCalls.incrementAndGet();
+            if (exchange.getRequestURI().getPath().endsWith(":streamGenerateContent")) {
+                stream(exchange);
+                return;
+            }
+            if (!delay.isZero()) {
+                Thread.sleep(delay);
+            }
+            send(exchange, RESPONSE_BODY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * SSE 응답 (chunked, 이벤트마다 data 줄을 중간에서 나누어 전송)
+     */
+    private void stream(HttpExchange exchange) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (String chunk : STREAM_CHUNKS) {
+                byte[] event = ("data: {\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":\""
+                        + chunk + "\"}]}}]}\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+                int half = event.length / 2;
+                out.write(event, 0, half);
+                out.flush();
+                Thread.sleep(delay);
+                out.write(event, half, event.length - half);
+                out.flush();
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,116 @@
+package kr.pe.tn.domain.fruit.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 과일 카탈로그 Markdown 읽기 (제목 단위 섹션 구분, 잘못된 섹션 거절)
+ */
+class FruitCatalogReaderTest {
+
+    private final FruitCatalogReader reader = new FruitCatalogReader(new ObjectMapper());
+
+    /**
+     * 설명 문단이 없는 과일도 별도 과일로 읽고, 하위 필드가 앞 과일에 섞이지 않음
+     */
+    @Test
+    void markdownSectionWithoutBodyIsStillAFruit() throws IOException {
+        Result result = readMarkdown("""
+                # 과일 카탈로그
+
+                ## 사과 (Apple)
+                아삭한 식감의 대표 과일입니다.
+
+                ### 효능
+                장 건강에 좋습니다.
+
+                ## 배 (Pear)
+                ### 효능
+                기관지 건강에 좋습니다.
+                ### 제철
+                가을
+
+                ## 감 (Persimmon)
+                ### 영양소
+                - 비타민 A
+                - 비타민 C
+                """);
+
+        assertThat(result.rejected).isEmpty();
+        assertThat(result.fruits).extracting(Fruit::getName).containsExactly("사과", "배", "감");
+
+        Fruit apple = result.fruits.get(0);
+        assertThat(apple.getEnglishName()).isEqualTo("Apple");
+        assertThat(apple.getDescription()).isEqualTo("아삭한 식감의 대표 과일입니다.");
+        assertThat(apple.getBenefits()).isEqualTo("장 건강에 좋습니다.");
+        assertThat(apple.getSeason()).isNull();
+
+        Fruit pear = result.fruits.get(1);
+        assertThat(pear.getDescription()).isNull();
+        assertThat(pear.getBenefits()).isEqualTo("기관지 건강에 좋습니다.");
+        assertThat(pear.getSeason()).isEqualTo("가을");
+
+        assertThat(result.fruits.get(2).getNutrients()).isEqualTo("비타민 A 비타민 C");
+    }
+
+    /**
+     * "##" 과일 제목 없이 나온 "###" 섹션과 형식이 틀린 제목은 줄 번호와 함께 거절
+     */
+    @Test
+    void orphanFieldSectionAndMalformedTitleAreRejected() throws IOException {
+        Result result = readMarkdown("""
+                ### 효능
+                어느 과일인지 알 수 없는 효능
+
+                ## 복숭아
+                ### 제철
+                여름
+
+                ## 자두 (Plum)
+                ```
+                ## 코드 블록 안의 제목 (Ignored)
+                ```
+                > ## 인용문 안의 제목 (Ignored)
+                ### 원산지
+                한국
+                """);
+
+        assertThat(result.fruits).extracting(Fruit::getName).containsExactly("자두");
+        assertThat(result.fruits.get(0).getOrigin()).isEqualTo("한국");
+        assertThat(result.fruits.get(0).getDescription()).isNull();
+        assertThat(result.rejected).hasSize(2);
+        assertThat(result.rejected.get(0)).startsWith("1: ");
+        assertThat(result.rejected.get(1)).startsWith("4: ").contains("복숭아");
+    }
+
+    private Result readMarkdown(String markdown) throws IOException {
+        Result result = new Result();
+        reader.read(new ByteArrayInputStream(markdown.getBytes(StandardCharsets.UTF_8)), FruitCatalogFormat.MARKDOWN,
+                new FruitCatalogReader.Sink() {
+                    @Override
+                    public void accept(long recordNumber, Fruit fruit) {
+                        result.fruits.add(fruit);
+                    }
+
+                    @Override
+                    public void reject(long recordNumber, String reason) {
+                        result.rejected.add(recordNumber + ": " + reason);
+                    }
+                });
+        return result;
+    }
+
+    private static class Result {
+        final List<Fruit> fruits = new ArrayList<>();
+        final List<String> rejected = new ArrayList<>();
+    }
+}
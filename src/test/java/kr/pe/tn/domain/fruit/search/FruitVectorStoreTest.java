@@ -0,0 +1,65 @@
+package kr.pe.tn.domain.fruit.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 과일 벡터 저장소 파일 재사용과 잠금 (이미 사용 중인 파일은 메모리에만 보관)
+ */
+class FruitVectorStoreTest {
+
+    private static final int DIMENSION = 4;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopensStoredVectors() throws IOException {
+        Path path = dir.resolve("vectors.bin");
+        try (FruitVectorStore store = new FruitVectorStore(path, DIMENSION, 1)) {
+            store.open();
+            store.put(1L, 11L, new float[]{1, 0, 0, 0});
+            store.put(2L, 22L, new float[]{0, 1, 0, 0});
+        }
+
+        try (FruitVectorStore store = new FruitVectorStore(path, DIMENSION, 1)) {
+            store.open();
+            assertThat(store.ids()).containsExactlyInAnyOrder(1L, 2L);
+            assertThat(store.contentHash(2L)).isEqualTo(22L);
+            assertThat(store.topK(new float[]{0, 1, 0, 0}, 1)).containsExactly(2L);
+        }
+    }
+
+    /**
+     * 잠긴 파일을 연 저장소는 파일을 건드리지 않고 메모리에서만 동작
+     */
+    @Test
+    void lockedFileFallsBackToMemory() throws IOException {
+        Path path = dir.resolve("vectors.bin");
+        try (FruitVectorStore owner = new FruitVectorStore(path, DIMENSION, 1)) {
+            owner.open();
+            owner.put(1L, 11L, new float[]{1, 0, 0, 0});
+
+            try (FruitVectorStore other = new FruitVectorStore(path, DIMENSION, 1)) {
+                other.open();
+                assertThat(other.size()).isZero();
+                other.put(2L, 22L, new float[]{0, 1, 0, 0});
+                other.remove(2L);
+                other.put(3L, 33L, new float[]{0, 0, 1, 0});
+            }
+
+            assertThat(owner.ids()).containsExactly(1L);
+            assertThat(owner.contentHash(1L)).isEqualTo(11L);
+        }
+
+        try (FruitVectorStore store = new FruitVectorStore(path, DIMENSION, 1)) {
+            store.open();
+            assertThat(store.ids()).containsExactly(1L);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package kr.pe.tn.domain.fruit.service;
+
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import kr.pe.tn.domain.fruit.search.FruitCatalogChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 과일 답변 캐시 무효화 (수정된 과일의 답변 제거, 검색 중 카탈로그가 바뀐 답변은 저장하지 않음)
+ */
+class FruitAnswerCacheTest {
+
+    private static final Fruit APPLE = Fruit.builder().id(1L).name("사과").build();
+    private static final Fruit BANANA = Fruit.builder().id(2L).name("바나나").build();
+
+    private final FruitAnswerCache cache = new FruitAnswerCache(10, Duration.ofMinutes(30));
+
+    @Test
+    void invalidatesAnswersOfChangedFruits() {
+        String appleKey = FruitAnswerCache.key("사과 효능은?", List.of(APPLE));
+        String bananaKey = FruitAnswerCache.key("바나나 효능은?", List.of(BANANA));
+        cache.put(appleKey, List.of(APPLE), "사과는 좋습니다.", cache.version());
+        cache.put(bananaKey, List.of(BANANA), "바나나는 좋습니다.", cache.version());
+
+        cache.onCatalogChanged(new FruitCatalogChangedEvent(List.of(APPLE)));
+
+        assertThat(cache.get(appleKey)).isNull();
+        assertThat(cache.get(bananaKey)).isEqualTo("바나나는 좋습니다.");
+    }
+
+    /**
+     * 검색을 시작한 뒤 과일이 수정되면 (무효화가 답변 저장보다 먼저 끝남) 수정 전 정보로 만든 답변을 저장하지 않음
+     */
+    @Test
+    void skipsAnswersRetrievedBeforeCatalogChange() {
+        String key = FruitAnswerCache.key("사과 효능은?", List.of(APPLE));
+        long catalogVersion = cache.version();
+
+        cache.onCatalogChanged(new FruitCatalogChangedEvent(List.of(APPLE)));
+        cache.put(key, List.of(APPLE), "수정 전 사과 정보로 만든 답변", catalogVersion);
+
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.stats()).containsEntry("size", 0).containsEntry("stalePuts", 1L);
+
+        cache.put(key, List.of(APPLE), "수정 후 답변", cache.version());
+        assertThat(cache.get(key)).isEqualTo("수정 후 답변");
+    }
+}
@@ -0,0 +1,99 @@
+package kr.pe.tn.domain.fruit.service;
+
+import kr.pe.tn.domain.fruit.dto.FruitDTO;
+import kr.pe.tn.domain.fruit.repository.FruitRepository;
+import kr.pe.tn.domain.fruit.search.FruitCatalogChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 과일 카탈로그 ETag (DB 저장 상태 기준으로 서버/재시작과 무관, refresh 동안 재사용, 이 서버 변경은 바로 반영)
+ */
+class FruitCatalogVersionTest {
+
+    private static final LocalDateTime SAVED_AT = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final FruitRepository fruitRepository = mock(FruitRepository.class);
+
+    /**
+     * 같은 DB를 사용하는 두 서버(또는 재시작한 서버)는 같은 ETag
+     */
+    @Test
+    void sameStoredStateGivesSameEtagOnEveryNode() {
+        when(fruitRepository.findCatalogState()).thenReturn(state(14, 14L, SAVED_AT));
+        FruitCatalogVersion node1 = new FruitCatalogVersion(fruitRepository, Duration.ofMinutes(1));
+        FruitCatalogVersion node2 = new FruitCatalogVersion(fruitRepository, Duration.ofMinutes(1));
+
+        assertThat(node1.etag("list-1-20")).isEqualTo(node2.etag("list-1-20"));
+        assertThat(node1.etag("id-1")).isNotEqualTo(node1.etag("id-2"));
+    }
+
+    /**
+     * refresh 동안은 DB를 다시 읽지 않고, 이 서버에서 커밋된 변경은 바로 다시 읽음
+     */
+    @Test
+    void reloadsAfterLocalChange() {
+        when(fruitRepository.findCatalogState()).thenReturn(state(14, 14L, SAVED_AT));
+        FruitCatalogVersion version = new FruitCatalogVersion(fruitRepository, Duration.ofMinutes(1));
+        String before = version.etag("all");
+        assertThat(version.etag("all")).isEqualTo(before);
+        verify(fruitRepository, times(1)).findCatalogState();
+
+        // 과일 수정: 수와 id 는 그대로, 저장 시각만 바뀜
+        when(fruitRepository.findCatalogState()).thenReturn(state(14, 14L, SAVED_AT.plusNanos(1_000)));
+        version.onCatalogChanged(new FruitCatalogChangedEvent(List.of()));
+
+        assertThat(version.etag("all")).isNotEqualTo(before);
+    }
+
+    /**
+     * 다른 서버에서 저장한 변경은 refresh 가 지나면 반영
+     */
+    @Test
+    void picksUpRemoteChangesAfterRefresh() {
+        when(fruitRepository.findCatalogState()).thenReturn(state(14, 14L, SAVED_AT));
+        FruitCatalogVersion version = new FruitCatalogVersion(fruitRepository, Duration.ZERO);
+        String before = version.etag("all");
+
+        // 과일 삭제: 수만 바뀜
+        when(fruitRepository.findCatalogState()).thenReturn(state(13, 14L, SAVED_AT));
+
+        assertThat(version.etag("all")).isNotEqualTo(before);
+    }
+
+    @Test
+    void emptyCatalogHasVersion() {
+        when(fruitRepository.findCatalogState()).thenReturn(state(0, null, null));
+
+        assertThat(new FruitCatalogVersion(fruitRepository, Duration.ofMinutes(1)).etag("all"))
+                .isEqualTo("\"fruits-0-0-0-all\"");
+    }
+
+    private static FruitDTO.CatalogState state(long count, Long maxId, LocalDateTime lastModified) {
+        return new FruitDTO.CatalogState() {
+            @Override
+            public long getFruitCount() {
+                return count;
+            }
+
+            @Override
+            public Long getMaxId() {
+                return maxId;
+            }
+
+            @Override
+            public LocalDateTime getLastModified() {
+                return lastModified;
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package kr.pe.tn.domain.fruit.service;
+
+import kr.pe.tn.domain.fruit.entity.Fruit;
+import kr.pe.tn.domain.fruit.search.FruitCatalogChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 과일별 컨텍스트 조각 캐시 (과일 변경 후 이전 내용의 조각이 남지 않음)
+ */
+class FruitContextBuilderTest {
+
+    private final FruitContextBuilder contextBuilder = new FruitContextBuilder(1500, 200);
+
+    /**
+     * 변경 이벤트 이후 이전 내용의 과일로 만든 조각이 다시 캐시되어도, 현재 과일로 만들 때는 쓰지 않음
+     */
+    @Test
+    void staleFragmentCachedAfterChangeIsNotReused() {
+        Fruit before = fruit("장 건강에 좋습니다.");
+        Fruit after = fruit("면역력 강화에 좋습니다.");
+
+        assertThat(contextBuilder.build(List.of(before))).contains("장 건강");
+
+        // 저장 커밋 후 조각 제거, 그 직후 저장 전에 검색된 과일로 만든 요청이 조각을 다시 캐시
+        contextBuilder.onCatalogChanged(new FruitCatalogChangedEvent(List.of(after)));
+        assertThat(contextBuilder.build(List.of(before))).contains("장 건강");
+
+        String context = contextBuilder.build(List.of(after));
+        assertThat(context).contains("면역력 강화").doesNotContain("장 건강");
+        assertThat(contextBuilder.build(List.of(after))).isEqualTo(context);
+    }
+
+    /**
+     * 내용이 같은 과일은 다른 객체여도 캐시된 조각을 그대로 사용
+     */
+    @Test
+    void equalFruitReusesCachedFragment() {
+        contextBuilder.build(List.of(fruit("장 건강에 좋습니다.")));
+        contextBuilder.build(List.of(fruit("장 건강에 좋습니다.")));
+
+        assertThat(contextBuilder.stats())
+                .containsEntry("fragmentHits", 1L)
+                .containsEntry("cachedFragments", 1);
+    }
+
+    private static Fruit fruit(String benefits) {
+        return Fruit.builder()
+                .id(1L)
+                .name("사과")
+                .englishName("Apple")
+                .benefits(benefits)
+                .nutrients("식이섬유")
+                .description("아삭한 식감의 대표 과일입니다.")
+                .season("가을")
+                .origin("중앙아시아")
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package kr.pe.tn.domain.fruit.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 과일 AI 대화 세션 (요청할 때만 발급, 발급받은 사용자만 사용, 가장 오래 사용하지 않은 세션부터 제거)
+ */
+class FruitConversationStoreTest {
+
+    private static FruitConversationStore store(int maxSessions) {
+        return new FruitConversationStore(4, 200, 300, 5, maxSessions, Duration.ofMinutes(30));
+    }
+
+    /**
+     * 대화 세션을 요청하지 않은 일회용 질문은 저장하지 않음
+     */
+    @Test
+    void oneOffQuestionsAreNotStored() {
+        FruitConversationStore store = store(10);
+
+        FruitConversationStore.Conversation conversation = store.open(null, "alice", false);
+        conversation.record("사과 효능은?", "사과는 좋습니다.", List.of("사과"));
+
+        assertThat(conversation.getId()).isNull();
+        assertThat(store.stats()).containsEntry("sessions", 0).containsEntry("created", 0L);
+    }
+
+    /**
+     * 발급받은 사용자는 이어서 사용하고, 다른 사용자가 같은 id를 보내면 이력 없는 새 세션을 받음
+     */
+    @Test
+    void sessionsBelongToTheirOwner() {
+        FruitConversationStore store = store(10);
+        FruitConversationStore.Conversation alice = store.open(null, "alice", true);
+        alice.record("사과 효능은?", "사과는 좋습니다.", List.of("사과"));
+
+        FruitConversationStore.Conversation followUp = store.open(alice.getId(), "alice", false);
+        assertThat(followUp).isSameAs(alice);
+        assertThat(followUp.history().turns()).hasSize(1);
+
+        FruitConversationStore.Conversation mallory = store.open(alice.getId(), "mallory", false);
+        assertThat(mallory.getId()).isNotEqualTo(alice.getId());
+        assertThat(mallory.history().isEmpty()).isTrue();
+        assertThat(store.open(alice.getId(), "alice", false).history().turns()).hasSize(1);
+    }
+
+    /**
+     * 가득 차면 가장 오래 사용하지 않은 세션부터 제거 (최근 사용한 세션은 유지)
+     */
+    @Test
+    void evictsLeastRecentlyUsed() {
+        FruitConversationStore store = store(2);
+        String first = store.open(null, "alice", true).getId();
+        String second = store.open(null, "alice", true).getId();
+
+        // first 를 다시 사용하면 second 가 가장 오래된 세션
+        store.open(first, "alice", false);
+        store.open(null, "alice", true);
+
+        assertThat(store.stats()).containsEntry("sessions", 2).containsEntry("evicted", 1L);
+        assertThat(store.open(first, "alice", false).getId()).isEqualTo(first);
+        assertThat(store.open(second, "alice", false).getId()).isNotEqualTo(second);
+    }
+
+    /**
+     * 동시에 세션을 만들어도 max-sessions 를 넘지 않음
+     */
+    @Test
+    void concurrentOpensNeverExceedMaxSessions() throws Exception {
+        int maxSessions = 50;
+        FruitConversationStore store = store(maxSessions);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        store.open(null, "user", true);
+                        assertThat((int) store.stats().get("sessions")).isLessThanOrEqualTo(maxSessions);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(store.stats())
+                .containsEntry("sessions", maxSessions)
+                .containsEntry("created", 4000L)
+                .containsEntry("evicted", 4000L - maxSessions);
+    }
+}
@@ -0,0 +1,52 @@
+package kr.pe.tn.handler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 서버 내부용 목적지 구독/전송 거절
+ */
+class ChatDestinationGuardTest {
+
+    private final ChatDestinationGuard guard = new ChatDestinationGuard();
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @Test
+    void rejectsSubscribeAndSendToInternalDestinations() {
+        for (String destination : new String[]{"/topic/cluster.unresolved-user", "/topic/unresolved-user",
+                "/topic/user-registry", "/topic/chat-presence", "/topic/**", "/topic/*", "/topic/#", "/topic/user-#",
+                "/topic/*.*", "/queue/#"}) {
+            assertThatThrownBy(() -> guard.preSend(frame(StompCommand.SUBSCRIBE, destination), channel))
+                    .as(destination)
+                    .isInstanceOf(MessageDeliveryException.class);
+        }
+        assertThatThrownBy(() -> guard.preSend(frame(StompCommand.SEND, "/topic/user-registry"), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void allowsChatDestinations() {
+        for (String destination : new String[]{"/topic/public", "/topic/anonymous", "/user/queue/whisper",
+                "/app/chat.sendMessage/public"}) {
+            Message<byte[]> message = frame(StompCommand.SUBSCRIBE, destination);
+            assertThat(guard.preSend(message, channel)).isSameAs(message);
+        }
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setSessionId("session-1");
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
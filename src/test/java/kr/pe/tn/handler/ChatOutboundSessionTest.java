@@ -0,0 +1,142 @@
+package kr.pe.tn.handler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 세션별 전송 대기열이 넘칠 때 (입장/퇴장 알림부터 오래된 순으로 건너뛰고, 그래도 안 되면 SESSION_NOT_RELIABLE 로 연결 종료)
+ */
+class ChatOutboundSessionTest {
+
+    private static final int QUEUE_CAPACITY = 3;
+
+    private final WebSocketSession delegate = mock(WebSocketSession.class);
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+    private ChatOutboundQueues queues;
+    private ChatOutboundSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(delegate.getId()).thenReturn("session-1");
+        doAnswer(invocation -> {
+            TextMessage message = invocation.getArgument(0);
+            String frame = message.getPayload();
+            delivered.add(frame.substring(frame.indexOf("\n\n") + 2, frame.length() - 1));
+            return null;
+        }).when(delegate).sendMessage(any());
+
+        queues = new ChatOutboundQueues(QUEUE_CAPACITY, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        // 전송 스레드를 시작하지 않아 대기열이 비워지지 않는 느린 클라이언트
+        session = new ChatOutboundSession(delegate, queues);
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.stop();
+    }
+
+    /**
+     * 가득 차면 가장 오래된 입장/퇴장 알림부터 건너뛰고, 건너뛸 알림이 없으면 새 알림을 건너뜀 (일반 메시지는 순서대로 유지)
+     */
+    @Test
+    void skipsOldestSkippableFirst() throws Exception {
+        session.sendMessage(frame("join-1", true));
+        session.sendMessage(frame("chat-1", false));
+        session.sendMessage(frame("join-2", true));
+
+        session.sendMessage(frame("chat-2", false));
+        session.sendMessage(frame("leave-1", true));
+        session.sendMessage(frame("chat-3", false));
+        assertThat(queues.skipped).hasValue(3);
+        assertThat(session.depth()).isEqualTo(QUEUE_CAPACITY);
+
+        // 대기열이 일반 메시지로만 차 있으면 새 알림을 건너뜀
+        session.sendMessage(frame("join-3", true));
+        assertThat(queues.skipped).hasValue(4);
+
+        session.start();
+        waitUntil(() -> delivered.size() == QUEUE_CAPACITY);
+        assertThat(delivered).containsExactly("chat-1", "chat-2", "chat-3");
+        verify(delegate, never()).close(any());
+    }
+
+    /**
+     * 건너뛸 알림이 없는데 일반 메시지가 더 오면 대기 메시지를 모두 버리고 SESSION_NOT_RELIABLE 로 연결 종료
+     */
+    @Test
+    void closesSessionWhenNothingCanBeSkipped() throws Exception {
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            session.sendMessage(frame("chat-" + i, false));
+        }
+        session.sendMessage(frame("chat-overflow", false));
+
+        verify(delegate, timeout(TimeUnit.SECONDS.toMillis(5))).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(queues.dropped).hasValue(QUEUE_CAPACITY + 1);
+        assertThat(session.depth()).isZero();
+
+        // 종료 후 메시지는 대기열에 넣지 않음
+        session.sendMessage(frame("chat-late", false));
+        assertThat(queues.dropped).hasValue(QUEUE_CAPACITY + 2);
+        assertThat(session.depth()).isZero();
+    }
+
+    /**
+     * 헤더로 표시한 프레임만 건너뛸 수 있음 (본문이 입장 알림처럼 보여도 헤더가 없으면 일반 메시지)
+     */
+    @Test
+    void onlyHeaderMarkedFramesAreSkippable() {
+        assertThat(ChatOutboundSession.isSkippable(frame("join", true))).isTrue();
+        assertThat(ChatOutboundSession.isSkippable(frame("{\"type\":\"JOIN\"}", false))).isFalse();
+        assertThat(ChatOutboundSession.isSkippable(
+                frame(ChatOutboundQueues.SKIPPABLE_HEADER + ":true\n", false))).isFalse();
+    }
+
+    /**
+     * 메모리 브로커가 구독자에게 보내는 것과 같은 STOMP MESSAGE 프레임
+     */
+    private static TextMessage frame(String body, boolean skippable) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setDestination("/topic/public");
+        accessor.setSubscriptionId("sub-0");
+        accessor.setMessageId(body);
+        if (skippable) {
+            accessor.setNativeHeader(ChatOutboundQueues.SKIPPABLE_HEADER, "true");
+        }
+        byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = new StompEncoder().encode(accessor.getMessageHeaders(), payload);
+        return new TextMessage(encoded);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,95 @@
+package kr.pe.tn.handler;
+
+import kr.pe.tn.domain.chat.dto.ChatMessage;
+import kr.pe.tn.domain.chat.history.ChatMessageLog;
+import kr.pe.tn.domain.chat.presence.ChatPresenceRegistry;
+import kr.pe.tn.domain.chat.service.ChatService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 연결 해제와 lease 만료 세션의 퇴장 처리 (채팅방 참여자 제거, 퇴장 메시지 한 번만 전송/기록)
+ */
+class WebSocketEventListenerTest {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final ChatMessageLog chatMessageLog = mock(ChatMessageLog.class);
+
+    private ChatPresenceRegistry presenceRegistry;
+    private ChatService chatService;
+
+    @BeforeEach
+    void setUp() {
+        presenceRegistry = new ChatPresenceRegistry(Duration.ofMillis(50), Duration.ofMinutes(10));
+        chatService = new ChatService(chatMessageLog, presenceRegistry);
+    }
+
+    @Test
+    void expiredSessionLeavesRoomOnce() throws InterruptedException {
+        WebSocketEventListener listener = new WebSocketEventListener(messagingTemplate, chatService, presenceRegistry);
+        listener.afterPropertiesSet();
+        chatService.addUser("public", "alice", "s1");
+        chatService.addUser("public", "bob", "s2");
+
+        Thread.sleep(100);
+        presenceRegistry.touch("s2");
+        presenceRegistry.expire();
+
+        assertThat(chatService.getRoom("public").getParticipants()).containsExactly("bob");
+        assertThat(chatService.getOnlineUsers()).containsExactly("bob");
+        ArgumentCaptor<ChatMessage> leave = ArgumentCaptor.forClass(ChatMessage.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/public"), leave.capture(),
+                eq(ChatOutboundQueues.skippableHeaders()));
+        assertThat(leave.getValue().getType()).isEqualTo(ChatMessage.MessageType.LEAVE);
+        assertThat(leave.getValue().getSender()).isEqualTo("alice");
+        verify(chatMessageLog).append(eq("public"), any(ChatMessage.class), anyBoolean());
+
+        // 늦게 도착한 연결 해제 이벤트는 퇴장 메시지를 다시 보내지 않음
+        listener.handleWebSocketDisconnectListener(disconnect("s1", "alice", "public"));
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/public"), any(Object.class), anyMap());
+    }
+
+    @Test
+    void disconnectLeavesRoom() {
+        WebSocketEventListener listener = new WebSocketEventListener(messagingTemplate, chatService, presenceRegistry);
+        chatService.addUser("public", "alice", "s1");
+
+        listener.handleWebSocketDisconnectListener(disconnect("s1", "alice", "public"));
+
+        assertThat(chatService.getRoom("public").getParticipants()).isEmpty();
+        assertThat(chatService.isUserOnline("alice")).isFalse();
+        verify(messagingTemplate).convertAndSend(eq("/topic/public"), any(ChatMessage.class), anyMap());
+    }
+
+    private static SessionDisconnectEvent disconnect(String sessionId, String username, String roomId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("username", username);
+        attributes.put("roomId", roomId);
+        accessor.setSessionAttributes(attributes);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionDisconnectEvent(new Object(), message, sessionId, CloseStatus.NORMAL);
+    }
+}